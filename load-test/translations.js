@@ -0,0 +1,77 @@
+// k6 load test for comparing the platform-thread and virtual-thread modes.
+//   k6 run -e BASE_URL=http://localhost:8080 -e RATE=2000 load-test/translations.js
+// Every scenario blocks on JDBC: database searches, batch reads of cold locales and streamed exports.
+import http from 'k6/http';
+import { check } from 'k6';
+
+const BASE_URL = __ENV.BASE_URL || 'http://localhost:8080';
+const RATE = parseInt(__ENV.RATE || '1000');
+const DURATION = __ENV.DURATION || '2m';
+
+export const options = {
+  scenarios: {
+    search: {
+      executor: 'constant-arrival-rate',
+      exec: 'search',
+      rate: RATE,
+      timeUnit: '1s',
+      duration: DURATION,
+      preAllocatedVUs: 200,
+      maxVUs: 5000,
+    },
+    batch: {
+      executor: 'constant-arrival-rate',
+      exec: 'batch',
+      rate: Math.max(1, Math.floor(RATE / 4)),
+      timeUnit: '1s',
+      duration: DURATION,
+      preAllocatedVUs: 50,
+      maxVUs: 2000,
+    },
+    stream: {
+      executor: 'constant-arrival-rate',
+      exec: 'stream',
+      rate: Math.max(1, Math.floor(RATE / 100)),
+      timeUnit: '1s',
+      duration: DURATION,
+      preAllocatedVUs: 10,
+      maxVUs: 200,
+    },
+  },
+  thresholds: {
+    http_req_failed: ['rate<0.01'],
+  },
+};
+
+export function setup() {
+  const credentials = JSON.stringify({ username: 'loadtest', password: 'loadtest123' });
+  const json = { headers: { 'Content-Type': 'application/json' } };
+  http.post(`${BASE_URL}/api/auth/register`, credentials, json);
+  const login = http.post(`${BASE_URL}/api/auth/login`, credentials, json);
+  return { token: login.json('token') };
+}
+
+function auth(data) {
+  return { headers: { Authorization: `Bearer ${data.token}`, 'Content-Type': 'application/json' } };
+}
+
+export function search(data) {
+  const key = `button.${Math.floor(Math.random() * 1000)}`;
+  const res = http.get(`${BASE_URL}/api/translations/search?key=${key}&locale=en&size=20`, auth(data));
+  check(res, { 'search 200': (r) => r.status === 200 });
+}
+
+export function batch(data) {
+  const keys = [];
+  for (let i = 0; i < 200; i++) {
+    keys.push(`label.${Math.floor(Math.random() * 100000)}`);
+  }
+  const body = JSON.stringify({ keys, locales: ['en', 'fr', 'es'] });
+  const res = http.post(`${BASE_URL}/api/translations/batch`, body, auth(data));
+  check(res, { 'batch 200': (r) => r.status === 200 });
+}
+
+export function stream(data) {
+  const res = http.get(`${BASE_URL}/api/translations/export/de/stream`, auth(data));
+  check(res, { 'stream 200': (r) => r.status === 200 });
+}
@@ -0,0 +1,51 @@
+package com.translation.security;
+
+import org.openjdk.jmh.annotations.*;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JwtUtilBenchmark {
+    
+    private JwtUtil jwtUtil;
+    private JwtUtil uncachedJwtUtil;
+    private String token;
+    
+    @Setup(Level.Trial)
+    public void setUp() {
+        jwtUtil = jwtUtil(10_000);
+        uncachedJwtUtil = jwtUtil(0);
+        token = jwtUtil.generateToken("benchmark");
+    }
+    
+    @Benchmark
+    public Optional<VerifiedToken> verify() {
+        return jwtUtil.verify(token);
+    }
+    
+    @Benchmark
+    public Optional<VerifiedToken> verifyUncached() {
+        return uncachedJwtUtil.verify(token);
+    }
+    
+    @Benchmark
+    public boolean validateToken() {
+        return jwtUtil.validateToken(token);
+    }
+    
+    private static JwtUtil jwtUtil(int cacheMaxSize) {
+        JwtUtil jwtUtil = new JwtUtil();
+        ReflectionTestUtils.setField(jwtUtil, "secret", "mySecretKey123456789012345678901234567890");
+        ReflectionTestUtils.setField(jwtUtil, "expiration", 86_400_000L);
+        ReflectionTestUtils.setField(jwtUtil, "cacheMaxSize", cacheMaxSize);
+        jwtUtil.init();
+        return jwtUtil;
+    }
+}
@@ -0,0 +1,73 @@
+package com.translation.service;
+
+import com.translation.dto.TranslationRow;
+import com.translation.entity.Translation;
+import com.translation.repository.TranslationRepository;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.data.domain.PageRequest;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * One page render's worth of keys (about 200) in three locales, fetched through the batch
+ * API from memory and with its {@code IN}-list query, against one call per (key, locale).
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms2g", "-Xmx4g"})
+public class BatchFetchBenchmark {
+    
+    private static final List<String> LOCALES = List.of("en", "fr", "es");
+    
+    @State(Scope.Benchmark)
+    public static class PageKeys {
+        TranslationRepository translationRepository;
+        List<String> keys;
+        
+        @Setup(Level.Trial)
+        public void select(BenchmarkDataset dataset) {
+            translationRepository = dataset.context.getBean(TranslationRepository.class);
+            keys = dataset.transaction.execute(status -> translationRepository.findAll(PageRequest.of(0, 200))
+                .stream()
+                .map(Translation::getKey)
+                .distinct()
+                .toList());
+            LocaleSnapshotService snapshots = dataset.context.getBean(LocaleSnapshotService.class);
+            LOCALES.forEach(locale -> snapshots.getContent(locale, ""));
+        }
+    }
+    
+    @Benchmark
+    public Map<String, Map<String, String>> batch(BenchmarkDataset dataset, PageKeys page) {
+        return dataset.translationService.getTranslationsBatch(page.keys, LOCALES);
+    }
+    
+    @Benchmark
+    public List<TranslationRow> batchQuery(PageKeys page) {
+        return page.translationRepository.findRowsByLocaleInAndKeyIn(LOCALES, page.keys);
+    }
+    
+    @Benchmark
+    public void perKeyLookup(PageKeys page, Blackhole blackhole) {
+        for (String locale : LOCALES) {
+            for (String key : page.keys) {
+                blackhole.consume(page.translationRepository.findByKeyAndLocale(key, locale));
+            }
+        }
+    }
+    
+    @Benchmark
+    public void perKeySearch(BenchmarkDataset dataset, PageKeys page, Blackhole blackhole) {
+        for (String locale : LOCALES) {
+            for (String key : page.keys) {
+                blackhole.consume(dataset.translationService.searchTranslations(
+                    key, null, locale, null, SearchMatch.PREFIX, 0, 1));
+            }
+        }
+    }
+}
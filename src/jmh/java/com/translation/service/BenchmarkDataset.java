@@ -0,0 +1,70 @@
+package com.translation.service;
+
+import com.translation.TranslationServiceApplication;
+import com.translation.entity.Translation;
+import com.translation.repository.TranslationRepository;
+import org.hibernate.Hibernate;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.util.AopTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+
+/**
+ * Application context over an in-memory H2 database filled by {@link DataPopulationService}
+ * with a fixed seed, so every run measures the same data.
+ */
+@State(Scope.Benchmark)
+public class BenchmarkDataset {
+    
+    @Param({"10000", "100000", "1000000"})
+    public int rows;
+    
+    @Param({"true"})
+    public boolean searchIndex;
+    
+    ConfigurableApplicationContext context;
+    TranslationService translationService;
+    TranslationService translationServiceTarget;
+    TransactionTemplate transaction;
+    List<Translation> sample;
+    
+    @Setup(Level.Trial)
+    public void start() throws InterruptedException {
+        context = new SpringApplicationBuilder(TranslationServiceApplication.class).run(
+            "--server.port=0",
+            "--spring.datasource.url=jdbc:h2:mem:benchmark;DB_CLOSE_DELAY=-1",
+            "--translation.snapshot.warm-on-startup=false",
+            "--translation.search-index.enabled=" + searchIndex,
+            "--logging.level.root=WARN",
+            "--logging.level.com.translation=WARN",
+            "--logging.level.org.springframework.security=WARN");
+        context.getBean(DataPopulationService.class).populateDatabase(rows, DataPopulationService.DEFAULT_SEED);
+        
+        if (searchIndex) {
+            TranslationSearchIndex index = context.getBean(TranslationSearchIndex.class);
+            while (index.size() < rows) {
+                Thread.sleep(100);
+            }
+        }
+        
+        translationService = context.getBean(TranslationService.class);
+        translationServiceTarget = AopTestUtils.getTargetObject(translationService);
+        transaction = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+        TranslationRepository translationRepository = context.getBean(TranslationRepository.class);
+        sample = transaction.execute(status -> {
+            List<Translation> translations = translationRepository.findAll(PageRequest.of(0, 100)).getContent();
+            translations.forEach(translation -> Hibernate.initialize(translation.getTags()));
+            return translations;
+        });
+    }
+    
+    @TearDown(Level.Trial)
+    public void stop() {
+        context.close();
+    }
+}
@@ -0,0 +1,55 @@
+package com.translation.service;
+
+import com.translation.dto.BulkUpsertResult;
+import com.translation.dto.TranslationDto;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Inserts 500 new translations, with their change log rows, in one bulk transaction and
+ * as one create call each, to show what batching the writes into one transaction buys.
+ * {@link PopulateBenchmark} compares the id generation strategies.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms2g", "-Xmx4g"})
+public class InsertBenchmark {
+    
+    private static final int ROWS = 500;
+    
+    @State(Scope.Thread)
+    public static class NewRows {
+        private int run;
+        List<TranslationDto> dtos;
+        
+        @Setup(Level.Invocation)
+        public void next() {
+            run++;
+            Set<String> tags = Set.of("mobile", "web");
+            dtos = new ArrayList<>(ROWS);
+            for (int i = 0; i < ROWS; i++) {
+                dtos.add(new TranslationDto("bench.insert." + run + "." + i, "en", "Inserted " + i, new HashSet<>(tags)));
+            }
+        }
+    }
+    
+    @Benchmark
+    public BulkUpsertResult bulkUpsert(BenchmarkDataset dataset, NewRows rows) {
+        return dataset.translationService.bulkUpsert(rows.dtos);
+    }
+    
+    @Benchmark
+    public void createEach(BenchmarkDataset dataset, NewRows rows, Blackhole blackhole) {
+        for (TranslationDto dto : rows.dtos) {
+            blackhole.consume(dataset.translationService.createTranslation(dto));
+        }
+    }
+}
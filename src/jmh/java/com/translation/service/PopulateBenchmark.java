@@ -0,0 +1,67 @@
+package com.translation.service;
+
+import com.translation.TranslationServiceApplication;
+import com.translation.dto.PopulationJob;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Times one populate run into an empty database with the entities' pooled sequence ids and
+ * with {@code IDENTITY} ids, which Hibernate cannot batch inserts for. The identity variant
+ * overrides the id mappings with {@code identity-ids.orm.xml}; everything else is the same
+ * build and configuration. Every iteration starts a new application on its own H2 database.
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgsAppend = {"-Xms2g", "-Xmx4g"})
+@State(Scope.Benchmark)
+public class PopulateBenchmark {
+    
+    @Param({"100000"})
+    public int rows;
+    
+    @Param({"pooled", "identity"})
+    public String ids;
+    
+    private int run;
+    private ConfigurableApplicationContext context;
+    private DataPopulationService populationService;
+    
+    @Setup(Level.Iteration)
+    public void start() {
+        List<String> args = new ArrayList<>(List.of(
+            "--server.port=0",
+            "--spring.datasource.url=jdbc:h2:mem:populate-" + ids + "-" + (++run),
+            "--translation.snapshot.warm-on-startup=false",
+            "--translation.search-index.enabled=false",
+            "--logging.level.root=WARN",
+            "--logging.level.com.translation=WARN",
+            "--logging.level.org.springframework.security=WARN"));
+        if ("identity".equals(ids)) {
+            args.add("--spring.jpa.mapping-resources=identity-ids.orm.xml");
+        }
+        context = new SpringApplicationBuilder(TranslationServiceApplication.class).run(args.toArray(new String[0]));
+        populationService = context.getBean(DataPopulationService.class);
+    }
+    
+    @Benchmark
+    public PopulationJob populate() {
+        PopulationJob job = populationService.populateDatabase(rows, DataPopulationService.DEFAULT_SEED);
+        if (job.getStatus() != PopulationJob.Status.COMPLETED) {
+            throw new IllegalStateException("Population failed: " + job.getError());
+        }
+        return job;
+    }
+    
+    @TearDown(Level.Iteration)
+    public void stop() {
+        context.close();
+    }
+}
@@ -0,0 +1,60 @@
+package com.translation.service;
+
+import com.translation.dto.TranslationDto;
+import com.translation.entity.Tag;
+import com.translation.entity.Translation;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.data.domain.Page;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms2g", "-Xmx4g"})
+public class TranslationServiceBenchmark {
+    
+    private static final Set<String> TAG_NAMES = Set.of("mobile", "web", "info");
+    
+    @Benchmark
+    public Map<String, String> getTranslationsForLocale(BenchmarkDataset dataset) {
+        return dataset.translationService.getTranslationsForLocale("en");
+    }
+    
+    @Benchmark
+    public Page<TranslationDto> searchByKey(BenchmarkDataset dataset) {
+        return dataset.translationService.searchTranslations("button.1", null, null, null, 0, 20);
+    }
+    
+    @Benchmark
+    public Page<TranslationDto> searchByContent(BenchmarkDataset dataset) {
+        return dataset.translationService.searchTranslations(null, "ejemplo", null, null, 0, 20);
+    }
+    
+    @Benchmark
+    public Page<TranslationDto> searchByLocale(BenchmarkDataset dataset) {
+        return dataset.translationService.searchTranslations(null, null, "fr", null, 0, 20);
+    }
+    
+    @Benchmark
+    public Page<TranslationDto> searchByTags(BenchmarkDataset dataset) {
+        return dataset.translationService.searchTranslations(null, null, null, List.of("mobile"), 0, 20);
+    }
+    
+    @Benchmark
+    public void convertToDto(BenchmarkDataset dataset, Blackhole blackhole) {
+        for (Translation translation : dataset.sample) {
+            blackhole.consume(dataset.translationServiceTarget.convertToDto(translation));
+        }
+    }
+    
+    @Benchmark
+    public Set<Tag> getOrCreateTags(BenchmarkDataset dataset) {
+        return dataset.transaction.execute(status -> dataset.translationServiceTarget.getOrCreateTags(TAG_NAMES));
+    }
+}
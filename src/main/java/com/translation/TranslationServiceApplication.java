@@ -3,9 +3,11 @@ package com.translation;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.core.Ordered;
 
 @SpringBootApplication
-@EnableCaching
+// Caching wraps the transaction advice, so cache hits never open a transaction.
+@EnableCaching(order = Ordered.HIGHEST_PRECEDENCE)
 public class TranslationServiceApplication {
     public static void main(String[] args) {
         SpringApplication.run(TranslationServiceApplication.class, args);
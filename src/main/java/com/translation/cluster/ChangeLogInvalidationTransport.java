@@ -0,0 +1,92 @@
+package com.translation.cluster;
+
+import com.translation.entity.TranslationChange;
+import com.translation.repository.TranslationChangeRepository;
+import org.springframework.data.domain.PageRequest;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.*;
+
+/**
+ * Reads peer writes from the shared {@code translation_changes} table, using the change
+ * sequence as the cursor. Publishing is free: the row is already written by the writing
+ * transaction.
+ *
+ * <p>Sequences are assigned in commit order, so they normally appear without holes. Holes
+ * still occur for changes logged before that, and for pruned ones. Skipped sequences are
+ * remembered and re-checked on later polls until they show up or {@code gapTimeout} passes.
+ */
+public class ChangeLogInvalidationTransport implements InvalidationTransport {
+    
+    private static final int MAX_TRACKED_GAPS = 10_000;
+    
+    private final TranslationChangeRepository changeRepository;
+    private final String nodeId;
+    private final Duration gapTimeout;
+    private final Clock clock;
+    
+    private long cursor = -1;
+    private final Map<Long, Instant> gaps = new HashMap<>();
+    
+    public ChangeLogInvalidationTransport(TranslationChangeRepository changeRepository, String nodeId,
+                                          Duration gapTimeout, Clock clock) {
+        this.changeRepository = changeRepository;
+        this.nodeId = nodeId;
+        this.gapTimeout = gapTimeout;
+        this.clock = clock;
+    }
+    
+    @Override
+    public void publish(ClusterChange change) {
+    }
+    
+    @Override
+    public synchronized List<ClusterChange> poll(int limit) {
+        if (cursor < 0) {
+            // Nothing is cached yet at startup, so there is no history to replay.
+            cursor = changeRepository.findMaxSequence();
+            return List.of();
+        }
+        Instant now = clock.instant();
+        List<TranslationChange> found = new ArrayList<>();
+        if (!gaps.isEmpty()) {
+            for (TranslationChange change : changeRepository.findAllById(new ArrayList<>(gaps.keySet()))) {
+                gaps.remove(change.getId());
+                found.add(change);
+            }
+            gaps.values().removeIf(firstSeen -> !firstSeen.plus(gapTimeout).isAfter(now));
+        }
+        
+        int remote = 0;
+        List<TranslationChange> page;
+        do {
+            page = changeRepository.findByIdGreaterThanOrderByIdAsc(cursor, PageRequest.of(0, limit));
+            for (TranslationChange change : page) {
+                for (long missing = cursor + 1; missing < change.getId() && gaps.size() < MAX_TRACKED_GAPS; missing++) {
+                    gaps.put(missing, now);
+                }
+                cursor = change.getId();
+                found.add(change);
+                if (!nodeId.equals(change.getOrigin())) {
+                    remote++;
+                }
+            }
+        } while (page.size() == limit && remote < limit);
+        
+        return found.stream()
+            .filter(change -> !nodeId.equals(change.getOrigin()))
+            .sorted(Comparator.comparing(TranslationChange::getId))
+            .map(ClusterChange::from)
+            .toList();
+    }
+    
+    long getCursor() {
+        return cursor;
+    }
+    
+    Set<Long> getGaps() {
+        return gaps.keySet();
+    }
+}
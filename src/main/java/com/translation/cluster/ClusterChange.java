@@ -0,0 +1,25 @@
+package com.translation.cluster;
+
+import com.translation.entity.TranslationChange;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * A committed write as seen by the other nodes of the cluster.
+ */
+@Getter
+@RequiredArgsConstructor
+public class ClusterChange {
+    
+    private final long sequence;
+    private final String origin;
+    private final TranslationChange.Type type;
+    private final Long translationId;
+    private final String key;
+    private final String locale;
+    
+    public static ClusterChange from(TranslationChange change) {
+        return new ClusterChange(change.getId(), change.getOrigin(), change.getType(),
+            change.getTranslationId(), change.getKey(), change.getLocale());
+    }
+}
@@ -0,0 +1,25 @@
+package com.translation.cluster;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+
+import java.util.UUID;
+
+/**
+ * Identity of this instance. Recorded as the origin of every change so a node can skip
+ * its own writes when reading what its peers did.
+ */
+@Component
+public class ClusterNode {
+    
+    private final String id;
+    
+    public ClusterNode(@Value("${translation.cluster.node-id:}") String id) {
+        this.id = StringUtils.hasText(id) ? id : UUID.randomUUID().toString();
+    }
+    
+    public String getId() {
+        return id;
+    }
+}
@@ -0,0 +1,142 @@
+package com.translation.cluster;
+
+import com.translation.entity.Translation;
+import com.translation.entity.TranslationChange;
+import com.translation.event.TranslationChangedEvent;
+import com.translation.event.TranslationsReloadedEvent;
+import com.translation.repository.TranslationChangeRepository;
+import com.translation.repository.TranslationRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.*;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Applies writes made by other nodes to this node's in-process read structures. Each
+ * remote change is turned back into the same local event a local write publishes, so the
+ * caches, locale snapshots and search index need no cluster awareness of their own.
+ *
+ * <p>Staleness is bounded by the poll interval. If the transport cannot be read for longer
+ * than {@code translation.cluster.max-lag-ms}, local state is dropped instead of being
+ * served beyond that bound.
+ */
+@Service
+@ConditionalOnExpression("'${translation.cluster.transport:none}' != 'none'")
+public class ClusterSyncService {
+    
+    private static final Logger log = LoggerFactory.getLogger(ClusterSyncService.class);
+    
+    @Autowired
+    private InvalidationTransport transport;
+    @Autowired
+    private TranslationRepository translationRepository;
+    @Autowired
+    private TranslationChangeRepository changeRepository;
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+    
+    @Value("${translation.cluster.batch-size:500}")
+    private int batchSize;
+    @Value("${translation.cluster.max-lag-ms:5000}")
+    private long maxLagMs;
+    
+    private long lastSuccess = System.currentTimeMillis();
+    private long lastReset;
+    
+    @Scheduled(fixedDelayString = "${translation.cluster.poll-interval-ms:500}")
+    public void poll() {
+        long now = System.currentTimeMillis();
+        try {
+            List<ClusterChange> changes;
+            do {
+                changes = transport.poll(batchSize);
+                apply(changes);
+            } while (changes.size() >= batchSize);
+            lastSuccess = now;
+        } catch (RuntimeException e) {
+            log.warn("Could not read changes from other nodes", e);
+            if (now - lastSuccess > maxLagMs && now - lastReset > maxLagMs) {
+                log.error("No changes from other nodes for {} ms, dropping local caches", now - lastSuccess);
+                lastReset = now;
+                eventPublisher.publishEvent(new TranslationsReloadedEvent());
+            }
+        }
+    }
+    
+    void apply(List<ClusterChange> changes) {
+        if (changes.isEmpty()) {
+            return;
+        }
+        if (changes.stream().anyMatch(change -> change.getType() == TranslationChange.Type.RESET)) {
+            // A bulk load on another node: everything is re-read, which covers the rest of the batch too.
+            eventPublisher.publishEvent(new TranslationsReloadedEvent());
+            return;
+        }
+        // Not read-only, so the rows are read on the primary: a replica that has not applied these changes
+        // yet would turn a missing upsert into a drop, or stamp old content with the new sequence.
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        List<TranslationChangedEvent> events = transaction.execute(status -> toEvents(changes));
+        events.forEach(eventPublisher::publishEvent);
+    }
+    
+    private List<TranslationChangedEvent> toEvents(List<ClusterChange> changes) {
+        Set<Long> upsertedIds = changes.stream()
+            .filter(change -> change.getType() == TranslationChange.Type.UPSERT)
+            .map(ClusterChange::getTranslationId)
+            .collect(Collectors.toSet());
+        Map<Long, Translation> current = translationRepository.findAllById(upsertedIds).stream()
+            .collect(Collectors.toMap(Translation::getId, Function.identity()));
+        
+        List<TranslationChangedEvent> events = new ArrayList<>();
+        Map<String, Map<String, Long>> deletedKeys = new HashMap<>();
+        for (ClusterChange change : changes) {
+            if (change.getType() == TranslationChange.Type.DELETE) {
+                Translation gone = new Translation(change.getKey(), change.getLocale(), null);
+                gone.setId(change.getTranslationId());
+                events.add(TranslationChangedEvent.deleted(gone, change.getSequence()));
+                deletedKeys.computeIfAbsent(change.getLocale(), locale -> new HashMap<>())
+                    .put(change.getKey(), change.getSequence());
+            } else {
+                Translation translation = current.get(change.getTranslationId());
+                // Missing means it was deleted since; that delete is still to come.
+                if (translation != null) {
+                    events.add(TranslationChangedEvent.created(translation, change.getSequence()));
+                }
+            }
+        }
+        
+        // A delete that arrives late must not remove a key another translation has taken since. The holder is
+        // re-sent with the sequence of the key's last upsert, which is newer than the delete, so the listeners
+        // apply it over the delete but still ignore it if they have already seen that upsert or a later change.
+        deletedKeys.forEach((locale, keys) -> {
+            List<Translation> holders = translationRepository.findByLocaleAndKeyIn(locale, keys.keySet()).stream()
+                .filter(holder -> !upsertedIds.contains(holder.getId()))
+                .toList();
+            if (holders.isEmpty()) {
+                return;
+            }
+            Map<String, Long> lastUpserts = new HashMap<>();
+            for (Object[] row : changeRepository.findLastUpsertsByLocaleAndKeyIn(locale, keys.keySet())) {
+                lastUpserts.put((String) row[0], (Long) row[1]);
+            }
+            for (Translation holder : holders) {
+                // Without a logged upsert the holder came from a bulk load; it is current, so it is applied as is.
+                long sequence = lastUpserts.getOrDefault(holder.getKey(), 0L);
+                events.add(TranslationChangedEvent.created(holder, sequence));
+            }
+        });
+        return events;
+    }
+}
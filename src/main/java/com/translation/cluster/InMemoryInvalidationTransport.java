@@ -0,0 +1,68 @@
+package com.translation.cluster;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Stand-in transport for tests and single-JVM setups: nodes that share a {@link Bus}
+ * see each other's committed changes.
+ */
+public class InMemoryInvalidationTransport implements InvalidationTransport {
+    
+    public static final Bus SHARED_BUS = new Bus();
+    
+    private final Bus bus;
+    private final String nodeId;
+    private int cursor;
+    
+    public InMemoryInvalidationTransport(Bus bus, String nodeId) {
+        this.bus = bus;
+        this.nodeId = nodeId;
+        this.cursor = bus.size();
+    }
+    
+    @Override
+    public void publish(ClusterChange change) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    bus.append(change);
+                }
+            });
+        } else {
+            bus.append(change);
+        }
+    }
+    
+    @Override
+    public synchronized List<ClusterChange> poll(int limit) {
+        List<ClusterChange> changes = new ArrayList<>();
+        while (changes.size() < limit && cursor < bus.size()) {
+            ClusterChange change = bus.get(cursor++);
+            if (!nodeId.equals(change.getOrigin())) {
+                changes.add(change);
+            }
+        }
+        return changes;
+    }
+    
+    public static final class Bus {
+        private final List<ClusterChange> changes = new ArrayList<>();
+        
+        public synchronized void append(ClusterChange change) {
+            changes.add(change);
+        }
+        
+        private synchronized int size() {
+            return changes.size();
+        }
+        
+        private synchronized ClusterChange get(int index) {
+            return changes.get(index);
+        }
+    }
+}
@@ -0,0 +1,35 @@
+package com.translation.cluster;
+
+import java.util.List;
+
+/**
+ * Carries committed writes between nodes so each node can keep its in-process caches,
+ * snapshots and search index current.
+ */
+public interface InvalidationTransport {
+    
+    /**
+     * Announces a change recorded by this node. Called inside the writing transaction;
+     * implementations must not deliver it to peers before that transaction commits.
+     */
+    void publish(ClusterChange change);
+    
+    /**
+     * Returns up to {@code limit} changes recorded by other nodes since the previous poll,
+     * oldest first. Fewer than {@code limit} means the node has caught up.
+     */
+    List<ClusterChange> poll(int limit);
+    
+    static InvalidationTransport none() {
+        return new InvalidationTransport() {
+            @Override
+            public void publish(ClusterChange change) {
+            }
+            
+            @Override
+            public List<ClusterChange> poll(int limit) {
+                return List.of();
+            }
+        };
+    }
+}
@@ -0,0 +1,47 @@
+package com.translation.config;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+import java.util.Collections;
+
+/**
+ * Bounded Caffeine caches with their own size limits and TTLs. Entries are evicted
+ * precisely after each committed write by {@code TranslationCacheInvalidator}; the TTL
+ * only bounds how long an idle entry occupies memory.
+ */
+@Configuration
+public class CacheConfig {
+    
+    public static final String TRANSLATIONS = "translations";
+    public static final String LOCALES = "locales";
+    
+    @Value("${translation.cache.translations.max-size:10000}")
+    private long translationsMaxSize;
+    @Value("${translation.cache.translations.ttl:10m}")
+    private Duration translationsTtl;
+    @Value("${translation.cache.locales.ttl:5m}")
+    private Duration localesTtl;
+    
+    @Bean
+    public CacheManager cacheManager() {
+        CaffeineCacheManager cacheManager = new CaffeineCacheManager();
+        cacheManager.setCacheNames(Collections.emptyList());
+        cacheManager.registerCustomCache(TRANSLATIONS, Caffeine.newBuilder()
+            .maximumSize(translationsMaxSize)
+            .expireAfterWrite(translationsTtl)
+            .recordStats()
+            .build());
+        cacheManager.registerCustomCache(LOCALES, Caffeine.newBuilder()
+            .maximumSize(1)
+            .expireAfterWrite(localesTtl)
+            .recordStats()
+            .build());
+        return cacheManager;
+    }
+}
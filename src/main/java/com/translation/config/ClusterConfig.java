@@ -0,0 +1,43 @@
+package com.translation.config;
+
+import com.translation.cluster.ChangeLogInvalidationTransport;
+import com.translation.cluster.ClusterNode;
+import com.translation.cluster.InMemoryInvalidationTransport;
+import com.translation.cluster.InvalidationTransport;
+import com.translation.repository.TranslationChangeRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+import java.time.Clock;
+import java.time.Duration;
+
+/**
+ * Selects how nodes learn about each other's writes with {@code translation.cluster.transport}:
+ * {@code none} for a single instance, {@code change-log} to poll the shared database, or
+ * {@code in-memory} for tests.
+ */
+@Configuration
+@EnableScheduling
+public class ClusterConfig {
+    
+    @Bean
+    public InvalidationTransport invalidationTransport(
+            @Value("${translation.cluster.transport:none}") String transport,
+            @Value("${translation.cluster.gap-timeout-ms:10000}") long gapTimeoutMs,
+            TranslationChangeRepository changeRepository,
+            ClusterNode node) {
+        switch (transport) {
+            case "none":
+                return InvalidationTransport.none();
+            case "change-log":
+                return new ChangeLogInvalidationTransport(changeRepository, node.getId(),
+                    Duration.ofMillis(gapTimeoutMs), Clock.systemUTC());
+            case "in-memory":
+                return new InMemoryInvalidationTransport(InMemoryInvalidationTransport.SHARED_BUS, node.getId());
+            default:
+                throw new IllegalArgumentException("Unknown cluster transport: " + transport);
+        }
+    }
+}
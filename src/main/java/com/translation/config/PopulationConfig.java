@@ -0,0 +1,23 @@
+package com.translation.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+@Configuration
+public class PopulationConfig {
+    
+    @Bean(destroyMethod = "shutdownNow")
+    public ExecutorService populationExecutor(@Value("${translation.population.threads:4}") int threads,
+                                              @Value("${spring.threads.virtual.enabled:false}") boolean virtual) {
+        if (virtual) {
+            // Still a fixed number of workers, so one job cannot take every connection.
+            return Executors.newFixedThreadPool(threads, Thread.ofVirtual().name("population-", 0).factory());
+        }
+        return Executors.newFixedThreadPool(threads, new CustomizableThreadFactory("population-"));
+    }
+}
@@ -0,0 +1,109 @@
+package com.translation.config;
+
+import com.translation.config.ReplicaRoutingDataSource.Replica;
+import com.translation.entity.ChangeSequence;
+import com.translation.event.TranslationChangedEvent;
+import com.translation.event.TranslationsReloadedEvent;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import javax.sql.DataSource;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Checks every replica on a fixed delay. A replica is healthy when it answers, and its lag
+ * is the age of the oldest change in the primary's {@code translation_changes} that the
+ * replica has not applied yet. Committed and applied changes raise the sequence replicas
+ * must reach before they serve reads again, so evicted cache entries and reloaded locale
+ * maps are never refilled from a replica that is behind. The listeners run first, before
+ * {@link com.translation.service.TranslationCacheInvalidator} evicts anything.
+ * <p>
+ * A replica's position is the {@code change_sequence} counter it has applied. The counter
+ * is raised in commit order, so reaching a sequence means every earlier change is applied
+ * too, provided the replica applies transactions in the primary's commit order (MySQL:
+ * a single applier thread, or {@code replica_preserve_commit_order=ON}).
+ */
+public class ReplicaHealthMonitor {
+    
+    private static final Logger log = LoggerFactory.getLogger(ReplicaHealthMonitor.class);
+    private static final String MAX_SEQUENCE = "SELECT last_sequence FROM change_sequence WHERE id = "
+        + ChangeSequence.ID;
+    private static final String OLDEST_AFTER = "SELECT MIN(changed_at) FROM translation_changes WHERE id > ?";
+    
+    private final ReplicaRoutingDataSource routing;
+    private final JdbcTemplate primary;
+    private final Map<Replica, JdbcTemplate> replicas = new LinkedHashMap<>();
+    private volatile boolean reloadPending;
+    
+    public ReplicaHealthMonitor(ReplicaRoutingDataSource routing, int queryTimeoutSeconds) {
+        this.routing = routing;
+        this.primary = jdbcTemplate(routing.getPrimary(), queryTimeoutSeconds);
+        for (Replica replica : routing.getReplicas()) {
+            replicas.put(replica, jdbcTemplate(replica.getDataSource(), queryTimeoutSeconds));
+        }
+    }
+    
+    @Scheduled(fixedDelayString = "${translation.datasource.replica-check-interval-ms:250}")
+    public void checkReplicas() {
+        if (reloadPending) {
+            try {
+                routing.requireSequence(primary.queryForObject(MAX_SEQUENCE, Long.class));
+                reloadPending = false;
+            } catch (RuntimeException e) {
+                log.warn("Could not read the primary change sequence, replicas stay out of rotation", e);
+                return;
+            }
+        }
+        replicas.forEach(this::check);
+    }
+    
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTranslationChanged(TranslationChangedEvent event) {
+        routing.requireSequence(event.getSequence());
+    }
+    
+    /**
+     * Bulk writes carry no sequence of their own, so replicas leave the rotation until the
+     * next check has read the primary's latest sequence.
+     */
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTranslationsReloaded(TranslationsReloadedEvent event) {
+        reloadPending = true;
+        routing.getReplicas().forEach(Replica::markUnhealthy);
+    }
+    
+    void check(Replica replica, JdbcTemplate template) {
+        try {
+            long sequence = template.queryForObject(MAX_SEQUENCE, Long.class);
+            Timestamp oldestMissing = primary.queryForObject(OLDEST_AFTER, Timestamp.class, sequence);
+            long lagMs = oldestMissing == null ? 0
+                : Math.max(0, Duration.between(oldestMissing.toLocalDateTime(), LocalDateTime.now()).toMillis());
+            if (reloadPending) {
+                return;
+            }
+            if (!replica.isHealthy()) {
+                log.info("Replica {} is reachable at sequence {}, lagging {} ms", replica.getName(), sequence, lagMs);
+            }
+            replica.markHealthy(sequence, lagMs);
+        } catch (RuntimeException e) {
+            routing.eject(replica, e);
+        }
+    }
+    
+    private static JdbcTemplate jdbcTemplate(DataSource dataSource, int queryTimeoutSeconds) {
+        JdbcTemplate template = new JdbcTemplate(dataSource);
+        template.setQueryTimeout(queryTimeoutSeconds);
+        return template;
+    }
+}
@@ -0,0 +1,74 @@
+package com.translation.config;
+
+import com.translation.config.ReplicaRoutingDataSource.Replica;
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Read replicas, switched on by listing them under {@code translation.datasource.replicas}
+ * with the same {@code url}, {@code username} and {@code password} keys as
+ * {@code spring.datasource}. The primary pool is then built here from
+ * {@code spring.datasource}, and the application's data source routes read-only
+ * transactions to the replicas through a {@link ReplicaRoutingDataSource}.
+ */
+@Configuration
+@ConditionalOnProperty(name = "translation.datasource.replicas[0].url")
+public class ReplicaRoutingConfig {
+    
+    @Value("${translation.datasource.replica-max-lag-ms:2000}")
+    private long maxLagMs;
+    @Value("${translation.datasource.replica-pool-size:${spring.datasource.hikari.maximum-pool-size:10}}")
+    private int replicaPoolSize;
+    @Value("${translation.datasource.replica-check-timeout-seconds:2}")
+    private int checkTimeoutSeconds;
+    
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        return properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+    }
+    
+    @Bean
+    public ReplicaRoutingDataSource replicaRoutingDataSource(HikariDataSource primaryDataSource,
+            Environment environment) {
+        List<DataSourceProperties> configured = Binder.get(environment)
+            .bind("translation.datasource.replicas", Bindable.listOf(DataSourceProperties.class))
+            .orElse(List.of());
+        List<Replica> replicas = new ArrayList<>();
+        for (int i = 0; i < configured.size(); i++) {
+            HikariDataSource pool = configured.get(i).initializeDataSourceBuilder()
+                .type(HikariDataSource.class)
+                .build();
+            pool.setPoolName("replica-" + i);
+            pool.setMaximumPoolSize(replicaPoolSize);
+            pool.setReadOnly(true);
+            replicas.add(new Replica("replica-" + i, pool));
+        }
+        return new ReplicaRoutingDataSource(primaryDataSource, replicas, maxLagMs);
+    }
+    
+    @Bean
+    @Primary
+    public DataSource dataSource(ReplicaRoutingDataSource replicaRoutingDataSource) {
+        return new LazyConnectionDataSourceProxy(replicaRoutingDataSource);
+    }
+    
+    @Bean
+    public ReplicaHealthMonitor replicaHealthMonitor(ReplicaRoutingDataSource replicaRoutingDataSource) {
+        return new ReplicaHealthMonitor(replicaRoutingDataSource, checkTimeoutSeconds);
+    }
+}
@@ -0,0 +1,146 @@
+package com.translation.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Sends connections for read-only transactions to a replica and everything else to the
+ * primary. Replicas are taken in turn, skipping those that are unhealthy, lag by more than
+ * {@code maxLagMs}, or have not yet applied the latest change this node committed or
+ * applied; when none qualifies the primary serves the read. Must sit behind a
+ * {@link org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy} so that the
+ * read-only flag is known by the time a connection is requested.
+ */
+public class ReplicaRoutingDataSource extends AbstractDataSource {
+    
+    private static final Logger log = LoggerFactory.getLogger(ReplicaRoutingDataSource.class);
+    
+    private final DataSource primary;
+    private final List<Replica> replicas;
+    private final long maxLagMs;
+    private final AtomicInteger next = new AtomicInteger();
+    private final AtomicLong requiredSequence = new AtomicLong();
+    
+    public ReplicaRoutingDataSource(DataSource primary, List<Replica> replicas, long maxLagMs) {
+        this.primary = primary;
+        this.replicas = List.copyOf(replicas);
+        this.maxLagMs = maxLagMs;
+    }
+    
+    @Override
+    public Connection getConnection() throws SQLException {
+        Replica replica = TransactionSynchronizationManager.isCurrentTransactionReadOnly() ? select() : null;
+        if (replica != null) {
+            try {
+                return replica.getDataSource().getConnection();
+            } catch (SQLException e) {
+                eject(replica, e);
+            }
+        }
+        return primary.getConnection();
+    }
+    
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return primary.getConnection(username, password);
+    }
+    
+    public DataSource getPrimary() {
+        return primary;
+    }
+    
+    public List<Replica> getReplicas() {
+        return replicas;
+    }
+    
+    /** Keeps reads off replicas until they have applied the change with this sequence. */
+    public void requireSequence(long sequence) {
+        requiredSequence.accumulateAndGet(sequence, Math::max);
+    }
+    
+    Replica select() {
+        int size = replicas.size();
+        if (size == 0) {
+            return null;
+        }
+        int start = Math.floorMod(next.getAndIncrement(), size);
+        long required = requiredSequence.get();
+        for (int i = 0; i < size; i++) {
+            Replica replica = replicas.get((start + i) % size);
+            if (replica.isHealthy() && replica.getLagMs() <= maxLagMs && replica.getSequence() >= required) {
+                return replica;
+            }
+        }
+        return null;
+    }
+    
+    /** Closes the replica pools; the primary is closed by its own bean. */
+    public void close() throws Exception {
+        for (Replica replica : replicas) {
+            if (replica.getDataSource() instanceof AutoCloseable closeable) {
+                closeable.close();
+            }
+        }
+    }
+    
+    void eject(Replica replica, Exception cause) {
+        if (replica.isHealthy()) {
+            log.warn("Replica {} ejected, reads fall back to the remaining replicas or the primary: {}",
+                replica.getName(), cause.getMessage());
+        }
+        replica.markUnhealthy();
+    }
+    
+    /** A replica and what the last health check found out about it. */
+    public static final class Replica {
+        private final String name;
+        private final DataSource dataSource;
+        private volatile boolean healthy;
+        private volatile long sequence;
+        private volatile long lagMs;
+        
+        public Replica(String name, DataSource dataSource) {
+            this.name = name;
+            this.dataSource = dataSource;
+        }
+        
+        public String getName() {
+            return name;
+        }
+        
+        public DataSource getDataSource() {
+            return dataSource;
+        }
+        
+        public boolean isHealthy() {
+            return healthy;
+        }
+        
+        public long getSequence() {
+            return sequence;
+        }
+        
+        public long getLagMs() {
+            return lagMs;
+        }
+        
+        void markHealthy(long sequence, long lagMs) {
+            this.sequence = sequence;
+            this.lagMs = lagMs;
+            this.healthy = true;
+        }
+        
+        void markUnhealthy() {
+            this.healthy = false;
+        }
+    }
+}
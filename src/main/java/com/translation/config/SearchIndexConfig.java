@@ -0,0 +1,22 @@
+package com.translation.config;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+@Configuration
+public class SearchIndexConfig {
+    
+    @Bean(destroyMethod = "shutdownNow")
+    public ExecutorService searchIndexExecutor() {
+        // One build at a time. A build that is already queued has not read any rows yet, so a further request is dropped.
+        return new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<>(1), new CustomizableThreadFactory("search-index-"),
+            new ThreadPoolExecutor.DiscardPolicy());
+    }
+}
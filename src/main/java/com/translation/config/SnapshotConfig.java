@@ -0,0 +1,24 @@
+package com.translation.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+@Configuration
+public class SnapshotConfig {
+    
+    @Bean(destroyMethod = "shutdownNow")
+    public ExecutorService snapshotExecutor(@Value("${translation.snapshot.threads:2}") int threads,
+                                            @Value("${translation.snapshot.queue-capacity:1000}") int queueCapacity) {
+        // Precompression is only a head start: a task that does not fit is dropped and the first gzip request does it.
+        return new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<>(queueCapacity), new CustomizableThreadFactory("snapshot-"),
+            new ThreadPoolExecutor.DiscardPolicy());
+    }
+}
@@ -0,0 +1,42 @@
+package com.translation.config;
+
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+import javax.sql.DataSource;
+
+/**
+ * Opt-in virtual-thread mode, switched on with {@code spring.threads.virtual.enabled}. Spring
+ * Boot then runs Tomcat requests, async MVC work such as streamed exports, and scheduled tasks
+ * on virtual threads, and {@link PopulationConfig} uses them for population chunks. Virtual
+ * threads no longer cap how many requests wait on JDBC, so the data source is wrapped in a
+ * {@link BoundedDataSource} that queues them fairly for the connection pool. Only the
+ * application's {@code dataSource} bean is wrapped, not the pools behind
+ * {@link ReplicaRoutingConfig}.
+ */
+@Configuration
+@ConditionalOnProperty(name = "spring.threads.virtual.enabled", havingValue = "true")
+public class VirtualThreadConfig {
+    
+    @Bean
+    public static BeanPostProcessor boundedDataSourcePostProcessor(Environment environment) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof DataSource dataSource && !(bean instanceof BoundedDataSource)
+                        && "dataSource".equals(beanName)) {
+                    int maxConcurrency = environment.getProperty("translation.datasource.max-concurrency",
+                        Integer.class, environment.getProperty("spring.datasource.hikari.maximum-pool-size",
+                            Integer.class, 10));
+                    long acquireTimeoutMs = environment.getProperty("translation.datasource.acquire-timeout-ms",
+                        Long.class, 5000L);
+                    return new BoundedDataSource(dataSource, maxConcurrency, acquireTimeoutMs);
+                }
+                return bean;
+            }
+        };
+    }
+}
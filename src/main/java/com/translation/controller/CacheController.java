@@ -0,0 +1,43 @@
+package com.translation.controller;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.translation.dto.CacheStatistics;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/cache")
+@SecurityRequirement(name = "bearerAuth")
+@Tag(name = "Cache", description = "Cache statistics")
+public class CacheController {
+    
+    @Autowired
+    private CacheManager cacheManager;
+    
+    @GetMapping("/stats")
+    @Operation(summary = "Get hit, miss and eviction counts for each cache")
+    public ResponseEntity<List<CacheStatistics>> getStatistics() {
+        List<CacheStatistics> statistics = new ArrayList<>();
+        for (String name : cacheManager.getCacheNames()) {
+            if (cacheManager.getCache(name) instanceof CaffeineCache caffeineCache) {
+                Cache<Object, Object> nativeCache = caffeineCache.getNativeCache();
+                CacheStats stats = nativeCache.stats();
+                statistics.add(new CacheStatistics(name, nativeCache.estimatedSize(), stats.hitCount(),
+                    stats.missCount(), stats.hitRate(), stats.evictionCount(), stats.loadFailureCount()));
+            }
+        }
+        return ResponseEntity.ok(statistics);
+    }
+}
@@ -1,13 +1,17 @@
 package com.translation.controller;
 
+import com.translation.dto.PopulationJob;
 import com.translation.service.DataPopulationService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.net.URI;
+
 @RestController
 @RequestMapping("/api/populate")
 @Tag(name = "Data Population", description = "Database population for testing")
@@ -20,14 +24,42 @@ public class DataPopulationController {
     @Operation(summary = "Populate database with test translations")
     public ResponseEntity<String> populateTranslations(
             @Parameter(description = "Number of records to create") 
-            @RequestParam(defaultValue = "100000") int count) {
+            @RequestParam(defaultValue = "100000") int count,
+            @Parameter(description = "Seed for a reproducible dataset")
+            @RequestParam(defaultValue = "" + DataPopulationService.DEFAULT_SEED) long seed) {
         
-        long startTime = System.currentTimeMillis();
-        dataPopulationService.populateDatabase(count);
-        long endTime = System.currentTimeMillis();
+        PopulationJob job = dataPopulationService.populateDatabase(count, seed);
+        if (job.getStatus() == PopulationJob.Status.FAILED) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                .body(String.format("Population failed after %d translations: %s", job.getCompleted(), job.getError()));
+        }
         
         String message = String.format("Successfully created %d translations in %d ms", 
-                                     count, (endTime - startTime));
+                                     job.getCompleted(), job.getDurationMs());
+        if (job.getSkipped() > 0) {
+            message += String.format(", skipped %d that already existed", job.getSkipped());
+        }
         return ResponseEntity.ok(message);
     }
-}
\ No newline at end of file
+    
+    @PostMapping("/jobs")
+    @Operation(summary = "Start a background population job")
+    public ResponseEntity<PopulationJob> startJob(
+            @Parameter(description = "Number of records to create")
+            @RequestParam(defaultValue = "100000") int count,
+            @Parameter(description = "Seed for a reproducible dataset")
+            @RequestParam(defaultValue = "" + DataPopulationService.DEFAULT_SEED) long seed) {
+        PopulationJob job = dataPopulationService.startJob(count, seed);
+        return ResponseEntity.accepted()
+            .location(URI.create("/api/populate/jobs/" + job.getId()))
+            .body(job);
+    }
+    
+    @GetMapping("/jobs/{id}")
+    @Operation(summary = "Get population job progress")
+    public ResponseEntity<PopulationJob> getJob(@PathVariable String id) {
+        return dataPopulationService.getJob(id)
+            .map(ResponseEntity::ok)
+            .orElse(ResponseEntity.notFound().build());
+    }
+}
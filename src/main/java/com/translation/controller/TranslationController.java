@@ -1,19 +1,45 @@
 package com.translation.controller;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.translation.dto.BatchTranslationRequest;
+import com.translation.dto.BulkRowResult;
+import com.translation.dto.BulkUpsertResult;
+import com.translation.dto.CursorPage;
+import com.translation.dto.LocaleStatistics;
+import com.translation.dto.TranslationDelta;
 import com.translation.dto.TranslationDto;
+import com.translation.dto.TranslationResolution;
+import com.translation.service.ExportEncoding;
+import com.translation.service.LocaleSnapshot;
+import com.translation.service.SearchMatch;
+import com.translation.service.TagFilter;
 import com.translation.service.TranslationService;
+import com.translation.service.TranslationWriteQueue;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.annotation.PostConstruct;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.util.ArrayList;
+import java.util.EnumMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
 
 @RestController
 @RequestMapping("/api/translations")
@@ -21,9 +47,34 @@ import java.util.Map;
 @Tag(name = "Translations", description = "Translation management endpoints")
 public class TranslationController {
     
+    private static final String CHANGE_SEQUENCE_HEADER = "X-Change-Sequence";
+    private static final String NDJSON_VALUE = "application/x-ndjson";
+    
     @Autowired
     private TranslationService translationService;
     
+    @Autowired
+    private ObjectMapper objectMapper;
+    
+    @Autowired
+    private TranslationWriteQueue writeQueue;
+    
+    @Autowired
+    private MeterRegistry meterRegistry;
+    
+    private final Map<ExportEncoding, DistributionSummary> exportSizes = new EnumMap<>(ExportEncoding.class);
+    
+    @PostConstruct
+    public void registerMeters() {
+        for (ExportEncoding encoding : ExportEncoding.values()) {
+            exportSizes.put(encoding, DistributionSummary.builder("translation.export.size")
+                .description("Size of full locale exports as sent")
+                .baseUnit("bytes")
+                .tags("encoding", encoding.getToken())
+                .register(meterRegistry));
+        }
+    }
+    
     @PostMapping("/create")
     @Operation(summary = "Create a new translation")
     public ResponseEntity<TranslationDto> createTranslation(@Valid @RequestBody TranslationDto dto) {
@@ -31,6 +82,65 @@ public class TranslationController {
         return ResponseEntity.ok(created);
     }
     
+    @PostMapping(value = "/bulk", consumes = MediaType.APPLICATION_JSON_VALUE)
+    @Operation(summary = "Create or update many translations, matched on key and locale",
+               description = "Returns a per-row outcome; invalid rows are reported and skipped")
+    public ResponseEntity<BulkUpsertResult> bulkUpsert(@RequestBody List<TranslationDto> dtos) {
+        return ResponseEntity.ok(translationService.bulkUpsert(dtos));
+    }
+    
+    @PostMapping(value = "/bulk", consumes = NDJSON_VALUE)
+    @Operation(summary = "Create or update many translations from newline-delimited JSON")
+    public ResponseEntity<BulkUpsertResult> bulkUpsertNdjson(@RequestBody String body) {
+        List<TranslationDto> dtos = new ArrayList<>();
+        String[] lines = body.split("\\r?\\n");
+        for (int i = 0; i < lines.length; i++) {
+            if (lines[i].isBlank()) {
+                continue;
+            }
+            try {
+                dtos.add(objectMapper.readValue(lines[i], TranslationDto.class));
+            } catch (JsonProcessingException e) {
+                throw new IllegalArgumentException("Invalid JSON on line " + (i + 1) + ": " + e.getOriginalMessage());
+            }
+        }
+        return ResponseEntity.ok(translationService.bulkUpsert(dtos));
+    }
+    
+    @PostMapping("/queue")
+    @Operation(summary = "Queue a create or update, matched on key and locale, for a batched write",
+               description = "Returns 202 once the write is queued, or with 'sync=true' 200 once it has committed "
+                   + "(202 if that takes longer than the sync timeout, 400 if the row is rejected). Returns 429 while the queue is full "
+                   + "and 404 unless translation.write-queue.enabled is set")
+    public CompletableFuture<ResponseEntity<?>> queueTranslation(
+            @Valid @RequestBody TranslationDto dto,
+            @Parameter(description = "Wait until the write has committed")
+            @RequestParam(defaultValue = "false") boolean sync) {
+        if (!writeQueue.isEnabled()) {
+            return CompletableFuture.completedFuture(ResponseEntity.notFound().build());
+        }
+        CompletableFuture<BulkRowResult> ack;
+        try {
+            ack = writeQueue.submit(dto);
+        } catch (RejectedExecutionException e) {
+            return CompletableFuture.completedFuture(ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .build());
+        }
+        if (!sync) {
+            return CompletableFuture.completedFuture(ResponseEntity.accepted().build());
+        }
+        return writeQueue.awaitCommit(ack).thenApply(committed -> {
+            if (committed == null) {
+                return ResponseEntity.accepted().build();
+            }
+            if (committed.getStatus() == BulkRowResult.Status.FAILED) {
+                return ResponseEntity.badRequest().body(committed.getError());
+            }
+            return ResponseEntity.ok(committed);
+        });
+    }
+    
     @PutMapping("/update/{id}")
     @Operation(summary = "Update an existing translation")
     public ResponseEntity<TranslationDto> updateTranslation(
@@ -56,31 +166,121 @@ public class TranslationController {
     }
     
     @GetMapping("/search")
-    @Operation(summary = "Search translations by key, content, locale, or tags")
-    public ResponseEntity<Page<TranslationDto>> searchTranslations(
+    @Operation(summary = "Search translations by key, content, locale, or tags",
+               description = "Pass 'cursor' (empty for the first page) to switch to keyset pagination: "
+                   + "results carry a 'nextCursor' token and no total count is computed. A translation "
+                   + "matches the tag filter when it has any of 'tags', all of 'allTags' and none of 'excludeTags'")
+    public ResponseEntity<?> searchTranslations(
             @Parameter(description = "Search by key") @RequestParam(required = false) String key,
             @Parameter(description = "Search by content") @RequestParam(required = false) String content,
             @Parameter(description = "Filter by locale") @RequestParam(required = false) String locale,
             @Parameter(description = "Filter by tags") @RequestParam(required = false) List<String> tags,
+            @Parameter(description = "Require all of these tags") @RequestParam(required = false) List<String> allTags,
+            @Parameter(description = "Exclude these tags") @RequestParam(required = false) List<String> excludeTags,
+            @Parameter(description = "How key and content terms match")
+            @RequestParam(defaultValue = "CONTAINS") SearchMatch match,
             @Parameter(description = "Page number") @RequestParam(defaultValue = "0") int page,
-            @Parameter(description = "Page size") @RequestParam(defaultValue = "20") int size) {
+            @Parameter(description = "Page size") @RequestParam(defaultValue = "20") int size,
+            @Parameter(description = "Continuation token from a previous cursor page")
+            @RequestParam(required = false) String cursor) {
         
-        Page<TranslationDto> results = translationService.searchTranslations(key, content, locale, tags, page, size);
+        TagFilter tagFilter = TagFilter.of(tags, allTags, excludeTags);
+        if (cursor != null) {
+            CursorPage<TranslationDto> results =
+                translationService.searchTranslationsByFilterAfter(key, content, locale, tagFilter, match, cursor, size);
+            return ResponseEntity.ok(results);
+        }
+        Page<TranslationDto> results =
+            translationService.searchTranslationsByFilter(key, content, locale, tagFilter, match, page, size);
         return ResponseEntity.ok(results);
     }
     
     @GetMapping("/export/{locale}")
-    @Operation(summary = "Export translations for a locale as JSON")
-    public ResponseEntity<Map<String, String>> exportTranslations(
+    @Operation(summary = "Export translations for a locale as JSON",
+               description = "Served from an in-memory snapshot, pre-compressed according to Accept-Encoding; "
+                   + "honours If-None-Match with 304 Not Modified. With 'since', returns only the keys changed "
+                   + "after that change sequence plus tombstones for deleted keys")
+    public ResponseEntity<?> exportTranslations(
+            @Parameter(description = "Locale to export") @PathVariable String locale,
+            @Parameter(description = "Change sequence from a previous export (X-Change-Sequence header)")
+            @RequestParam(required = false) Long since,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+        if (since != null) {
+            TranslationDelta delta = translationService.getTranslationDelta(locale, since);
+            return ResponseEntity.ok()
+                .header(CHANGE_SEQUENCE_HEADER, String.valueOf(delta.getVersion()))
+                .body(delta);
+        }
+        
+        LocaleSnapshot snapshot = translationService.getLocaleSnapshot(locale);
+        ExportEncoding encoding = ExportEncoding.negotiate(acceptEncoding);
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+            .contentType(MediaType.APPLICATION_JSON)
+            .cacheControl(CacheControl.noCache())
+            .varyBy(HttpHeaders.ACCEPT_ENCODING)
+            .eTag(snapshot.getEtag(encoding))
+            .header(CHANGE_SEQUENCE_HEADER, String.valueOf(snapshot.getChangeSequence()));
+        if (encoding != ExportEncoding.IDENTITY) {
+            response.header(HttpHeaders.CONTENT_ENCODING, encoding.getToken());
+        }
+        byte[] body = snapshot.getBody(encoding);
+        exportSizes.get(encoding).record(body.length);
+        return response.body(body);
+    }
+    
+    @GetMapping("/export/{locale}/stream")
+    @Operation(summary = "Stream translations for a locale as JSON",
+               description = "Writes rows straight from a database cursor; intended for very large locales")
+    public ResponseEntity<StreamingResponseBody> streamTranslations(
             @Parameter(description = "Locale to export") @PathVariable String locale) {
-        Map<String, String> translations = translationService.getTranslationsForLocale(locale);
+        StreamingResponseBody body = out -> translationService.writeTranslationsForLocale(locale, out);
+        return ResponseEntity.ok()
+            .contentType(MediaType.APPLICATION_JSON)
+            .body(body);
+    }
+    
+    @GetMapping("/namespace/{locale}/{prefix}")
+    @Operation(summary = "Get all translations whose key starts with a prefix, e.g. 'button.'")
+    public ResponseEntity<Map<String, String>> getNamespace(
+            @Parameter(description = "Locale to read") @PathVariable String locale,
+            @Parameter(description = "Key prefix") @PathVariable String prefix) {
+        Map<String, String> translations = translationService.getNamespace(locale, prefix);
         return ResponseEntity.ok(translations);
     }
     
+    @PostMapping("/batch")
+    @Operation(summary = "Get many keys in many locales at once",
+               description = "Returns a map of locale to key to content for every requested pair that exists")
+    public ResponseEntity<Map<String, Map<String, String>>> getTranslationsBatch(
+            @Valid @RequestBody BatchTranslationRequest request) {
+        Map<String, Map<String, String>> translations =
+            translationService.getTranslationsBatch(request.getKeys(), request.getLocales());
+        return ResponseEntity.ok(translations);
+    }
+    
+    @GetMapping("/resolve")
+    @Operation(summary = "Resolve keys against a locale fallback chain",
+               description = "Each key is looked up in the given locales in order, e.g. 'fr-CA,fr,en', and "
+                   + "returned with the locale it was found in; keys found in none are listed as missing")
+    public ResponseEntity<TranslationResolution> resolveTranslations(
+            @Parameter(description = "Keys to resolve") @RequestParam List<String> keys,
+            @Parameter(description = "Locale chain, most specific first") @RequestParam List<String> locales) {
+        TranslationResolution resolution = translationService.resolveTranslations(keys, locales);
+        return ResponseEntity.ok(resolution);
+    }
+    
     @GetMapping("/locales")
     @Operation(summary = "Get all available locales")
     public ResponseEntity<List<String>> getAvailableLocales() {
         List<String> locales = translationService.getAvailableLocales();
         return ResponseEntity.ok(locales);
     }
+    
+    @GetMapping("/locales/stats")
+    @Operation(summary = "Get per-locale statistics",
+               description = "Key count, content size in UTF-8 bytes, last write time and translations per tag, "
+                   + "read from aggregates maintained on every write")
+    public ResponseEntity<List<LocaleStatistics>> getLocaleStatistics() {
+        return ResponseEntity.ok(translationService.getLocaleStatistics());
+    }
 }
\ No newline at end of file
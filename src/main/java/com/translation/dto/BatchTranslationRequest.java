@@ -0,0 +1,20 @@
+package com.translation.dto;
+
+import jakarta.validation.constraints.NotEmpty;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BatchTranslationRequest {
+    
+    @NotEmpty(message = "Keys are required")
+    private List<String> keys;
+    
+    @NotEmpty(message = "Locales are required")
+    private List<String> locales;
+}
@@ -0,0 +1,20 @@
+package com.translation.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkRowResult {
+    
+    public enum Status { CREATED, UPDATED, FAILED }
+    
+    private int index;
+    private String key;
+    private String locale;
+    private Status status;
+    private Long id;
+    private String error;
+}
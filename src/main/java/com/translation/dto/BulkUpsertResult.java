@@ -0,0 +1,26 @@
+package com.translation.dto;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+public class BulkUpsertResult {
+    
+    private int created;
+    private int updated;
+    private int failed;
+    private List<BulkRowResult> results = new ArrayList<>();
+    
+    public void add(BulkRowResult row) {
+        results.add(row);
+        switch (row.getStatus()) {
+            case CREATED -> created++;
+            case UPDATED -> updated++;
+            case FAILED -> failed++;
+        }
+    }
+}
@@ -0,0 +1,20 @@
+package com.translation.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class LocaleStatistics {
+    
+    private String locale;
+    private long keyCount;
+    private long contentBytes;
+    private LocalDateTime lastUpdated;
+    private Map<String, Long> tags;
+}
@@ -0,0 +1,26 @@
+package com.translation.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class PopulationJob {
+    
+    public enum Status { RUNNING, COMPLETED, FAILED }
+    
+    private String id;
+    private Status status;
+    private long seed;
+    private int requested;
+    private long completed;
+    private long skipped;
+    private LocalDateTime startedAt;
+    private LocalDateTime finishedAt;
+    private Long durationMs;
+    private String error;
+}
@@ -0,0 +1,14 @@
+package com.translation.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ResolvedTranslation {
+    
+    private String locale;
+    private String content;
+}
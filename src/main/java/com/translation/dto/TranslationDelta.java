@@ -0,0 +1,27 @@
+package com.translation.dto;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+@Data
+@NoArgsConstructor
+public class TranslationDelta {
+    
+    private String locale;
+    private long since;
+    private long version;
+    private boolean reset;
+    private Map<String, String> upserts = new TreeMap<>();
+    private List<String> deletes = new ArrayList<>();
+    
+    public TranslationDelta(String locale, long since, long version) {
+        this.locale = locale;
+        this.since = since;
+        this.version = version;
+    }
+}
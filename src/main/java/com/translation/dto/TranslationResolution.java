@@ -0,0 +1,20 @@
+package com.translation.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TranslationResolution {
+    
+    private List<String> locales = new ArrayList<>();
+    private Map<String, ResolvedTranslation> resolved = new LinkedHashMap<>();
+    private List<String> missing = new ArrayList<>();
+}
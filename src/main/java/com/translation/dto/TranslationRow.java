@@ -0,0 +1,19 @@
+package com.translation.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TranslationRow {
+    
+    private Long id;
+    private String key;
+    private String locale;
+    private String content;
+    private LocalDateTime updatedAt;
+}
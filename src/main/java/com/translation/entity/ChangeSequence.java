@@ -0,0 +1,27 @@
+package com.translation.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Single-row counter that hands out the ids of {@code translation_changes}. Writers update
+ * it just before they commit and hold its row lock until the commit, so ids are assigned
+ * in commit order: once a change is visible, every change with a lower id is too.
+ */
+@Entity
+@Table(name = "change_sequence")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ChangeSequence {
+    
+    public static final int ID = 1;
+    
+    @Id
+    private Integer id;
+    
+    @Column(name = "last_sequence", nullable = false)
+    private long lastSequence;
+}
@@ -0,0 +1,33 @@
+package com.translation.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Per-locale aggregates kept up to date by {@code LocaleStatsService} in the same
+ * transaction as the translation writes, so reads never aggregate the translations table.
+ */
+@Entity
+@Table(name = "locale_stats")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class LocaleStats {
+    
+    @Id
+    @Column(length = 10)
+    private String locale;
+    
+    @Column(name = "key_count", nullable = false)
+    private long keyCount;
+    
+    @Column(name = "content_bytes", nullable = false)
+    private long contentBytes;
+    
+    @Column(name = "last_updated")
+    private LocalDateTime lastUpdated;
+}
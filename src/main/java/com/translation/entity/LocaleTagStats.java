@@ -0,0 +1,39 @@
+package com.translation.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+
+/**
+ * Number of translations in a locale that carry a tag, one row per (locale, tag).
+ */
+@Entity
+@Table(name = "locale_tag_stats")
+@IdClass(LocaleTagStats.Key.class)
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class LocaleTagStats {
+    
+    @Id
+    @Column(length = 10)
+    private String locale;
+    
+    @Id
+    @Column(name = "tag_name", length = 50)
+    private String tag;
+    
+    @Column(name = "translation_count", nullable = false)
+    private long translationCount;
+    
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Key implements Serializable {
+        private String locale;
+        private String tag;
+    }
+}
@@ -8,12 +8,13 @@ import lombok.NoArgsConstructor;
 import lombok.ToString;
 
 import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
 import java.util.HashSet;
 import java.util.Set;
 
 @Entity
 @Table(name = "translations", indexes = {
-    @Index(name = "idx_key_locale", columnList = "translation_key, locale"),
+    @Index(name = "idx_key_locale", columnList = "translation_key, locale", unique = true),
     @Index(name = "idx_locale", columnList = "locale"),
     @Index(name = "idx_key", columnList = "translation_key"),
     @Index(name = "idx_updated_at", columnList = "updated_at")
@@ -24,7 +25,8 @@ import java.util.Set;
 public class Translation {
     
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "translation_seq")
+    @SequenceGenerator(name = "translation_seq", sequenceName = "translation_seq", allocationSize = 50)
     private Long id;
     
     @NotBlank
@@ -59,15 +61,16 @@ public class Translation {
     @Column(name = "updated_at", nullable = false)
     private LocalDateTime updatedAt;
     
+    // Microseconds are what the timestamp columns store, so the entity and its events match the row.
     @PrePersist
     protected void onCreate() {
-        createdAt = LocalDateTime.now();
-        updatedAt = LocalDateTime.now();
+        createdAt = LocalDateTime.now().truncatedTo(ChronoUnit.MICROS);
+        updatedAt = createdAt;
     }
     
     @PreUpdate
     protected void onUpdate() {
-        updatedAt = LocalDateTime.now();
+        updatedAt = LocalDateTime.now().truncatedTo(ChronoUnit.MICROS);
     }
     
     public Translation(String key, String locale, String content) {
@@ -0,0 +1,62 @@
+package com.translation.entity;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Append-only log of translation writes. The id doubles as the monotonic change sequence
+ * that delta export clients, peers and replica checks use as their cursor. Ids come from
+ * {@link ChangeSequence} when the writing transaction commits, so they increase in commit
+ * order and a reader that has seen one id cannot miss a lower one later. A {@code RESET}
+ * entry, without key or locale, marks a bulk load that was not logged row by row.
+ */
+@Entity
+@Table(name = "translation_changes", indexes = {
+    @Index(name = "idx_change_locale_id", columnList = "locale, id"),
+    @Index(name = "idx_change_type_id", columnList = "type, id"),
+    @Index(name = "idx_change_changed_at", columnList = "changed_at")
+})
+@Data
+@NoArgsConstructor
+public class TranslationChange {
+    
+    public enum Type { UPSERT, DELETE, RESET }
+    
+    // Assigned by TranslationChangeLogService, not generated, so rows are inserted in JDBC batches.
+    @Id
+    private Long id;
+    
+    @Column(name = "translation_id")
+    private Long translationId;
+    
+    @Column(name = "translation_key")
+    private String key;
+    
+    @Column(length = 10)
+    private String locale;
+    
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 10)
+    private Type type;
+    
+    @Column(name = "changed_at", nullable = false)
+    private LocalDateTime changedAt;
+    
+    @Column(length = 64)
+    private String origin;
+    
+    @PrePersist
+    protected void onCreate() {
+        changedAt = LocalDateTime.now();
+    }
+    
+    public TranslationChange(Type type, Long translationId, String key, String locale) {
+        this.type = type;
+        this.translationId = translationId;
+        this.key = key;
+        this.locale = locale;
+    }
+}
@@ -0,0 +1,81 @@
+package com.translation.event;
+
+import com.translation.entity.Tag;
+import com.translation.entity.Translation;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Published for every committed write so that in-memory read structures can be updated
+ * without going back to the database. {@code TranslationService} creates events without a
+ * sequence and hands them to the change log, which publishes them with the sequence of
+ * their change once it is assigned just before commit. The change log also sets the
+ * timestamp then, from the entity after the final flush, because {@code @PreUpdate} only
+ * runs when the session flushes; the event then carries the same {@code updatedAt} as the
+ * row, which keyset cursors are built from.
+ */
+@Getter
+@RequiredArgsConstructor
+public class TranslationChangedEvent {
+    
+    public enum Type { CREATED, UPDATED, DELETED }
+    
+    private final Type type;
+    private final long sequence;
+    private final Long translationId;
+    private final String key;
+    private final String locale;
+    private final String content;
+    private final LocalDateTime updatedAt;
+    private final String previousKey;
+    private final String previousLocale;
+    private final Set<String> tags;
+    
+    public static TranslationChangedEvent created(Translation translation) {
+        return created(translation, 0);
+    }
+    
+    public static TranslationChangedEvent updated(Translation translation, String previousKey, String previousLocale) {
+        return updated(translation, 0, previousKey, previousLocale);
+    }
+    
+    public static TranslationChangedEvent deleted(Translation translation) {
+        return deleted(translation, 0);
+    }
+    
+    public static TranslationChangedEvent created(Translation translation, long sequence) {
+        return new TranslationChangedEvent(Type.CREATED, sequence, translation.getId(), translation.getKey(),
+            translation.getLocale(), translation.getContent(), translation.getUpdatedAt(), null, null,
+            tagNames(translation));
+    }
+    
+    public static TranslationChangedEvent updated(Translation translation, long sequence,
+                                                  String previousKey, String previousLocale) {
+        return new TranslationChangedEvent(Type.UPDATED, sequence, translation.getId(), translation.getKey(),
+            translation.getLocale(), translation.getContent(), translation.getUpdatedAt(), previousKey, previousLocale,
+            tagNames(translation));
+    }
+    
+    public static TranslationChangedEvent deleted(Translation translation, long sequence) {
+        return new TranslationChangedEvent(Type.DELETED, sequence, translation.getId(), translation.getKey(),
+            translation.getLocale(), null, translation.getUpdatedAt(), null, null, Set.of());
+    }
+    
+    public TranslationChangedEvent committed(long sequence, LocalDateTime updatedAt) {
+        return new TranslationChangedEvent(type, sequence, translationId, key, locale, content, updatedAt,
+            previousKey, previousLocale, tags);
+    }
+    
+    private static Set<String> tagNames(Translation translation) {
+        return translation.getTags().stream().map(Tag::getName).collect(Collectors.toUnmodifiableSet());
+    }
+    
+    public boolean isRelocated() {
+        return type == Type.UPDATED && previousKey != null
+            && (!previousKey.equals(key) || !previousLocale.equals(locale));
+    }
+}
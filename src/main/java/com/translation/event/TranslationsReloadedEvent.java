@@ -0,0 +1,8 @@
+package com.translation.event;
+
+/**
+ * Published after bulk writes that bypass {@code TranslationService}; listeners must
+ * drop whatever they hold in memory and reload lazily.
+ */
+public class TranslationsReloadedEvent {
+}
@@ -0,0 +1,69 @@
+package com.translation.metrics;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.aop.framework.AopProxyUtils;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Slice;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+/**
+ * Records the rows returned by every repository call as {@code translation.repository.rows}
+ * and adds the call's duration to the request's database time. Call latency itself is the
+ * {@code spring.data.repository.invocations} timer Spring Boot already provides. Streams are
+ * counted as they are consumed and recorded when closed.
+ */
+@Aspect
+@Component
+public class RepositoryMetricsAspect {
+    
+    @Autowired
+    private MeterRegistry meterRegistry;
+    
+    private final Map<String, DistributionSummary> rowSummaries = new ConcurrentHashMap<>();
+    
+    @Around("execution(* org.springframework.data.repository.Repository+.*(..))")
+    public Object measure(ProceedingJoinPoint joinPoint) throws Throwable {
+        long start = System.nanoTime();
+        Object result;
+        try {
+            result = joinPoint.proceed();
+        } finally {
+            RequestTimings.recordDatabase(System.nanoTime() - start);
+        }
+        
+        DistributionSummary rows = rows(joinPoint);
+        if (result instanceof Collection<?> collection) {
+            rows.record(collection.size());
+        } else if (result instanceof Slice<?> slice) {
+            rows.record(slice.getNumberOfElements());
+        } else if (result instanceof Optional<?> optional) {
+            rows.record(optional.isPresent() ? 1 : 0);
+        } else if (result instanceof Stream<?> stream) {
+            AtomicLong count = new AtomicLong();
+            return stream.peek(row -> count.incrementAndGet()).onClose(() -> rows.record(count.get()));
+        }
+        return result;
+    }
+    
+    private DistributionSummary rows(ProceedingJoinPoint joinPoint) {
+        Class<?>[] interfaces = AopProxyUtils.proxiedUserInterfaces(joinPoint.getThis());
+        String repository = interfaces.length > 0 ? interfaces[0].getSimpleName() : "unknown";
+        String method = joinPoint.getSignature().getName();
+        return rowSummaries.computeIfAbsent(repository + "." + method, name -> DistributionSummary
+            .builder("translation.repository.rows")
+            .description("Rows returned per repository call")
+            .tags("repository", repository, "method", method)
+            .register(meterRegistry));
+    }
+}
@@ -0,0 +1,79 @@
+package com.translation.metrics;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Tracks {@link RequestTimings} for every request and records, per endpoint, the SQL
+ * statements it ran ({@code translation.request.statements}) and the time it spent in the
+ * database, in DTO conversion and in response serialization ({@code translation.request.phase}).
+ * Overall endpoint latency is Spring Boot's {@code http.server.requests}. The meters are
+ * registered once per endpoint and phase and then reused.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class RequestMetricsFilter extends OncePerRequestFilter {
+    
+    @Autowired
+    private MeterRegistry meterRegistry;
+    
+    private final Map<String, DistributionSummary> statementSummaries = new ConcurrentHashMap<>();
+    private final Map<String, Map<String, Timer>> phaseTimers = new ConcurrentHashMap<>();
+    
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        RequestTimings timings = RequestTimings.start();
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            RequestTimings.end();
+            record(request, timings, System.nanoTime());
+        }
+    }
+    
+    private void record(HttpServletRequest request, RequestTimings timings, long endNanos) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        if (pattern == null) {
+            return;
+        }
+        String uri = pattern.toString();
+        statementSummaries.computeIfAbsent(uri, name -> DistributionSummary
+                .builder("translation.request.statements")
+                .description("SQL statements run per request")
+                .tags("uri", uri)
+                .register(meterRegistry))
+            .record(timings.getStatements());
+        phase(uri, "database", timings.getDatabaseNanos());
+        phase(uri, "conversion", timings.getConversionNanos());
+        // A body written asynchronously, as by streamed exports, is not finished yet.
+        if (timings.getBodyWriteNanos() != 0 && !request.isAsyncStarted()) {
+            phase(uri, "serialization", endNanos - timings.getBodyWriteNanos());
+        }
+    }
+    
+    private void phase(String uri, String phase, long nanos) {
+        phaseTimers.computeIfAbsent(uri, name -> new ConcurrentHashMap<>())
+            .computeIfAbsent(phase, name -> Timer.builder("translation.request.phase")
+                .description("Time spent per request in one phase of handling it")
+                .tags("uri", uri, "phase", phase)
+                .register(meterRegistry))
+            .record(nanos, TimeUnit.NANOSECONDS);
+    }
+}
@@ -0,0 +1,85 @@
+package com.translation.metrics;
+
+/**
+ * Per-request breakdown of where the time went, held in a thread local between
+ * {@link RequestMetricsFilter} and the layers that report into it. Calls made outside a
+ * request, or on another thread, are not attributed to any request.
+ */
+public final class RequestTimings {
+    
+    private static final ThreadLocal<RequestTimings> CURRENT = new ThreadLocal<>();
+    
+    private final long startNanos = System.nanoTime();
+    private long databaseNanos;
+    private int repositoryCalls;
+    private int statements;
+    private long conversionNanos;
+    private long bodyWriteNanos;
+    
+    static RequestTimings start() {
+        RequestTimings timings = new RequestTimings();
+        CURRENT.set(timings);
+        return timings;
+    }
+    
+    static RequestTimings current() {
+        return CURRENT.get();
+    }
+    
+    static void end() {
+        CURRENT.remove();
+    }
+    
+    public static void recordDatabase(long nanos) {
+        RequestTimings timings = CURRENT.get();
+        if (timings != null) {
+            timings.databaseNanos += nanos;
+            timings.repositoryCalls++;
+        }
+    }
+    
+    public static void recordStatement() {
+        RequestTimings timings = CURRENT.get();
+        if (timings != null) {
+            timings.statements++;
+        }
+    }
+    
+    public static void recordConversion(long nanos) {
+        RequestTimings timings = CURRENT.get();
+        if (timings != null) {
+            timings.conversionNanos += nanos;
+        }
+    }
+    
+    void markBodyWrite() {
+        if (bodyWriteNanos == 0) {
+            bodyWriteNanos = System.nanoTime();
+        }
+    }
+    
+    long getStartNanos() {
+        return startNanos;
+    }
+    
+    long getDatabaseNanos() {
+        return databaseNanos;
+    }
+    
+    int getRepositoryCalls() {
+        return repositoryCalls;
+    }
+    
+    int getStatements() {
+        return statements;
+    }
+    
+    long getConversionNanos() {
+        return conversionNanos;
+    }
+    
+    /** When the response body started to be serialized, or 0 if it has not. */
+    long getBodyWriteNanos() {
+        return bodyWriteNanos;
+    }
+}
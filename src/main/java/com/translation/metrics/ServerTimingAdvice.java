@@ -0,0 +1,55 @@
+package com.translation.metrics;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyAdvice;
+
+import java.util.Locale;
+
+/**
+ * Marks when a response body starts to be serialized. With {@code translation.metrics.server-timing}
+ * it also adds a {@code Server-Timing} header with the request's database, DTO conversion and
+ * total handler time, which browser dev tools display per request. Meant for staging.
+ */
+@ControllerAdvice
+public class ServerTimingAdvice implements ResponseBodyAdvice<Object> {
+    
+    static final String HEADER = "Server-Timing";
+    
+    @Value("${translation.metrics.server-timing:false}")
+    private boolean serverTiming;
+    
+    @Override
+    public boolean supports(MethodParameter returnType, Class<? extends HttpMessageConverter<?>> converterType) {
+        return true;
+    }
+    
+    @Override
+    public Object beforeBodyWrite(Object body, MethodParameter returnType, MediaType selectedContentType,
+                                  Class<? extends HttpMessageConverter<?>> selectedConverterType,
+                                  ServerHttpRequest request, ServerHttpResponse response) {
+        RequestTimings timings = RequestTimings.current();
+        if (timings != null) {
+            timings.markBodyWrite();
+            if (serverTiming) {
+                response.getHeaders().add(HEADER, format(timings));
+            }
+        }
+        return body;
+    }
+    
+    static String format(RequestTimings timings) {
+        return String.format(Locale.ROOT, "db;dur=%.2f;desc=\"%d calls, %d statements\", dto;dur=%.2f, handler;dur=%.2f",
+            millis(timings.getDatabaseNanos()), timings.getRepositoryCalls(), timings.getStatements(),
+            millis(timings.getConversionNanos()), millis(timings.getBodyWriteNanos() - timings.getStartNanos()));
+    }
+    
+    private static double millis(long nanos) {
+        return nanos / 1_000_000.0;
+    }
+}
@@ -0,0 +1,16 @@
+package com.translation.metrics;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+/**
+ * Counts the SQL statements Hibernate prepares for the current request. Registered with
+ * {@code hibernate.session_factory.statement_inspector}, so Hibernate creates it, not Spring.
+ */
+public class StatementCounter implements StatementInspector {
+    
+    @Override
+    public String inspect(String sql) {
+        RequestTimings.recordStatement();
+        return sql;
+    }
+}
@@ -0,0 +1,19 @@
+package com.translation.repository;
+
+import com.translation.entity.ChangeSequence;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface ChangeSequenceRepository extends JpaRepository<ChangeSequence, Integer> {
+    
+    @Modifying
+    @Query("UPDATE ChangeSequence s SET s.lastSequence = s.lastSequence + :count WHERE s.id = " + ChangeSequence.ID)
+    int allocate(@Param("count") long count);
+    
+    @Query("SELECT s.lastSequence FROM ChangeSequence s WHERE s.id = " + ChangeSequence.ID)
+    long findLastSequence();
+}
@@ -0,0 +1,32 @@
+package com.translation.repository;
+
+import com.translation.entity.LocaleStats;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface LocaleStatsRepository extends JpaRepository<LocaleStats, String> {
+    
+    @Modifying
+    @Query("UPDATE LocaleStats s SET s.keyCount = s.keyCount + :keys, s.contentBytes = s.contentBytes + :bytes, " +
+           "s.lastUpdated = :updatedAt WHERE s.locale = :locale")
+    int applyDelta(@Param("locale") String locale,
+                   @Param("keys") long keys,
+                   @Param("bytes") long bytes,
+                   @Param("updatedAt") LocalDateTime updatedAt);
+    
+    @Query("SELECT s.locale FROM LocaleStats s WHERE s.keyCount > 0 ORDER BY s.locale")
+    List<String> findActiveLocales();
+    
+    @Query("SELECT COUNT(s) > 0 FROM LocaleStats s WHERE s.locale = :locale AND s.keyCount > 0")
+    boolean isActive(@Param("locale") String locale);
+    
+    @Query("SELECT s FROM LocaleStats s WHERE s.keyCount > 0 ORDER BY s.locale")
+    List<LocaleStats> findActive();
+}
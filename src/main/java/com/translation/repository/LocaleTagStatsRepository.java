@@ -0,0 +1,22 @@
+package com.translation.repository;
+
+import com.translation.entity.LocaleTagStats;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface LocaleTagStatsRepository extends JpaRepository<LocaleTagStats, LocaleTagStats.Key> {
+    
+    @Modifying
+    @Query("UPDATE LocaleTagStats s SET s.translationCount = s.translationCount + :delta " +
+           "WHERE s.locale = :locale AND s.tag = :tag")
+    int applyDelta(@Param("locale") String locale, @Param("tag") String tag, @Param("delta") long delta);
+    
+    @Query("SELECT s FROM LocaleTagStats s WHERE s.translationCount > 0 ORDER BY s.locale, s.tag")
+    List<LocaleTagStats> findActive();
+}
@@ -0,0 +1,46 @@
+package com.translation.repository;
+
+import com.translation.entity.TranslationChange;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface TranslationChangeRepository extends JpaRepository<TranslationChange, Long> {
+    
+    @Query("SELECT COALESCE(MAX(c.id), 0) FROM TranslationChange c")
+    long findMaxSequence();
+    
+    @Query("SELECT COALESCE(MIN(c.id), 0) FROM TranslationChange c")
+    long findMinSequence();
+    
+    @Query("SELECT MAX(c.id) FROM TranslationChange c WHERE c.changedAt < :cutoff")
+    Long findLastSequenceBefore(@Param("cutoff") LocalDateTime cutoff);
+    
+    @Modifying
+    @Query("DELETE FROM TranslationChange c WHERE c.id > :after AND c.id <= :upTo")
+    int deleteBetween(@Param("after") long after, @Param("upTo") long upTo);
+    
+    List<TranslationChange> findByIdGreaterThanOrderByIdAsc(long id, Pageable pageable);
+    
+    @Query("SELECT COUNT(c) > 0 FROM TranslationChange c WHERE c.type = 'RESET' AND c.id > :since")
+    boolean existsResetAfter(@Param("since") long since);
+    
+    @Query("SELECT c.key, MAX(c.id) FROM TranslationChange c " +
+           "WHERE c.locale = :locale AND c.key IN :keys AND c.type = 'UPSERT' GROUP BY c.key")
+    List<Object[]> findLastUpsertsByLocaleAndKeyIn(@Param("locale") String locale,
+                                                   @Param("keys") Collection<String> keys);
+    
+    @Query("SELECT c FROM TranslationChange c WHERE c.locale = :locale AND c.id > :since AND c.id <= :upTo ORDER BY c.id")
+    List<TranslationChange> findByLocaleBetween(@Param("locale") String locale,
+                                                @Param("since") long since,
+                                                @Param("upTo") long upTo,
+                                                Pageable pageable);
+}
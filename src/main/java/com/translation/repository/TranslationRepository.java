@@ -1,30 +1,114 @@
 package com.translation.repository;
 
+import com.translation.dto.TranslationEntry;
+import com.translation.dto.TranslationRow;
 import com.translation.entity.Translation;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface TranslationRepository extends JpaRepository<Translation, Long> {
     
+    /**
+     * Rows per round trip for the streaming queries. MySQL Connector/J ignores it, and reads
+     * the whole result into memory, unless the URL sets {@code useCursorFetch=true}, as the
+     * {@code prod} profile does.
+     */
+    String STREAM_FETCH_SIZE = "1000";
+    
+    String TAG_FILTER =
+        "(:anyCount = 0 OR EXISTS (SELECT 1 FROM t.tags a WHERE a.name IN :anyTags)) AND " +
+        "(SELECT COUNT(r) FROM t.tags r WHERE r.name IN :allTags) = :allCount AND " +
+        "NOT EXISTS (SELECT 1 FROM t.tags x WHERE x.name IN :excludedTags) AND " +
+        "(:locale IS NULL OR t.locale = :locale)";
+    
     Optional<Translation> findByKeyAndLocale(String key, String locale);
     
     @Query("SELECT t FROM Translation t WHERE t.locale = :locale")
     List<Translation> findByLocale(@Param("locale") String locale);
     
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = STREAM_FETCH_SIZE),
+        @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT new com.translation.dto.TranslationEntry(t.key, t.content) FROM Translation t WHERE t.locale = :locale")
+    Stream<TranslationEntry> streamEntriesByLocale(@Param("locale") String locale);
+    
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = STREAM_FETCH_SIZE),
+        @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT new com.translation.dto.TranslationRow(t.id, t.key, t.locale, t.content, t.updatedAt) " +
+           "FROM Translation t")
+    Stream<TranslationRow> streamAllRows();
+    
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = STREAM_FETCH_SIZE))
+    @Query("SELECT t.id, tag.name FROM Translation t JOIN t.tags tag")
+    Stream<Object[]> streamTagAssignments();
+    
+    @Query("SELECT t FROM Translation t WHERE t.locale = :locale AND t.key IN :keys")
+    List<Translation> findByLocaleAndKeyIn(@Param("locale") String locale, @Param("keys") Collection<String> keys);
+    
+    @Query("SELECT new com.translation.dto.TranslationEntry(t.key, t.content) FROM Translation t " +
+           "WHERE t.locale = :locale AND t.key IN :keys")
+    List<TranslationEntry> findEntriesByLocaleAndKeyIn(@Param("locale") String locale,
+                                                       @Param("keys") Collection<String> keys);
+    
+    @Query("SELECT new com.translation.dto.TranslationRow(t.id, t.key, t.locale, t.content, t.updatedAt) " +
+           "FROM Translation t WHERE t.locale IN :locales AND t.key IN :keys")
+    List<TranslationRow> findRowsByLocaleInAndKeyIn(@Param("locales") Collection<String> locales,
+                                                    @Param("keys") Collection<String> keys);
+    
     @Query("SELECT t FROM Translation t JOIN FETCH t.tags WHERE t.locale = :locale")
     List<Translation> findByLocaleWithTags(@Param("locale") String locale);
     
-    @Query("SELECT t FROM Translation t JOIN t.tags tag WHERE tag.name IN :tags")
+    @Query(value = "SELECT DISTINCT t FROM Translation t JOIN t.tags tag WHERE tag.name IN :tags",
+           countQuery = "SELECT COUNT(DISTINCT t) FROM Translation t JOIN t.tags tag WHERE tag.name IN :tags")
     Page<Translation> findByTagsIn(@Param("tags") List<String> tags, Pageable pageable);
     
+    /**
+     * Tag filter for when the search index is not ready. Empty tag lists must be passed as
+     * a list holding one blank name, which no tag has, together with a zero count.
+     */
+    @Query(value = "SELECT t FROM Translation t WHERE " + TAG_FILTER,
+           countQuery = "SELECT COUNT(t) FROM Translation t WHERE " + TAG_FILTER)
+    Page<Translation> findByTagFilter(@Param("anyTags") Collection<String> anyTags,
+                                      @Param("anyCount") int anyCount,
+                                      @Param("allTags") Collection<String> allTags,
+                                      @Param("allCount") long allCount,
+                                      @Param("excludedTags") Collection<String> excludedTags,
+                                      @Param("locale") String locale,
+                                      Pageable pageable);
+    
+    @Query("SELECT t FROM Translation t WHERE " + TAG_FILTER + " AND " +
+           "(:updatedAt IS NULL OR t.updatedAt < :updatedAt OR (t.updatedAt = :updatedAt AND t.id < :id)) " +
+           "ORDER BY t.updatedAt DESC, t.id DESC")
+    List<Translation> findByTagFilterAfter(@Param("anyTags") Collection<String> anyTags,
+                                           @Param("anyCount") int anyCount,
+                                           @Param("allTags") Collection<String> allTags,
+                                           @Param("allCount") long allCount,
+                                           @Param("excludedTags") Collection<String> excludedTags,
+                                           @Param("locale") String locale,
+                                           @Param("updatedAt") LocalDateTime updatedAt,
+                                           @Param("id") Long id,
+                                           Pageable pageable);
+    
+    @Query("SELECT t.id, tag.name FROM Translation t JOIN t.tags tag WHERE t.id IN :ids")
+    List<Object[]> findTagNamesByTranslationIds(@Param("ids") Collection<Long> ids);
+    
     @Query("SELECT t FROM Translation t WHERE " +
            "(:key IS NULL OR LOWER(t.key) LIKE LOWER(CONCAT('%', :key, '%'))) AND " +
            "(:content IS NULL OR LOWER(t.content) LIKE LOWER(CONCAT('%', :content, '%'))) AND " +
@@ -34,12 +118,49 @@ public interface TranslationRepository extends JpaRepository<Translation, Long>
                                        @Param("locale") String locale, 
                                        Pageable pageable);
     
-    @Query("SELECT DISTINCT t.locale FROM Translation t ORDER BY t.locale")
-    List<String> findDistinctLocales();
+    @Query("SELECT t FROM Translation t WHERE " +
+           "(:key IS NULL OR LOWER(t.key) LIKE LOWER(CONCAT('%', :key, '%'))) AND " +
+           "(:content IS NULL OR LOWER(t.content) LIKE LOWER(CONCAT('%', :content, '%'))) AND " +
+           "(:locale IS NULL OR t.locale = :locale) AND " +
+           "(:updatedAt IS NULL OR t.updatedAt < :updatedAt OR (t.updatedAt = :updatedAt AND t.id < :id)) " +
+           "ORDER BY t.updatedAt DESC, t.id DESC")
+    List<Translation> searchTranslationsAfter(@Param("key") String key,
+                                              @Param("content") String content,
+                                              @Param("locale") String locale,
+                                              @Param("updatedAt") LocalDateTime updatedAt,
+                                              @Param("id") Long id,
+                                              Pageable pageable);
+    
+    @Query("SELECT DISTINCT t FROM Translation t JOIN t.tags tag WHERE tag.name IN :tags AND " +
+           "(:updatedAt IS NULL OR t.updatedAt < :updatedAt OR (t.updatedAt = :updatedAt AND t.id < :id)) " +
+           "ORDER BY t.updatedAt DESC, t.id DESC")
+    List<Translation> findByTagsInAfter(@Param("tags") List<String> tags,
+                                        @Param("updatedAt") LocalDateTime updatedAt,
+                                        @Param("id") Long id,
+                                        Pageable pageable);
     
-    @Query("SELECT COUNT(t) FROM Translation t WHERE t.locale = :locale")
-    long countByLocale(@Param("locale") String locale);
+    @Query("SELECT t FROM Translation t WHERE " +
+           "(:key IS NULL OR LOWER(t.key) LIKE LOWER(CONCAT(:key, '%'))) AND " +
+           "(:content IS NULL OR LOWER(t.content) LIKE LOWER(CONCAT(:content, '%'))) AND " +
+           "(:locale IS NULL OR t.locale = :locale)")
+    Page<Translation> searchTranslationsByPrefix(@Param("key") String key,
+                                                 @Param("content") String content,
+                                                 @Param("locale") String locale,
+                                                 Pageable pageable);
+    
+    @Query("SELECT t FROM Translation t WHERE " +
+           "(:key IS NULL OR LOWER(t.key) LIKE LOWER(CONCAT(:key, '%'))) AND " +
+           "(:content IS NULL OR LOWER(t.content) LIKE LOWER(CONCAT(:content, '%'))) AND " +
+           "(:locale IS NULL OR t.locale = :locale) AND " +
+           "(:updatedAt IS NULL OR t.updatedAt < :updatedAt OR (t.updatedAt = :updatedAt AND t.id < :id)) " +
+           "ORDER BY t.updatedAt DESC, t.id DESC")
+    List<Translation> searchTranslationsByPrefixAfter(@Param("key") String key,
+                                                      @Param("content") String content,
+                                                      @Param("locale") String locale,
+                                                      @Param("updatedAt") LocalDateTime updatedAt,
+                                                      @Param("id") Long id,
+                                                      Pageable pageable);
     
-    @Query("SELECT MAX(t.updatedAt) FROM Translation t WHERE t.locale = :locale")
-    java.time.LocalDateTime findLastUpdatedByLocale(@Param("locale") String locale);
+    @Query("SELECT t.locale, tag.name, COUNT(t) FROM Translation t JOIN t.tags tag GROUP BY t.locale, tag.name")
+    List<Object[]> countTagsByLocale();
 }
\ No newline at end of file
@@ -0,0 +1,17 @@
+package com.translation.security;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+import java.time.Instant;
+
+/**
+ * Claims of a token whose signature has already been checked.
+ */
+@Getter
+@RequiredArgsConstructor
+public class VerifiedToken {
+    
+    private final String subject;
+    private final Instant expiresAt;
+}
@@ -1,82 +1,229 @@
 package com.translation.service;
 
+import com.translation.dto.PopulationJob;
+import com.translation.dto.TranslationRow;
 import com.translation.entity.Tag;
 import com.translation.entity.Translation;
+import com.translation.event.TranslationsReloadedEvent;
 import com.translation.repository.TagRepository;
 import com.translation.repository.TranslationRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.time.Duration;
+import java.time.LocalDateTime;
 import java.util.*;
-import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.atomic.AtomicLong;
 
+/**
+ * Generates load-test datasets. Records are written in chunks across the population
+ * pool, each chunk in its own transaction, and every record is derived from the seed
+ * and its index alone, so the same seed and count always produce the same dataset.
+ * Records whose key and locale already exist are skipped, so running a job again adds
+ * nothing twice.
+ */
 @Service
 public class DataPopulationService {
-    @Autowired
-    private TranslationRepository translationRepository;
-    @Autowired
-    private TagRepository tagRepository;
+    
+    private static final Logger log = LoggerFactory.getLogger(DataPopulationService.class);
+    
+    public static final long DEFAULT_SEED = 42L;
     
     private static final String[] LOCALES = {"en", "fr", "es", "de"};
     private static final String[] TAG_NAMES = {"mobile", "desktop", "web", "info"};
     private static final String[] KEY_PREFIXES = {"button", "label", "message", "title", "description"};
+    private static final int MAX_RETAINED_JOBS = 20;
     
-    @Transactional
-    public void populateDatabase(int recordCount) {
-        System.out.println("Starting database population with " + recordCount + " records...");
-        
-        List<Tag> tags = createTags();
-        int batchSize = 1000;
-        for (int i = 0; i < recordCount; i += batchSize) {
-            int endIndex = Math.min(i + batchSize, recordCount);
-            List<Translation> batch = createTranslationBatch(i, endIndex, tags);
-            translationRepository.saveAll(batch);
-            
-            if ((i + batchSize) % 10000 == 0) {
-                System.out.println("Created " + (i + batchSize) + " translations...");
-            }
+    @Autowired
+    private TagRepository tagRepository;
+    @Autowired
+    private TranslationRepository translationRepository;
+    @Autowired
+    private TranslationChangeLogService changeLogService;
+    @Autowired
+    private LocaleStatsService localeStatsService;
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+    @Autowired
+    @Qualifier("populationExecutor")
+    private ExecutorService populationExecutor;
+    
+    @PersistenceContext
+    private EntityManager entityManager;
+    
+    @Value("${translation.population.chunk-size:1000}")
+    private int chunkSize;
+    
+    private final Map<String, Job> jobs = new ConcurrentHashMap<>();
+    
+    public PopulationJob populateDatabase(int recordCount) {
+        return populateDatabase(recordCount, DEFAULT_SEED);
+    }
+    
+    public PopulationJob populateDatabase(int recordCount, long seed) {
+        Job job = newJob(recordCount, seed);
+        launch(job).join();
+        return job.toDto();
+    }
+    
+    public PopulationJob startJob(int recordCount, long seed) {
+        Job job = newJob(recordCount, seed);
+        launch(job);
+        return job.toDto();
+    }
+    
+    public Optional<PopulationJob> getJob(String id) {
+        return Optional.ofNullable(jobs.get(id)).map(Job::toDto);
+    }
+    
+    private Job newJob(int recordCount, long seed) {
+        if (recordCount < 1) {
+            throw new IllegalArgumentException("Record count must be at least 1");
         }
-        System.out.println("Database population completed with " + recordCount + " records.");
+        Job job = new Job(UUID.randomUUID().toString(), recordCount, seed);
+        jobs.put(job.id, job);
+        pruneJobs();
+        return job;
     }
     
-    private List<Tag> createTags() {
-        List<Tag> tags = new ArrayList<>();
-        for (String tagName : TAG_NAMES) {
-            if (!tagRepository.findByName(tagName).isPresent()) {
-                tags.add(new Tag(tagName));
+    private CompletableFuture<Void> launch(Job job) {
+        log.info("Population job {} started: {} records, seed {}", job.id, job.requested, job.seed);
+        List<CompletableFuture<Void>> chunks = new ArrayList<>();
+        try {
+            List<Long> tagIds = ensureTags();
+            for (int start = 0; start < job.requested; start += chunkSize) {
+                int from = start;
+                int to = Math.min(start + chunkSize, job.requested);
+                chunks.add(CompletableFuture.runAsync(() -> writeChunk(job, from, to, tagIds), populationExecutor));
             }
+        } catch (RuntimeException e) {
+            chunks.add(CompletableFuture.failedFuture(e));
         }
-        return tagRepository.saveAll(tags);
+        return CompletableFuture.allOf(chunks.toArray(new CompletableFuture[0]))
+            .handle((ignored, failure) -> {
+                finish(job, failure);
+                return null;
+            });
     }
     
-    private List<Translation> createTranslationBatch(int startIndex, int endIndex, List<Tag> availableTags) {
-        List<Translation> translations = new ArrayList<>();
-        Random random = ThreadLocalRandom.current();
-        
-        for (int i = startIndex; i < endIndex; i++) {
-            String keyPrefix = KEY_PREFIXES[random.nextInt(KEY_PREFIXES.length)];
-            String key = keyPrefix + "." + (i % 1000);
-            String locale = LOCALES[random.nextInt(LOCALES.length)];
-            String content = generateContent(key, locale, random);
-            
-            Translation translation = new Translation(key, locale, content);
-            int tagCount = random.nextInt(4);
-            Set<Tag> translationTags = new HashSet<>();
-            for (int j = 0; j < tagCount; j++) {
-                Tag randomTag = availableTags.get(random.nextInt(availableTags.size()));
-                translationTags.add(randomTag);
+    private List<Long> ensureTags() {
+        return new TransactionTemplate(transactionManager).execute(status -> {
+            List<Long> ids = new ArrayList<>();
+            for (String tagName : TAG_NAMES) {
+                Tag tag = tagRepository.findByName(tagName)
+                    .orElseGet(() -> tagRepository.save(new Tag(tagName)));
+                ids.add(tag.getId());
+            }
+            return ids;
+        });
+    }
+    
+    private void writeChunk(Job job, int from, int to, List<Long> tagIds) {
+        if (job.error != null) {
+            return;
+        }
+        try {
+            int written = new TransactionTemplate(transactionManager).execute(status -> {
+                List<Tag> tags = new ArrayList<>(tagRepository.findAllById(tagIds));
+                tags.sort(Comparator.comparing(Tag::getName));
+                List<Translation> records = new ArrayList<>(to - from);
+                Set<String> keys = new HashSet<>();
+                for (int i = from; i < to; i++) {
+                    Translation translation = createTranslation(job.seed, i, tags);
+                    records.add(translation);
+                    keys.add(translation.getKey());
+                }
+                Set<String> present = new HashSet<>();
+                for (TranslationRow row : translationRepository.findRowsByLocaleInAndKeyIn(List.of(LOCALES), keys)) {
+                    present.add(row.getLocale() + '\0' + row.getKey());
+                }
+                LocaleStatsService.Changes stats = new LocaleStatsService.Changes();
+                int count = 0;
+                for (Translation translation : records) {
+                    if (present.contains(translation.getLocale() + '\0' + translation.getKey())) {
+                        continue;
+                    }
+                    entityManager.persist(translation);
+                    stats.add(translation);
+                    count++;
+                }
+                entityManager.flush();
+                localeStatsService.apply(stats);
+                entityManager.clear();
+                return count;
+            });
+            job.skipped.addAndGet(to - from - written);
+            long completed = job.completed.addAndGet(written);
+            if (completed / 100_000 != (completed - written) / 100_000) {
+                log.info("Population job {}: {} of {} records written", job.id, completed, job.requested);
             }
-            translation.setTags(translationTags);
-            
-            translations.add(translation);
+        } catch (RuntimeException e) {
+            job.error = e.getMessage();
+            throw e;
         }
+    }
+    
+    private void finish(Job job, Throwable failure) {
+        job.finishedAt = LocalDateTime.now();
+        if (failure != null) {
+            Throwable cause = failure instanceof CompletionException && failure.getCause() != null
+                ? failure.getCause() : failure;
+            job.error = cause.getMessage();
+            job.status = PopulationJob.Status.FAILED;
+            log.error("Population job {} failed after {} records", job.id, job.completed.get(), cause);
+        } else {
+            job.status = PopulationJob.Status.COMPLETED;
+            log.info("Population job {} completed: {} records written, {} already present, in {} ms", job.id,
+                job.completed.get(), job.skipped.get(), Duration.between(job.startedAt, job.finishedAt).toMillis());
+        }
+        if (job.completed.get() > 0) {
+            // Rows were written behind the change log, so delta clients and in-memory views start over.
+            changeLogService.recordReset();
+            eventPublisher.publishEvent(new TranslationsReloadedEvent());
+        }
+    }
+    
+    /**
+     * Builds record {@code index} of the dataset for {@code seed}. Locales rotate with the
+     * index, so every (key, locale) pair in a dataset is unique.
+     */
+    static Translation createTranslation(long seed, int index, List<Tag> availableTags) {
+        SplittableRandom random = new SplittableRandom(mix(seed + index * 0x9E3779B97F4A7C15L));
+        String locale = LOCALES[index % LOCALES.length];
+        String key = KEY_PREFIXES[random.nextInt(KEY_PREFIXES.length)] + "." + (index / LOCALES.length);
         
-        return translations;
+        Translation translation = new Translation(key, locale, generateContent(key, locale));
+        int tagCount = random.nextInt(4);
+        Set<Tag> translationTags = new HashSet<>();
+        for (int j = 0; j < tagCount && !availableTags.isEmpty(); j++) {
+            translationTags.add(availableTags.get(random.nextInt(availableTags.size())));
+        }
+        translation.setTags(translationTags);
+        return translation;
+    }
+    
+    private static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
     }
     
-    private String generateContent(String key, String locale, Random random) {
-        String baseContent = "Sample content for " + key;   
+    private static String generateContent(String key, String locale) {
         switch (locale) {
             case "fr":
                 return "Contenu d'exemple pour " + key;
@@ -87,7 +234,44 @@ public class DataPopulationService {
             case "en":
                 return "Sample content for English " + key;
             default:
-                return baseContent;
+                return "Sample content for " + key;
+        }
+    }
+    
+    private void pruneJobs() {
+        while (jobs.size() > MAX_RETAINED_JOBS) {
+            Optional<Job> oldest = jobs.values().stream()
+                .filter(job -> job.status != PopulationJob.Status.RUNNING)
+                .min(Comparator.comparing(job -> job.startedAt));
+            if (oldest.isEmpty()) {
+                return;
+            }
+            jobs.remove(oldest.get().id);
+        }
+    }
+    
+    private static final class Job {
+        private final String id;
+        private final int requested;
+        private final long seed;
+        private final LocalDateTime startedAt = LocalDateTime.now();
+        private final AtomicLong completed = new AtomicLong();
+        private final AtomicLong skipped = new AtomicLong();
+        private volatile PopulationJob.Status status = PopulationJob.Status.RUNNING;
+        private volatile LocalDateTime finishedAt;
+        private volatile String error;
+        
+        private Job(String id, int requested, long seed) {
+            this.id = id;
+            this.requested = requested;
+            this.seed = seed;
+        }
+        
+        private PopulationJob toDto() {
+            LocalDateTime finished = finishedAt;
+            Long durationMs = finished != null ? Duration.between(startedAt, finished).toMillis() : null;
+            return new PopulationJob(id, status, seed, requested, completed.get(), skipped.get(), startedAt,
+                finished, durationMs, error);
         }
     }
-}
\ No newline at end of file
+}
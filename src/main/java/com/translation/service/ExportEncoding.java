@@ -0,0 +1,64 @@
+package com.translation.service;
+
+import org.springframework.util.StringUtils;
+
+/**
+ * Content codings an export snapshot can be served in. Only codecs available in the JDK
+ * are offered so that no native library is needed on the export path.
+ */
+public enum ExportEncoding {
+    IDENTITY("identity"),
+    GZIP("gzip");
+    
+    private final String token;
+    
+    ExportEncoding(String token) {
+        this.token = token;
+    }
+    
+    public String getToken() {
+        return token;
+    }
+    
+    /**
+     * Picks the best coding for an {@code Accept-Encoding} header, preferring gzip when
+     * the client weights it at least as high as the uncompressed representation. Identity
+     * that is not listed ranks below every listed coding, so {@code br, gzip;q=0.8} gets gzip.
+     */
+    public static ExportEncoding negotiate(String acceptEncoding) {
+        if (!StringUtils.hasText(acceptEncoding)) {
+            return IDENTITY;
+        }
+        Double gzip = null;
+        Double identity = null;
+        Double wildcard = null;
+        for (String part : acceptEncoding.split(",")) {
+            String[] tokens = part.trim().split(";");
+            String coding = tokens[0].trim().toLowerCase();
+            double quality = parseQuality(tokens);
+            switch (coding) {
+                case "gzip", "x-gzip" -> gzip = quality;
+                case "identity" -> identity = quality;
+                case "*" -> wildcard = quality;
+                default -> { }
+            }
+        }
+        double gzipQuality = gzip != null ? gzip : (wildcard != null ? wildcard : 0.0);
+        double identityQuality = identity != null ? identity : 0.0;
+        return gzipQuality > 0 && gzipQuality >= identityQuality ? GZIP : IDENTITY;
+    }
+    
+    private static double parseQuality(String[] tokens) {
+        for (int i = 1; i < tokens.length; i++) {
+            String parameter = tokens[i].trim();
+            if (parameter.startsWith("q=")) {
+                try {
+                    return Double.parseDouble(parameter.substring(2));
+                } catch (NumberFormatException e) {
+                    return 0.0;
+                }
+            }
+        }
+        return 1.0;
+    }
+}
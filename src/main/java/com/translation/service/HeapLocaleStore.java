@@ -0,0 +1,47 @@
+package com.translation.service;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.SortedMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.function.BiConsumer;
+
+final class HeapLocaleStore implements LocaleStore {
+    
+    private final ConcurrentSkipListMap<String, String> entries = new ConcurrentSkipListMap<>(KEY_ORDER);
+    
+    @Override
+    public String get(String key) {
+        return entries.get(key);
+    }
+    
+    @Override
+    public void put(String key, String content) {
+        entries.put(key, content);
+    }
+    
+    @Override
+    public void remove(String key) {
+        entries.remove(key);
+    }
+    
+    @Override
+    public int size() {
+        return entries.size();
+    }
+    
+    @Override
+    public void forEach(BiConsumer<String, String> action) {
+        entries.forEach(action);
+    }
+    
+    @Override
+    public SortedMap<String, String> range(String prefix) {
+        return entries.subMap(prefix, LocaleStore.rangeEnd(prefix));
+    }
+    
+    @Override
+    public Map<String, String> asMap() {
+        return Collections.unmodifiableSortedMap(entries);
+    }
+}
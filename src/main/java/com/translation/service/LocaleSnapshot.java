@@ -0,0 +1,78 @@
+package com.translation.service;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+import org.springframework.util.DigestUtils;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Immutable, pre-serialized JSON export of one locale. The ETag is derived from the
+ * payload so it is stable across restarts and across nodes serving the same data.
+ * The gzip variant is compressed once, in the background right after the snapshot is
+ * built (see {@link #precompress}), and then reused.
+ */
+@Getter
+public class LocaleSnapshot {
+    
+    private final String locale;
+    private final long version;
+    private final long changeSequence;
+    private final String etag;
+    private final byte[] json;
+    
+    @Getter(AccessLevel.NONE)
+    private volatile byte[] gzip;
+    
+    public LocaleSnapshot(String locale, long version, long changeSequence, byte[] json) {
+        this.locale = locale;
+        this.version = version;
+        this.changeSequence = changeSequence;
+        this.json = json;
+        this.etag = "\"" + DigestUtils.md5DigestAsHex(json) + "\"";
+    }
+    
+    /** The shared body in the given coding, written to the response as is; callers must not modify it. */
+    public byte[] getBody(ExportEncoding encoding) {
+        return encoding == ExportEncoding.GZIP ? gzip() : json;
+    }
+    
+    public String getEtag(ExportEncoding encoding) {
+        if (encoding == ExportEncoding.IDENTITY) {
+            return etag;
+        }
+        return etag.substring(0, etag.length() - 1) + "-" + encoding.getToken() + "\"";
+    }
+    
+    /** Builds the compressed variants, so that requests do not pay for it. */
+    public void precompress() {
+        gzip();
+    }
+    
+    private byte[] gzip() {
+        byte[] compressed = gzip;
+        if (compressed == null) {
+            synchronized (this) {
+                compressed = gzip;
+                if (compressed == null) {
+                    compressed = compress(json);
+                    gzip = compressed;
+                }
+            }
+        }
+        return compressed;
+    }
+    
+    private static byte[] compress(byte[] data) {
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream(Math.max(64, data.length / 4));
+        try (GZIPOutputStream out = new GZIPOutputStream(buffer)) {
+            out.write(data);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return buffer.toByteArray();
+    }
+}
@@ -0,0 +1,167 @@
+package com.translation.service;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Binary snapshot of the in-memory locale dictionary. It is written to a temporary file
+ * and moved into place, and read back by mapping its sections read-only, so a restarted
+ * node can answer lookups before it has loaded anything from the database.
+ *
+ * <pre>
+ * header  int magic, int version, long createdAt, int sectionCount
+ * table   per locale: 32 bytes locale (short length + UTF-8), long changeSequence,
+ *         long dataOffset, int dataLength, long indexOffset, int entryCount
+ * data    per entry, in {@link LocaleStore#KEY_ORDER}: int length + UTF-8 key,
+ *         int length + UTF-8 content
+ * index   per entry: int offset of the entry within the data block
+ * </pre>
+ */
+final class LocaleSnapshotFile {
+    
+    static final int MAGIC = 0x54534E50;
+    static final int VERSION = 1;
+    
+    private static final int HEADER_BYTES = 20;
+    private static final int LOCALE_BYTES = 32;
+    private static final int TABLE_ENTRY_BYTES = LOCALE_BYTES + 8 + 8 + 4 + 8 + 4;
+    
+    private LocaleSnapshotFile() {
+    }
+    
+    static void write(Path path, List<Section> sections) throws IOException {
+        Path temp = path.resolveSibling(path.getFileName() + ".tmp");
+        ByteBuffer table = ByteBuffer.allocate(HEADER_BYTES + sections.size() * TABLE_ENTRY_BYTES);
+        table.putInt(MAGIC).putInt(VERSION).putLong(System.currentTimeMillis()).putInt(sections.size());
+        
+        try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            channel.position(table.capacity());
+            DataOutputStream out = new DataOutputStream(
+                new BufferedOutputStream(Channels.newOutputStream(channel), 1 << 16));
+            long position = table.capacity();
+            for (Section section : sections) {
+                int[] offsets = new int[Math.max(16, section.entries.size())];
+                int count = 0;
+                long dataLength = 0;
+                for (Map.Entry<String, String> entry : section.entries.asMap().entrySet()) {
+                    byte[] key = entry.getKey().getBytes(StandardCharsets.UTF_8);
+                    byte[] content = entry.getValue().getBytes(StandardCharsets.UTF_8);
+                    if (dataLength + 8 + key.length + content.length > Integer.MAX_VALUE) {
+                        throw new IOException("Locale " + section.locale + " is too large for a snapshot section");
+                    }
+                    if (count == offsets.length) {
+                        offsets = Arrays.copyOf(offsets, count * 2);
+                    }
+                    offsets[count++] = (int) dataLength;
+                    out.writeInt(key.length);
+                    out.write(key);
+                    out.writeInt(content.length);
+                    out.write(content);
+                    dataLength += 8 + key.length + content.length;
+                }
+                for (int i = 0; i < count; i++) {
+                    out.writeInt(offsets[i]);
+                }
+                
+                byte[] locale = section.locale.getBytes(StandardCharsets.UTF_8);
+                if (locale.length > LOCALE_BYTES - 2) {
+                    throw new IOException("Locale " + section.locale + " is too long for a snapshot section");
+                }
+                table.putShort((short) locale.length).put(locale).put(new byte[LOCALE_BYTES - 2 - locale.length]);
+                table.putLong(section.changeSequence);
+                table.putLong(position).putInt((int) dataLength);
+                table.putLong(position + dataLength).putInt(count);
+                position += dataLength + 4L * count;
+            }
+            out.flush();
+            table.flip();
+            channel.write(table, 0);
+            channel.force(true);
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(temp);
+            throw e;
+        }
+        Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+    
+    /**
+     * Maps every locale section of the file. The mappings stay valid after the file is
+     * replaced or deleted.
+     */
+    static List<Section> map(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long fileSize = channel.size();
+            if (fileSize < HEADER_BYTES) {
+                throw new IOException("Snapshot file is truncated");
+            }
+            ByteBuffer header = channel.map(FileChannel.MapMode.READ_ONLY, 0, HEADER_BYTES);
+            if (header.getInt() != MAGIC || header.getInt() != VERSION) {
+                throw new IOException("Not a version " + VERSION + " snapshot file");
+            }
+            header.getLong();
+            int sectionCount = header.getInt();
+            if (sectionCount < 0 || HEADER_BYTES + (long) sectionCount * TABLE_ENTRY_BYTES > fileSize) {
+                throw new IOException("Snapshot file is truncated");
+            }
+            
+            ByteBuffer table = channel.map(FileChannel.MapMode.READ_ONLY, HEADER_BYTES,
+                (long) sectionCount * TABLE_ENTRY_BYTES);
+            List<Section> sections = new ArrayList<>(sectionCount);
+            for (int i = 0; i < sectionCount; i++) {
+                byte[] locale = new byte[table.getShort()];
+                table.get(locale).position(table.position() + LOCALE_BYTES - 2 - locale.length);
+                long changeSequence = table.getLong();
+                long dataOffset = table.getLong();
+                int dataLength = table.getInt();
+                long indexOffset = table.getLong();
+                int count = table.getInt();
+                if (dataOffset + dataLength > fileSize || indexOffset + 4L * count > fileSize) {
+                    throw new IOException("Snapshot file is truncated");
+                }
+                ByteBuffer data = channel.map(FileChannel.MapMode.READ_ONLY, dataOffset, dataLength);
+                ByteBuffer index = channel.map(FileChannel.MapMode.READ_ONLY, indexOffset, 4L * count);
+                sections.add(new Section(new String(locale, StandardCharsets.UTF_8), changeSequence,
+                    new MappedLocaleStore(data, index, count)));
+            }
+            return sections;
+        }
+    }
+    
+    static final class Section {
+        private final String locale;
+        private final long changeSequence;
+        private final LocaleStore entries;
+        
+        Section(String locale, long changeSequence, LocaleStore entries) {
+            this.locale = locale;
+            this.changeSequence = changeSequence;
+            this.entries = entries;
+        }
+        
+        String getLocale() {
+            return locale;
+        }
+        
+        long getChangeSequence() {
+            return changeSequence;
+        }
+        
+        LocaleStore getEntries() {
+            return entries;
+        }
+    }
+}
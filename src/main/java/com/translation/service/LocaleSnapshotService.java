@@ -0,0 +1,529 @@
+package com.translation.service;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.translation.dto.ResolvedTranslation;
+import com.translation.dto.TranslationDelta;
+import com.translation.dto.TranslationEntry;
+import com.translation.event.TranslationChangedEvent;
+import com.translation.event.TranslationsReloadedEvent;
+import com.translation.repository.LocaleStatsRepository;
+import com.translation.repository.TranslationChangeRepository;
+import com.translation.repository.TranslationRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SortedMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+/**
+ * Keeps the key/content pairs of every exported locale in memory and serves a cached,
+ * pre-serialized {@link LocaleSnapshot} for it. Locales are loaded from the database at
+ * startup or on first use; afterwards committed writes are applied incrementally and the
+ * JSON is re-serialized lazily on the next read. The entries also answer single-key and
+ * namespace lookups. With {@code translation.dictionary.off-heap} the entries are kept in
+ * an {@link OffHeapLocaleStore} instead of on the heap.
+ *
+ * <p>Only locales with translations, according to {@code locale_stats}, get a state; other
+ * locale names are answered as empty without allocating anything, and a locale whose
+ * last key is deleted is dropped. Which locale names are inactive is remembered, in a
+ * bounded cache, until a write to them commits. Committed writes can be delivered out of
+ * order, so each state remembers the sequence it was loaded at and the last sequence
+ * applied per key, and ignores older updates. Per-key sequences are dropped once they are
+ * older than {@code translation.snapshot.out-of-order-window-ms}; a write delivered later
+ * than that after its commit is ignored.
+ *
+ * <p>With {@code translation.snapshot.file.path} the loaded locales are also written to a
+ * {@link LocaleSnapshotFile} periodically and on shutdown. At startup that file is mapped
+ * and served right away, while each locale is brought up to date from the change log and
+ * moved into a regular store in the background.
+ */
+@Service
+public class LocaleSnapshotService {
+    
+    private static final Logger log = LoggerFactory.getLogger(LocaleSnapshotService.class);
+    private static final byte[] EMPTY_JSON = {'{', '}'};
+    private static final int MAX_INACTIVE_LOCALES = 10_000;
+    
+    @Autowired
+    private TranslationRepository translationRepository;
+    @Autowired
+    private TranslationChangeRepository changeRepository;
+    @Autowired
+    private LocaleStatsRepository localeStatsRepository;
+    @Autowired
+    private LocaleStatsService localeStatsService;
+    @Autowired
+    private ObjectMapper objectMapper;
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+    @Autowired
+    private TranslationChangeLogService changeLogService;
+    @Autowired
+    @Qualifier("snapshotExecutor")
+    private ExecutorService snapshotExecutor;
+    
+    @Value("${translation.snapshot.warm-on-startup:true}")
+    private boolean warmOnStartup;
+    @Value("${translation.dictionary.off-heap:false}")
+    private boolean offHeap;
+    @Value("${translation.snapshot.file.path:}")
+    private String snapshotFilePath;
+    @Value("${translation.snapshot.out-of-order-window-ms:60000}")
+    private long outOfOrderWindowMs;
+    
+    private final Map<String, LocaleState> states = new ConcurrentHashMap<>();
+    private final AtomicLong versions = new AtomicLong();
+    private final ReentrantLock fileLock = new ReentrantLock();
+    // Empty snapshots of locales without translations; activations counts the writes that may end that.
+    private final Cache<String, LocaleSnapshot> inactiveLocales = Caffeine.newBuilder()
+        .maximumSize(MAX_INACTIVE_LOCALES)
+        .build();
+    private final AtomicLong activations = new AtomicLong();
+    
+    public boolean isOffHeap() {
+        return offHeap;
+    }
+    
+    public boolean isLoaded(String locale) {
+        LocaleState state = states.get(locale);
+        return state != null && state.loaded;
+    }
+    
+    /**
+     * Whether the locale is still served from the snapshot file and awaiting reconciliation.
+     */
+    public boolean isMapped(String locale) {
+        LocaleState state = states.get(locale);
+        return state != null && state.entries instanceof MappedLocaleStore;
+    }
+    
+    public LocaleSnapshot getSnapshot(String locale) {
+        LocaleSnapshot inactive = inactiveLocales.getIfPresent(locale);
+        if (inactive != null) {
+            return inactive;
+        }
+        long activationsBefore = activations.get();
+        long sequence = states.containsKey(locale) ? 0 : onPrimary(changeRepository::findMaxSequence);
+        LocaleState state = state(locale);
+        if (state == null) {
+            LocaleSnapshot empty = new LocaleSnapshot(locale, 0, sequence, EMPTY_JSON);
+            inactiveLocales.put(locale, empty);
+            // A write that committed meanwhile may have missed the entry; drop it rather than serve it stale.
+            if (activations.get() != activationsBefore) {
+                inactiveLocales.invalidate(locale);
+            }
+            return empty;
+        }
+        LocaleSnapshot snapshot = state.snapshot;
+        if (snapshot != null) {
+            return snapshot;
+        }
+        state.lock.lock();
+        try {
+            ensureLoaded(state);
+            if (state.snapshot == null) {
+                state.snapshot = new LocaleSnapshot(locale, versions.incrementAndGet(), state.changeSequence,
+                    serialize(state.entries));
+                CompletableFuture.runAsync(state.snapshot::precompress, snapshotExecutor);
+            }
+            return state.snapshot;
+        } finally {
+            state.lock.unlock();
+        }
+    }
+    
+    /**
+     * Returns the key/content pairs whose key starts with {@code prefix}, in key order, as a
+     * range view over the sorted in-memory entries of the locale.
+     */
+    public SortedMap<String, String> getNamespace(String locale, String prefix) {
+        LocaleState state = loadedState(locale);
+        return state != null ? state.entries.range(prefix) : Collections.emptySortedMap();
+    }
+    
+    public String getContent(String locale, String key) {
+        LocaleState state = loadedState(locale);
+        return state != null ? state.entries.get(key) : null;
+    }
+    
+    /**
+     * Resolves each key against {@code locales} in order and returns, for the keys found, the
+     * first locale that has them. Every locale is looked up once, then each key is a chain of
+     * in-memory gets.
+     */
+    public Map<String, ResolvedTranslation> resolve(Collection<String> keys, List<String> locales) {
+        List<LocaleStore> chain = new ArrayList<>(locales.size());
+        for (String locale : locales) {
+            LocaleState state = loadedState(locale);
+            chain.add(state != null ? state.entries : null);
+        }
+        Map<String, ResolvedTranslation> resolved = new LinkedHashMap<>();
+        for (String key : keys) {
+            for (int i = 0; i < chain.size(); i++) {
+                String content = chain.get(i) != null ? chain.get(i).get(key) : null;
+                if (content != null) {
+                    resolved.put(key, new ResolvedTranslation(locales.get(i), content));
+                    break;
+                }
+            }
+        }
+        return resolved;
+    }
+    
+    /**
+     * Returns a read-only view of all key/content pairs of the locale.
+     */
+    public Map<String, String> getEntries(String locale) {
+        LocaleState state = loadedState(locale);
+        return state != null ? state.entries.asMap() : Map.of();
+    }
+    
+    @PostConstruct
+    public void mapSnapshotFile() {
+        Path path = snapshotFile();
+        if (path == null || !Files.exists(path)) {
+            return;
+        }
+        try {
+            long start = System.currentTimeMillis();
+            for (LocaleSnapshotFile.Section section : LocaleSnapshotFile.map(path)) {
+                LocaleState state = new LocaleState(section.getLocale(), section.getEntries());
+                state.loadedAt(section.getChangeSequence());
+                states.put(state.locale, state);
+            }
+            log.info("Mapped {} locales from snapshot file {} in {} ms", states.size(), path,
+                System.currentTimeMillis() - start);
+        } catch (IOException | RuntimeException e) {
+            log.warn("Ignoring unreadable snapshot file {}", path, e);
+            states.clear();
+        }
+    }
+    
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        boolean mapped = states.values().stream().anyMatch(state -> state.entries instanceof MappedLocaleStore);
+        if (warmOnStartup || mapped) {
+            CompletableFuture.runAsync(() -> {
+                reconcileMapped();
+                if (warmOnStartup) {
+                    warmAll();
+                }
+            }, snapshotExecutor);
+        }
+    }
+    
+    /**
+     * Brings every locale served from the snapshot file up to date with the change log and
+     * moves it into a regular store; a locale the log cannot bridge is reloaded instead.
+     */
+    public void reconcileMapped() {
+        for (LocaleState state : states.values()) {
+            try {
+                reconcile(state);
+            } catch (RuntimeException e) {
+                log.error("Failed to reconcile locale {}, it will be reloaded on next use", state.locale, e);
+                states.remove(state.locale, state);
+            }
+        }
+    }
+    
+    @Scheduled(initialDelayString = "${translation.snapshot.file.write-interval-ms:300000}",
+        fixedDelayString = "${translation.snapshot.file.write-interval-ms:300000}")
+    public void writeSnapshotFile() {
+        Path path = snapshotFile();
+        if (path == null) {
+            return;
+        }
+        List<LocaleSnapshotFile.Section> sections = new ArrayList<>();
+        for (LocaleState state : states.values()) {
+            if (state.loaded) {
+                // Entries written after the sequence is read are replayed again on reconcile, which is harmless.
+                state.lock.lock();
+                try {
+                    sections.add(new LocaleSnapshotFile.Section(state.locale, state.changeSequence, state.entries));
+                } finally {
+                    state.lock.unlock();
+                }
+            }
+        }
+        if (sections.isEmpty()) {
+            return;
+        }
+        fileLock.lock();
+        try {
+            long start = System.currentTimeMillis();
+            LocaleSnapshotFile.write(path, sections);
+            log.info("Wrote {} locales to snapshot file {} in {} ms", sections.size(), path,
+                System.currentTimeMillis() - start);
+        } catch (IOException | RuntimeException e) {
+            log.warn("Failed to write snapshot file {}", path, e);
+        } finally {
+            fileLock.unlock();
+        }
+    }
+    
+    @PreDestroy
+    public void onShutdown() {
+        writeSnapshotFile();
+    }
+    
+    /** Loads every locale that has translations, listed from {@code locale_stats} rather than the translations table. */
+    public void warmAll() {
+        for (String locale : localeStatsService.getActiveLocales()) {
+            loadedState(locale);
+        }
+    }
+    
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTranslationChanged(TranslationChangedEvent event) {
+        long sequence = event.getSequence();
+        if (event.getType() != TranslationChangedEvent.Type.DELETED) {
+            activations.incrementAndGet();
+            inactiveLocales.invalidate(event.getLocale());
+        }
+        if (event.isRelocated()) {
+            apply(event.getPreviousLocale(), event.getPreviousKey(), sequence,
+                state -> state.entries.remove(event.getPreviousKey()));
+        }
+        if (event.getType() == TranslationChangedEvent.Type.DELETED) {
+            apply(event.getLocale(), event.getKey(), sequence, state -> state.entries.remove(event.getKey()));
+        } else {
+            apply(event.getLocale(), event.getKey(), sequence,
+                state -> state.entries.put(event.getKey(), event.getContent()));
+        }
+    }
+    
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTranslationsReloaded(TranslationsReloadedEvent event) {
+        activations.incrementAndGet();
+        inactiveLocales.invalidateAll();
+        states.clear();
+    }
+    
+    private void apply(String locale, String key, long sequence, Consumer<LocaleState> change) {
+        LocaleState state = states.get(locale);
+        if (state == null) {
+            return;
+        }
+        state.lock.lock();
+        try {
+            if (state.loaded && state.isNewer(key, sequence)) {
+                change.accept(state);
+                state.changeSequence = Math.max(state.changeSequence, sequence);
+                state.snapshot = null;
+                if (state.entries.size() == 0) {
+                    states.remove(locale, state);
+                }
+            }
+            if (state.loaded) {
+                state.compact(System.currentTimeMillis(), outOfOrderWindowMs);
+            }
+        } finally {
+            state.lock.unlock();
+        }
+    }
+    
+    /** The locale's state, or null when it has no translations and nothing needs to be held for it. */
+    private LocaleState state(String locale) {
+        LocaleState state = states.get(locale);
+        if (state != null || inactiveLocales.getIfPresent(locale) != null
+                || !onPrimary(() -> localeStatsRepository.isActive(locale))) {
+            return state;
+        }
+        return states.computeIfAbsent(locale, key -> new LocaleState(key, newStore()));
+    }
+    
+    /**
+     * Runs a read in a transaction that is not read-only, so it goes to the primary: a lagging
+     * replica could report a new locale as inactive or hand out an old sequence as a baseline.
+     */
+    private <T> T onPrimary(Supplier<T> read) {
+        return new TransactionTemplate(transactionManager).execute(status -> read.get());
+    }
+    
+    private LocaleStore newStore() {
+        return offHeap ? new OffHeapLocaleStore() : new HeapLocaleStore();
+    }
+    
+    private LocaleState loadedState(String locale) {
+        LocaleState state = state(locale);
+        if (state != null && !state.loaded) {
+            state.lock.lock();
+            try {
+                ensureLoaded(state);
+            } finally {
+                state.lock.unlock();
+            }
+        }
+        return state;
+    }
+    
+    private void ensureLoaded(LocaleState state) {
+        if (!state.loaded) {
+            load(state, state.entries);
+        }
+    }
+    
+    /**
+     * Loads the locale into {@code target} and then makes it the state's store, so readers
+     * keep using the previous store until the load is complete.
+     */
+    private void load(LocaleState state, LocaleStore target) {
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        transaction.setReadOnly(true);
+        long sequence = transaction.execute(status -> {
+            long loadedAt = changeRepository.findMaxSequence();
+            try (Stream<TranslationEntry> entries = translationRepository.streamEntriesByLocale(state.locale)) {
+                entries.forEach(entry -> target.put(entry.getKey(), entry.getContent()));
+            }
+            return loadedAt;
+        });
+        state.entries = target;
+        state.loadedAt(sequence);
+    }
+    
+    private void reconcile(LocaleState state) {
+        state.lock.lock();
+        try {
+            if (!(state.entries instanceof MappedLocaleStore) || states.get(state.locale) != state) {
+                return;
+            }
+            TranslationDelta delta = changeLogService.getDelta(state.locale, state.changeSequence);
+            if (delta.isReset()) {
+                load(state, newStore());
+            } else {
+                delta.getUpserts().forEach(state.entries::put);
+                delta.getDeletes().forEach(state.entries::remove);
+                LocaleStore entries = newStore();
+                state.entries.forEach(entries::put);
+                state.entries = entries;
+                state.loadedAt(Math.max(state.changeSequence, delta.getVersion()));
+            }
+            state.snapshot = null;
+        } finally {
+            state.lock.unlock();
+        }
+    }
+    
+    private Path snapshotFile() {
+        return snapshotFilePath == null || snapshotFilePath.isBlank() ? null : Path.of(snapshotFilePath);
+    }
+    
+    private byte[] serialize(LocaleStore entries) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (JsonGenerator generator = objectMapper.createGenerator(out)) {
+            generator.writeStartObject();
+            entries.forEach((key, content) -> {
+                try {
+                    generator.writeStringField(key, content);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+            generator.writeEndObject();
+        } catch (IOException | UncheckedIOException e) {
+            throw new IllegalStateException("Failed to serialize locale export", e);
+        }
+        return out.toByteArray();
+    }
+    
+    // A ReentrantLock rather than a monitor, so virtual threads waiting on a load do not pin their carrier.
+    private static final class LocaleState {
+        private final ReentrantLock lock = new ReentrantLock();
+        private final String locale;
+        private volatile LocaleStore entries;
+        private volatile boolean loaded;
+        private long changeSequence;
+        private volatile LocaleSnapshot snapshot;
+        // The entries reflect every change up to loadedSequence; later ones are tracked per key.
+        private long loadedSequence;
+        private final Map<String, Long> keySequences = new HashMap<>();
+        // changeSequence when the current out-of-order window started.
+        private long windowSequence;
+        private long windowStartedAt;
+        
+        private LocaleState(String locale, LocaleStore entries) {
+            this.locale = locale;
+            this.entries = entries;
+        }
+        
+        private void loadedAt(long sequence) {
+            changeSequence = sequence;
+            loadedSequence = sequence;
+            keySequences.clear();
+            windowSequence = sequence;
+            windowStartedAt = System.currentTimeMillis();
+            loaded = true;
+        }
+        
+        /**
+         * Once a window has passed, every change up to the sequence seen when it started
+         * committed at least that long ago, so it becomes the new baseline and the per-key
+         * sequences at or below it are dropped.
+         */
+        private void compact(long now, long windowMs) {
+            if (now - windowStartedAt < windowMs) {
+                return;
+            }
+            if (windowSequence > loadedSequence) {
+                loadedSequence = windowSequence;
+                keySequences.values().removeIf(applied -> applied <= windowSequence);
+            }
+            windowSequence = changeSequence;
+            windowStartedAt = now;
+        }
+        
+        /**
+         * Whether a change to {@code key} at {@code sequence} is newer than what the entries
+         * hold, recording it if so. Changes without a sequence are always applied.
+         */
+        private boolean isNewer(String key, long sequence) {
+            if (sequence <= 0) {
+                return true;
+            }
+            if (sequence <= loadedSequence) {
+                return false;
+            }
+            Long applied = keySequences.get(key);
+            if (applied != null && applied >= sequence) {
+                return false;
+            }
+            keySequences.put(key, sequence);
+            return true;
+        }
+    }
+}
@@ -0,0 +1,291 @@
+package com.translation.service;
+
+import com.translation.dto.LocaleStatistics;
+import com.translation.dto.TranslationRow;
+import com.translation.entity.LocaleStats;
+import com.translation.entity.LocaleTagStats;
+import com.translation.entity.Tag;
+import com.translation.entity.Translation;
+import com.translation.repository.LocaleStatsRepository;
+import com.translation.repository.LocaleTagStatsRepository;
+import com.translation.repository.TranslationRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.Session;
+import org.hibernate.dialect.MySQLDialect;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.nio.charset.StandardCharsets;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Savepoint;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Stream;
+
+/**
+ * Maintains {@code locale_stats} and {@code locale_tag_stats}: per locale the number of keys,
+ * the UTF-8 size of their contents, the time of the last write and how many translations
+ * carry each tag. Writers collect the translations they change in a {@link Changes} and
+ * apply it in their own transaction as increments, so the aggregates commit or roll back
+ * with the writes and the locale list and dashboards never aggregate the translations table.
+ */
+@Service
+@Transactional
+public class LocaleStatsService {
+    
+    private static final Logger log = LoggerFactory.getLogger(LocaleStatsService.class);
+    private static final int SEED_ATTEMPTS = 2;
+    
+    @Autowired
+    private LocaleStatsRepository localeStatsRepository;
+    @Autowired
+    private LocaleTagStatsRepository localeTagStatsRepository;
+    @Autowired
+    private TranslationRepository translationRepository;
+    
+    @PersistenceContext
+    private EntityManager entityManager;
+    
+    private final Set<String> knownLocales = ConcurrentHashMap.newKeySet();
+    private final Set<LocaleTagStats.Key> knownTags = ConcurrentHashMap.newKeySet();
+    private String seedLocaleSql;
+    private String seedTagSql;
+    
+    @PostConstruct
+    void chooseSeedStatements() {
+        boolean mysql = entityManager.getEntityManagerFactory().unwrap(SessionFactoryImplementor.class)
+            .getJdbcServices().getDialect() instanceof MySQLDialect;
+        if (mysql) {
+            seedLocaleSql = "INSERT INTO locale_stats (locale, key_count, content_bytes) VALUES (?, 0, 0) "
+                + "ON DUPLICATE KEY UPDATE locale = locale";
+            seedTagSql = "INSERT INTO locale_tag_stats (locale, tag_name, translation_count) VALUES (?, ?, 0) "
+                + "ON DUPLICATE KEY UPDATE locale = locale";
+        } else {
+            seedLocaleSql = "MERGE INTO locale_stats s USING (VALUES (?)) v(locale) ON s.locale = v.locale "
+                + "WHEN NOT MATCHED THEN INSERT (locale, key_count, content_bytes) VALUES (v.locale, 0, 0)";
+            seedTagSql = "MERGE INTO locale_tag_stats s USING (VALUES (?, ?)) v(locale, tag_name) "
+                + "ON s.locale = v.locale AND s.tag_name = v.tag_name "
+                + "WHEN NOT MATCHED THEN INSERT (locale, tag_name, translation_count) VALUES (v.locale, v.tag_name, 0)";
+        }
+    }
+    
+    /**
+     * Adds the collected changes to the caller's transaction. They are written just before it
+     * commits, so the statistics rows, which every writer of the locale updates, stay locked
+     * only for the commit itself.
+     */
+    public void apply(Changes changes) {
+        PendingStats pending = (PendingStats) TransactionSynchronizationManager.getResource(this);
+        if (pending == null) {
+            pending = new PendingStats();
+            TransactionSynchronizationManager.bindResource(this, pending);
+            TransactionSynchronizationManager.registerSynchronization(pending);
+        }
+        pending.changes.merge(changes);
+    }
+    
+    @Transactional(readOnly = true)
+    public List<LocaleStatistics> getStatistics() {
+        Map<String, Map<String, Long>> tagsByLocale = new HashMap<>();
+        for (LocaleTagStats stats : localeTagStatsRepository.findActive()) {
+            tagsByLocale.computeIfAbsent(stats.getLocale(), locale -> new LinkedHashMap<>())
+                .put(stats.getTag(), stats.getTranslationCount());
+        }
+        List<LocaleStatistics> result = new ArrayList<>();
+        for (LocaleStats stats : localeStatsRepository.findActive()) {
+            result.add(new LocaleStatistics(stats.getLocale(), stats.getKeyCount(), stats.getContentBytes(),
+                stats.getLastUpdated(), tagsByLocale.getOrDefault(stats.getLocale(), new LinkedHashMap<>())));
+        }
+        return result;
+    }
+    
+    @Transactional(readOnly = true)
+    public List<String> getActiveLocales() {
+        return localeStatsRepository.findActiveLocales();
+    }
+    
+    /** Backfills the aggregates once for databases that predate them. */
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        try {
+            if (localeStatsRepository.count() == 0 && translationRepository.count() > 0) {
+                rebuild();
+            }
+        } catch (RuntimeException e) {
+            log.error("Locale statistics backfill failed", e);
+        }
+    }
+    
+    /** Recomputes every aggregate from the translations table. */
+    public void rebuild() {
+        long start = System.currentTimeMillis();
+        localeTagStatsRepository.deleteAllInBatch();
+        localeStatsRepository.deleteAllInBatch();
+        knownLocales.clear();
+        knownTags.clear();
+        
+        Map<String, LocaleStats> stats = new TreeMap<>();
+        try (Stream<TranslationRow> rows = translationRepository.streamAllRows()) {
+            rows.forEach(row -> {
+                LocaleStats locale = stats.computeIfAbsent(row.getLocale(), name -> new LocaleStats(name, 0, 0, null));
+                locale.setKeyCount(locale.getKeyCount() + 1);
+                locale.setContentBytes(locale.getContentBytes() + contentBytes(row.getContent()));
+                if (locale.getLastUpdated() == null || row.getUpdatedAt().isAfter(locale.getLastUpdated())) {
+                    locale.setLastUpdated(row.getUpdatedAt());
+                }
+            });
+        }
+        stats.values().forEach(entityManager::persist);
+        for (Object[] row : translationRepository.countTagsByLocale()) {
+            entityManager.persist(new LocaleTagStats((String) row[0], (String) row[1], (Long) row[2]));
+        }
+        entityManager.flush();
+        log.info("Locale statistics rebuilt for {} locales in {} ms", stats.size(), System.currentTimeMillis() - start);
+    }
+    
+    /**
+     * Creates a zero row unless one exists, on the caller's connection so that seeding never
+     * needs a second one. The statement runs under a savepoint: a MERGE that races another
+     * writer's insert of the same row fails alone and is repeated, now matching that row.
+     */
+    private void seed(String sql, Object... key) {
+        entityManager.unwrap(Session.class).doWork(connection -> {
+            try (PreparedStatement statement = connection.prepareStatement(sql)) {
+                for (int i = 0; i < key.length; i++) {
+                    statement.setObject(i + 1, key[i]);
+                }
+                for (int attempt = 1; ; attempt++) {
+                    Savepoint savepoint = connection.setSavepoint();
+                    try {
+                        statement.executeUpdate();
+                        connection.releaseSavepoint(savepoint);
+                        return;
+                    } catch (SQLException e) {
+                        connection.rollback(savepoint);
+                        if (attempt == SEED_ATTEMPTS || e.getSQLState() == null || !e.getSQLState().startsWith("23")) {
+                            throw e;
+                        }
+                        log.debug("Statistics row {} was created concurrently", Arrays.toString(key));
+                    }
+                }
+            }
+        });
+    }
+    
+    /**
+     * Writes the changes of one transaction. Rows are updated in locale and tag order so that
+     * concurrent writers lock them in the same order. Rows this transaction seeds are only
+     * treated as known once it has committed, since until then no other writer can see them
+     * and a rollback removes them again.
+     */
+    private final class PendingStats implements TransactionSynchronization {
+        private final Changes changes = new Changes();
+        private final List<String> seededLocales = new ArrayList<>();
+        private final List<LocaleTagStats.Key> seededTags = new ArrayList<>();
+        
+        @Override
+        public int getOrder() {
+            // Just ahead of the change log, which locks the cluster-wide sequence row last.
+            return Ordered.LOWEST_PRECEDENCE - 1;
+        }
+        
+        @Override
+        public void beforeCommit(boolean readOnly) {
+            LocalDateTime now = LocalDateTime.now();
+            changes.locales.forEach((locale, delta) -> {
+                if (!knownLocales.contains(locale)) {
+                    seed(seedLocaleSql, locale);
+                    seededLocales.add(locale);
+                }
+                if (localeStatsRepository.applyDelta(locale, delta[0], delta[1], now) == 0) {
+                    knownLocales.remove(locale);
+                    throw new IllegalStateException("Statistics row for locale " + locale + " is missing");
+                }
+            });
+            changes.tags.forEach((locale, counts) -> counts.forEach((tag, delta) -> {
+                if (delta == 0) {
+                    return;
+                }
+                LocaleTagStats.Key key = new LocaleTagStats.Key(locale, tag);
+                if (!knownTags.contains(key)) {
+                    seed(seedTagSql, locale, tag);
+                    seededTags.add(key);
+                }
+                if (localeTagStatsRepository.applyDelta(locale, tag, delta) == 0) {
+                    knownTags.remove(key);
+                    throw new IllegalStateException("Statistics row for tag " + tag + " in locale " + locale + " is missing");
+                }
+            }));
+        }
+        
+        @Override
+        public void afterCommit() {
+            knownLocales.addAll(seededLocales);
+            knownTags.addAll(seededTags);
+        }
+        
+        @Override
+        public void afterCompletion(int status) {
+            TransactionSynchronizationManager.unbindResourceIfPossible(LocaleStatsService.this);
+        }
+    }
+    
+    static long contentBytes(String content) {
+        return content != null ? content.getBytes(StandardCharsets.UTF_8).length : 0;
+    }
+    
+    /**
+     * Differences to the aggregates collected by a writer: {@link #remove} a translation
+     * before changing or deleting it, and {@link #add} it once it has its new state.
+     */
+    public static final class Changes {
+        private final SortedMap<String, long[]> locales = new TreeMap<>();
+        private final SortedMap<String, SortedMap<String, Long>> tags = new TreeMap<>();
+        
+        public Changes add(Translation translation) {
+            return record(translation, 1);
+        }
+        
+        public Changes remove(Translation translation) {
+            return record(translation, -1);
+        }
+        
+        public boolean isEmpty() {
+            return locales.isEmpty();
+        }
+        
+        private void merge(Changes other) {
+            other.locales.forEach((locale, delta) -> {
+                long[] total = locales.computeIfAbsent(locale, name -> new long[2]);
+                total[0] += delta[0];
+                total[1] += delta[1];
+            });
+            other.tags.forEach((locale, counts) -> counts.forEach((tag, delta) ->
+                tags.computeIfAbsent(locale, name -> new TreeMap<>()).merge(tag, delta, Long::sum)));
+        }
+        
+        private Changes record(Translation translation, int sign) {
+            String locale = translation.getLocale();
+            long[] delta = locales.computeIfAbsent(locale, name -> new long[2]);
+            delta[0] += sign;
+            delta[1] += sign * contentBytes(translation.getContent());
+            for (Tag tag : translation.getTags()) {
+                tags.computeIfAbsent(locale, name -> new TreeMap<>()).merge(tag.getName(), (long) sign, Long::sum);
+            }
+            return this;
+        }
+    }
+}
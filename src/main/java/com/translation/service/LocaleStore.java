@@ -0,0 +1,63 @@
+package com.translation.service;
+
+import java.util.Comparator;
+import java.util.Map;
+import java.util.SortedMap;
+import java.util.function.BiConsumer;
+
+/**
+ * Key/content pairs of one locale as held by {@link LocaleSnapshotService}. Reads may run
+ * concurrently with writes; writes are serialized by the caller.
+ */
+interface LocaleStore {
+    
+    /**
+     * Key order shared by all stores and the snapshot file: code point order, which is
+     * also the unsigned byte order of the UTF-8 encoding.
+     */
+    Comparator<String> KEY_ORDER = (a, b) -> {
+        int length = Math.min(a.length(), b.length());
+        for (int i = 0; i < length; i++) {
+            char x = a.charAt(i);
+            char y = b.charAt(i);
+            if (x != y) {
+                // surrogates encode code points above U+FFFF and sort after every other char
+                if (Character.isSurrogate(x) != Character.isSurrogate(y)) {
+                    return Character.isSurrogate(x) ? 1 : -1;
+                }
+                return x - y;
+            }
+        }
+        return a.length() - b.length();
+    };
+    
+    /**
+     * Upper bound, in {@link #KEY_ORDER}, of the keys starting with {@code prefix}.
+     */
+    static String rangeEnd(String prefix) {
+        return prefix + "\uDBFF\uDFFF";
+    }
+    
+    String get(String key);
+    
+    void put(String key, String content);
+    
+    void remove(String key);
+    
+    int size();
+    
+    /**
+     * Visits all entries in key order.
+     */
+    void forEach(BiConsumer<String, String> action);
+    
+    /**
+     * Returns the entries whose key starts with {@code prefix}, in key order.
+     */
+    SortedMap<String, String> range(String prefix);
+    
+    /**
+     * Returns a read-only map view of the store.
+     */
+    Map<String, String> asMap();
+}
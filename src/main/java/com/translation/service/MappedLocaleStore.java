@@ -0,0 +1,235 @@
+package com.translation.service;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.function.BiConsumer;
+
+/**
+ * {@link LocaleStore} over one locale section of a mapped {@link LocaleSnapshotFile}. The
+ * mapped entries are sorted and found by binary search; they are never modified, so writes
+ * go to an on-heap overlay of changed keys and a set of removed ones.
+ */
+final class MappedLocaleStore implements LocaleStore {
+    
+    private final ByteBuffer data;
+    private final ByteBuffer index;
+    private final int count;
+    private final ConcurrentSkipListMap<String, String> overlay = new ConcurrentSkipListMap<>(KEY_ORDER);
+    private final Set<String> removed = ConcurrentHashMap.newKeySet();
+    private volatile int size;
+    
+    MappedLocaleStore(ByteBuffer data, ByteBuffer index, int count) {
+        this.data = data;
+        this.index = index;
+        this.count = count;
+        this.size = count;
+    }
+    
+    @Override
+    public String get(String key) {
+        String content = overlay.get(key);
+        if (content != null || removed.contains(key)) {
+            return content;
+        }
+        int position = find(key.getBytes(StandardCharsets.UTF_8));
+        return position < 0 ? null : contentAt(position);
+    }
+    
+    @Override
+    public void put(String key, String content) {
+        boolean present = get(key) != null;
+        overlay.put(key, content);
+        removed.remove(key);
+        if (!present) {
+            size++;
+        }
+    }
+    
+    @Override
+    public void remove(String key) {
+        if (get(key) == null) {
+            return;
+        }
+        if (find(key.getBytes(StandardCharsets.UTF_8)) >= 0) {
+            removed.add(key);
+        }
+        overlay.remove(key);
+        size--;
+    }
+    
+    @Override
+    public int size() {
+        return size;
+    }
+    
+    @Override
+    public void forEach(BiConsumer<String, String> action) {
+        Iterator<Map.Entry<String, String>> entries = new MergingIterator();
+        while (entries.hasNext()) {
+            Map.Entry<String, String> entry = entries.next();
+            action.accept(entry.getKey(), entry.getValue());
+        }
+    }
+    
+    @Override
+    public SortedMap<String, String> range(String prefix) {
+        byte[] prefixBytes = prefix.getBytes(StandardCharsets.UTF_8);
+        SortedMap<String, String> result = new TreeMap<>(KEY_ORDER);
+        for (int i = lowerBound(prefixBytes); i < count && startsWith(offset(i), prefixBytes); i++) {
+            String key = keyAt(i);
+            if (!removed.contains(key)) {
+                result.put(key, contentAt(i));
+            }
+        }
+        result.putAll(overlay.subMap(prefix, LocaleStore.rangeEnd(prefix)));
+        return result;
+    }
+    
+    @Override
+    public Map<String, String> asMap() {
+        return new AbstractMap<>() {
+            @Override
+            public String get(Object key) {
+                return key instanceof String string ? MappedLocaleStore.this.get(string) : null;
+            }
+            
+            @Override
+            public boolean containsKey(Object key) {
+                return get(key) != null;
+            }
+            
+            @Override
+            public int size() {
+                return size;
+            }
+            
+            @Override
+            public Set<Entry<String, String>> entrySet() {
+                return new AbstractSet<>() {
+                    @Override
+                    public Iterator<Entry<String, String>> iterator() {
+                        return new MergingIterator();
+                    }
+                    
+                    @Override
+                    public int size() {
+                        return size;
+                    }
+                };
+            }
+        };
+    }
+    
+    private int offset(int position) {
+        return index.getInt(position * 4);
+    }
+    
+    private String keyAt(int position) {
+        return decode(offset(position));
+    }
+    
+    private String contentAt(int position) {
+        int offset = offset(position);
+        return decode(offset + 4 + data.getInt(offset));
+    }
+    
+    private String decode(int offset) {
+        byte[] bytes = new byte[data.getInt(offset)];
+        data.get(offset + 4, bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+    
+    private int find(byte[] key) {
+        int position = lowerBound(key);
+        return position < count && compare(offset(position), key) == 0 ? position : -1;
+    }
+    
+    /** Position of the first mapped entry whose key is not less than {@code key}. */
+    private int lowerBound(byte[] key) {
+        int low = 0;
+        int high = count;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (compare(offset(middle), key) < 0) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+    
+    private int compare(int offset, byte[] key) {
+        int length = data.getInt(offset);
+        for (int i = 0, n = Math.min(length, key.length); i < n; i++) {
+            int c = Byte.compareUnsigned(data.get(offset + 4 + i), key[i]);
+            if (c != 0) {
+                return c;
+            }
+        }
+        return Integer.compare(length, key.length);
+    }
+    
+    private boolean startsWith(int offset, byte[] prefix) {
+        if (data.getInt(offset) < prefix.length) {
+            return false;
+        }
+        for (int i = 0; i < prefix.length; i++) {
+            if (data.get(offset + 4 + i) != prefix[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+    
+    /**
+     * Merges the mapped entries with the overlay in key order. Weakly consistent, like the
+     * iterators of the concurrent collections.
+     */
+    private final class MergingIterator implements Iterator<Map.Entry<String, String>> {
+        private final Iterator<Map.Entry<String, String>> changes = overlay.entrySet().iterator();
+        private Map.Entry<String, String> change = changes.hasNext() ? changes.next() : null;
+        private int position;
+        private String mappedKey;
+        private Map.Entry<String, String> next;
+        
+        @Override
+        public boolean hasNext() {
+            while (next == null) {
+                if (mappedKey == null && position < count) {
+                    mappedKey = keyAt(position);
+                }
+                if (change != null && (mappedKey == null || KEY_ORDER.compare(change.getKey(), mappedKey) <= 0)) {
+                    if (change.getKey().equals(mappedKey)) {
+                        position++;
+                        mappedKey = null;
+                    }
+                    next = change;
+                    change = changes.hasNext() ? changes.next() : null;
+                } else if (mappedKey != null) {
+                    if (!removed.contains(mappedKey)) {
+                        next = Map.entry(mappedKey, contentAt(position));
+                    }
+                    position++;
+                    mappedKey = null;
+                } else {
+                    return false;
+                }
+            }
+            return true;
+        }
+        
+        @Override
+        public Map.Entry<String, String> next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            Map.Entry<String, String> entry = next;
+            next = null;
+            return entry;
+        }
+    }
+}
@@ -0,0 +1,531 @@
+package com.translation.service;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.BiConsumer;
+
+/**
+ * {@link LocaleStore} that keeps keys and contents outside the Java heap. Every string is
+ * stored once as length-prefixed UTF-8 in a direct byte arena, and an open-addressing table
+ * of int offsets indexes the keys. Lookups compare the query against the arena bytes in
+ * place, so a hit allocates nothing but the returned content.
+ *
+ * <p>Replaced and removed strings stay in the arena as garbage until it makes up half of
+ * the arena, at which point the live entries are copied into a new one.
+ *
+ * <p>Ordered reads use an int array of slots in key order. Removed keys are cut out of it
+ * right away; added ones are collected, sorted among themselves and merged in on the next
+ * ordered read, so a write costs no full re-sort.
+ */
+final class OffHeapLocaleStore implements LocaleStore {
+    
+    private static final int FREE = 0;
+    private static final int REMOVED = -1;
+    private static final int MIN_CAPACITY = 16;
+    private static final int MIN_ARENA_BYTES = 4096;
+    private static final int MAX_ARENA_BYTES = Integer.MAX_VALUE - 8;
+    private static final int COMPACT_MIN_GARBAGE = 1 << 20;
+    private static final int ITERATOR_BATCH = 1024;
+    
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    
+    private ByteBuffer arena = ByteBuffer.allocateDirect(MIN_ARENA_BYTES);
+    private int arenaUsed;
+    private int garbage;
+    
+    // Slot i holds the key's String hash, the key offset + 1 (or FREE / REMOVED) and the content offset.
+    private int[] hashes = new int[MIN_CAPACITY];
+    private int[] keys = new int[MIN_CAPACITY];
+    private int[] values = new int[MIN_CAPACITY];
+    private int size;
+    private int occupied;
+    
+    // The first sortedCount slots of sorted are in key order; slots of keys added since wait in added.
+    private int[] sorted = new int[MIN_CAPACITY];
+    private int sortedCount;
+    private int[] added = new int[MIN_CAPACITY];
+    private volatile int addedCount;
+    // Readers merge added slots under the read lock, one at a time.
+    private final ReentrantLock orderLock = new ReentrantLock();
+    
+    @Override
+    public String get(String key) {
+        lock.readLock().lock();
+        try {
+            int slot = find(key);
+            return slot < 0 ? null : decode(values[slot]);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+    
+    @Override
+    public void put(String key, String content) {
+        lock.writeLock().lock();
+        try {
+            int slot = find(key);
+            byte[] contentBytes = content.getBytes(StandardCharsets.UTF_8);
+            if (slot >= 0) {
+                garbage += entryLength(values[slot]);
+                values[slot] = append(contentBytes);
+            } else {
+                if ((occupied + 1) * 2 > keys.length) {
+                    rehash();
+                }
+                int keyOffset = append(key.getBytes(StandardCharsets.UTF_8));
+                int contentOffset = append(contentBytes);
+                int inserted = insert(key.hashCode(), keyOffset, contentOffset);
+                if (addedCount == added.length) {
+                    added = Arrays.copyOf(added, addedCount * 2);
+                }
+                added[addedCount++] = inserted;
+                size++;
+            }
+            compactIfWasteful();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+    
+    @Override
+    public void remove(String key) {
+        lock.writeLock().lock();
+        try {
+            int slot = find(key);
+            if (slot < 0) {
+                return;
+            }
+            garbage += entryLength(keys[slot] - 1) + entryLength(values[slot]);
+            unorder(slot);
+            keys[slot] = REMOVED;
+            size--;
+            compactIfWasteful();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+    
+    @Override
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return size;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+    
+    @Override
+    public void forEach(BiConsumer<String, String> action) {
+        lock.readLock().lock();
+        try {
+            int[] order = sortedSlots();
+            for (int i = 0; i < sortedCount; i++) {
+                action.accept(decode(keys[order[i]] - 1), decode(values[order[i]]));
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+    
+    @Override
+    public SortedMap<String, String> range(String prefix) {
+        byte[] prefixBytes = prefix.getBytes(StandardCharsets.UTF_8);
+        SortedMap<String, String> result = new TreeMap<>(KEY_ORDER);
+        lock.readLock().lock();
+        try {
+            int[] order = sortedSlots();
+            for (int i = lowerBound(order, prefixBytes); i < sortedCount; i++) {
+                int keyOffset = keys[order[i]] - 1;
+                if (!startsWith(keyOffset, prefixBytes)) {
+                    break;
+                }
+                result.put(decode(keyOffset), decode(values[order[i]]));
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        return result;
+    }
+    
+    @Override
+    public Map<String, String> asMap() {
+        return new AbstractMap<>() {
+            @Override
+            public String get(Object key) {
+                return key instanceof String string ? OffHeapLocaleStore.this.get(string) : null;
+            }
+            
+            @Override
+            public boolean containsKey(Object key) {
+                return get(key) != null;
+            }
+            
+            @Override
+            public int size() {
+                return OffHeapLocaleStore.this.size();
+            }
+            
+            @Override
+            public Set<Entry<String, String>> entrySet() {
+                return new AbstractSet<>() {
+                    @Override
+                    public Iterator<Entry<String, String>> iterator() {
+                        return new BatchIterator();
+                    }
+                    
+                    @Override
+                    public int size() {
+                        return OffHeapLocaleStore.this.size();
+                    }
+                };
+            }
+        };
+    }
+    
+    private int find(String key) {
+        int hash = key.hashCode();
+        int mask = keys.length - 1;
+        for (int i = spread(hash) & mask; ; i = (i + 1) & mask) {
+            int keyOffset = keys[i];
+            if (keyOffset == FREE) {
+                return -1;
+            }
+            if (keyOffset != REMOVED && hashes[i] == hash && matches(keyOffset - 1, key)) {
+                return i;
+            }
+        }
+    }
+    
+    private int insert(int hash, int keyOffset, int contentOffset) {
+        int mask = keys.length - 1;
+        int i = spread(hash) & mask;
+        while (keys[i] != FREE && keys[i] != REMOVED) {
+            i = (i + 1) & mask;
+        }
+        if (keys[i] == FREE) {
+            occupied++;
+        }
+        hashes[i] = hash;
+        keys[i] = keyOffset + 1;
+        values[i] = contentOffset;
+        return i;
+    }
+    
+    private void rehash() {
+        int capacity = MIN_CAPACITY;
+        while (capacity < (size + 1) * 4) {
+            capacity <<= 1;
+        }
+        int[] oldHashes = hashes;
+        int[] oldKeys = keys;
+        int[] oldValues = values;
+        hashes = new int[capacity];
+        keys = new int[capacity];
+        values = new int[capacity];
+        occupied = 0;
+        // Rehashing moves slots but not keys, so both orders stay valid once their slots are moved too.
+        int[] moved = new int[oldKeys.length];
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldKeys[i] != FREE && oldKeys[i] != REMOVED) {
+                moved[i] = insert(oldHashes[i], oldKeys[i] - 1, oldValues[i]);
+            }
+        }
+        for (int i = 0; i < sortedCount; i++) {
+            sorted[i] = moved[sorted[i]];
+        }
+        for (int i = 0; i < addedCount; i++) {
+            added[i] = moved[added[i]];
+        }
+    }
+    
+    private void compactIfWasteful() {
+        if (garbage < COMPACT_MIN_GARBAGE || garbage * 2L < arenaUsed) {
+            return;
+        }
+        ByteBuffer compacted = ByteBuffer.allocateDirect(Math.max(MIN_ARENA_BYTES, arenaUsed - garbage));
+        int used = 0;
+        for (int i = 0; i < keys.length; i++) {
+            if (keys[i] != FREE && keys[i] != REMOVED) {
+                int keyLength = entryLength(keys[i] - 1);
+                compacted.put(used, arena, keys[i] - 1, keyLength);
+                keys[i] = used + 1;
+                used += keyLength;
+                int contentLength = entryLength(values[i]);
+                compacted.put(used, arena, values[i], contentLength);
+                values[i] = used;
+                used += contentLength;
+            }
+        }
+        arena = compacted;
+        arenaUsed = used;
+        garbage = 0;
+    }
+    
+    private int append(byte[] bytes) {
+        int needed = 4 + bytes.length;
+        if ((long) arenaUsed + needed > MAX_ARENA_BYTES) {
+            throw new IllegalStateException("Locale dictionary exceeds the 2 GB arena limit");
+        }
+        if (arenaUsed + needed > arena.capacity()) {
+            int capacity = (int) Math.min(MAX_ARENA_BYTES, Math.max(arena.capacity() * 2L, (long) arenaUsed + needed));
+            ByteBuffer grown = ByteBuffer.allocateDirect(capacity);
+            grown.put(0, arena, 0, arenaUsed);
+            arena = grown;
+        }
+        int offset = arenaUsed;
+        arena.putInt(offset, bytes.length);
+        arena.put(offset + 4, bytes);
+        arenaUsed += needed;
+        return offset;
+    }
+    
+    private int entryLength(int offset) {
+        return 4 + arena.getInt(offset);
+    }
+    
+    private String decode(int offset) {
+        byte[] bytes = new byte[arena.getInt(offset)];
+        arena.get(offset + 4, bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+    
+    /**
+     * Compares the UTF-8 string at {@code offset} with {@code text} without decoding it.
+     * Unpaired surrogates are treated as '?', as {@link String#getBytes} encodes them.
+     */
+    private boolean matches(int offset, String text) {
+        int position = offset + 4;
+        int end = position + arena.getInt(offset);
+        for (int i = 0; i < text.length(); i++) {
+            int codePoint = text.charAt(i);
+            if (Character.isHighSurrogate((char) codePoint) && i + 1 < text.length()
+                    && Character.isLowSurrogate(text.charAt(i + 1))) {
+                codePoint = Character.toCodePoint((char) codePoint, text.charAt(++i));
+            } else if (Character.isSurrogate((char) codePoint)) {
+                codePoint = '?';
+            }
+            if (codePoint < 0x80) {
+                if (position >= end || arena.get(position++) != (byte) codePoint) {
+                    return false;
+                }
+            } else {
+                int length = codePoint < 0x800 ? 2 : codePoint < 0x10000 ? 3 : 4;
+                if (position + length > end) {
+                    return false;
+                }
+                int lead = length == 2 ? 0xC0 : length == 3 ? 0xE0 : 0xF0;
+                if (arena.get(position++) != (byte) (lead | (codePoint >> (6 * (length - 1))))) {
+                    return false;
+                }
+                for (int shift = 6 * (length - 2); shift >= 0; shift -= 6) {
+                    if (arena.get(position++) != (byte) (0x80 | ((codePoint >> shift) & 0x3F))) {
+                        return false;
+                    }
+                }
+            }
+        }
+        return position == end;
+    }
+    
+    /** Live slots in key order; only the first {@code sortedCount} are valid. */
+    private int[] sortedSlots() {
+        if (addedCount > 0) {
+            orderLock.lock();
+            try {
+                if (addedCount > 0) {
+                    mergeAdded();
+                }
+            } finally {
+                orderLock.unlock();
+            }
+        }
+        return sorted;
+    }
+    
+    /**
+     * Sorts the added slots and merges them into the ordered ones from the back, in place.
+     * No reader is iterating the order meanwhile: keys are only added under the write lock,
+     * and every reader merges them before it iterates.
+     */
+    private void mergeAdded() {
+        int count = addedCount;
+        sortSlots(added, count);
+        int total = sortedCount + count;
+        if (total > sorted.length) {
+            sorted = Arrays.copyOf(sorted, Math.max(total, sorted.length + (sorted.length >> 1)));
+        }
+        int i = sortedCount - 1;
+        int j = count - 1;
+        for (int k = total - 1; j >= 0; k--) {
+            if (i >= 0 && compareKeys(keys[sorted[i]] - 1, keys[added[j]] - 1) > 0) {
+                sorted[k] = sorted[i--];
+            } else {
+                sorted[k] = added[j--];
+            }
+        }
+        sortedCount = total;
+        if (added.length > MIN_CAPACITY) {
+            added = new int[MIN_CAPACITY];
+        }
+        addedCount = 0;
+    }
+    
+    /** Takes a live slot out of the order, before its key is removed. */
+    private void unorder(int slot) {
+        for (int i = addedCount - 1; i >= 0; i--) {
+            if (added[i] == slot) {
+                added[i] = added[--addedCount];
+                return;
+            }
+        }
+        int keyOffset = keys[slot] - 1;
+        int low = 0;
+        int high = sortedCount;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (compareKeys(keys[sorted[middle]] - 1, keyOffset) < 0) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        System.arraycopy(sorted, low + 1, sorted, low, sortedCount - low - 1);
+        sortedCount--;
+    }
+    
+    /** Bottom-up merge sort of the first {@code count} slots by key. */
+    private void sortSlots(int[] slots, int count) {
+        int[] from = slots;
+        int[] to = new int[count];
+        for (int width = 1; width < count; width <<= 1) {
+            for (int low = 0; low < count; low += width << 1) {
+                int middle = Math.min(low + width, count);
+                int high = Math.min(low + (width << 1), count);
+                int i = low;
+                int j = middle;
+                for (int k = low; k < high; k++) {
+                    if (j >= high || (i < middle && compareKeys(keys[from[i]] - 1, keys[from[j]] - 1) <= 0)) {
+                        to[k] = from[i++];
+                    } else {
+                        to[k] = from[j++];
+                    }
+                }
+            }
+            int[] swap = from;
+            from = to;
+            to = swap;
+        }
+        if (from != slots) {
+            System.arraycopy(from, 0, slots, 0, count);
+        }
+    }
+    
+    private int compareKeys(int a, int b) {
+        int lengthA = arena.getInt(a);
+        int lengthB = arena.getInt(b);
+        for (int i = 0, n = Math.min(lengthA, lengthB); i < n; i++) {
+            int c = Byte.compareUnsigned(arena.get(a + 4 + i), arena.get(b + 4 + i));
+            if (c != 0) {
+                return c;
+            }
+        }
+        return Integer.compare(lengthA, lengthB);
+    }
+    
+    private int compareKey(int offset, byte[] other) {
+        int length = arena.getInt(offset);
+        for (int i = 0, n = Math.min(length, other.length); i < n; i++) {
+            int c = Byte.compareUnsigned(arena.get(offset + 4 + i), other[i]);
+            if (c != 0) {
+                return c;
+            }
+        }
+        return Integer.compare(length, other.length);
+    }
+    
+    private boolean startsWith(int offset, byte[] prefix) {
+        if (arena.getInt(offset) < prefix.length) {
+            return false;
+        }
+        for (int i = 0; i < prefix.length; i++) {
+            if (arena.get(offset + 4 + i) != prefix[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+    
+    /** Index of the first slot in {@code order} whose key is not less than {@code key}. */
+    private int lowerBound(int[] order, byte[] key) {
+        int low = 0;
+        int high = sortedCount;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (compareKey(keys[order[middle]] - 1, key) < 0) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+    
+    private static int spread(int hash) {
+        return hash ^ (hash >>> 16);
+    }
+    
+    /**
+     * Decodes entries a batch at a time under the read lock. Like the iterators of the
+     * concurrent collections it is weakly consistent: after a concurrent write it resumes
+     * after the last key it returned.
+     */
+    private final class BatchIterator implements Iterator<Map.Entry<String, String>> {
+        private final Deque<Map.Entry<String, String>> batch = new ArrayDeque<>();
+        private byte[] lastKey;
+        private boolean exhausted;
+        
+        @Override
+        public boolean hasNext() {
+            if (batch.isEmpty() && !exhausted) {
+                fill();
+            }
+            return !batch.isEmpty();
+        }
+        
+        @Override
+        public Map.Entry<String, String> next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            return batch.poll();
+        }
+        
+        private void fill() {
+            lock.readLock().lock();
+            try {
+                int[] order = sortedSlots();
+                int start = 0;
+                if (lastKey != null) {
+                    start = lowerBound(order, lastKey);
+                    if (start < sortedCount && compareKey(keys[order[start]] - 1, lastKey) == 0) {
+                        start++;
+                    }
+                }
+                int end = Math.min(sortedCount, start + ITERATOR_BATCH);
+                for (int i = start; i < end; i++) {
+                    batch.add(Map.entry(decode(keys[order[i]] - 1), decode(values[order[i]])));
+                }
+                exhausted = end == sortedCount;
+                if (end > start) {
+                    lastKey = batch.peekLast().getKey().getBytes(StandardCharsets.UTF_8);
+                }
+            } finally {
+                lock.readLock().unlock();
+            }
+        }
+    }
+}
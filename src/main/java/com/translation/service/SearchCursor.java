@@ -0,0 +1,46 @@
+package com.translation.service;
+
+import com.translation.entity.Translation;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import org.springframework.util.StringUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * Seek position for keyset pagination over {@code (updatedAt DESC, id DESC)}, exchanged
+ * with clients as an opaque URL-safe token.
+ */
+@Getter
+@RequiredArgsConstructor
+public class SearchCursor {
+    
+    private final LocalDateTime updatedAt;
+    private final Long id;
+    
+    public static SearchCursor after(Translation translation) {
+        return new SearchCursor(translation.getUpdatedAt(), translation.getId());
+    }
+    
+    public static SearchCursor decode(String token) {
+        if (!StringUtils.hasText(token)) {
+            return null;
+        }
+        try {
+            String value = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int separator = value.lastIndexOf('|');
+            return new SearchCursor(LocalDateTime.parse(value.substring(0, separator)),
+                Long.parseLong(value.substring(separator + 1)));
+        } catch (IllegalArgumentException | IndexOutOfBoundsException | DateTimeParseException e) {
+            throw new IllegalArgumentException("Invalid search cursor: " + token);
+        }
+    }
+    
+    public String encode() {
+        String value = updatedAt + "|" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(value.getBytes(StandardCharsets.UTF_8));
+    }
+}
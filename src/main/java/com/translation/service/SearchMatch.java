@@ -0,0 +1,19 @@
+package com.translation.service;
+
+public enum SearchMatch {
+    CONTAINS,
+    PREFIX;
+    
+    /** Case-insensitive, without lowercased copies of either string. */
+    public boolean matches(String text, String term) {
+        if (this == PREFIX) {
+            return text.regionMatches(true, 0, term, 0, term.length());
+        }
+        for (int i = 0; i + term.length() <= text.length(); i++) {
+            if (text.regionMatches(true, i, term, 0, term.length())) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,44 @@
+package com.translation.service;
+
+import com.translation.entity.Tag;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Tag name to id lookup. Tags are never renamed or deleted, so an entry stays valid once
+ * its tag is committed; names missing here are looked up in the database and added.
+ */
+@Component
+public class TagDictionary {
+    
+    private final Map<String, Long> ids = new ConcurrentHashMap<>();
+    
+    public Long idOf(String name) {
+        return ids.get(name);
+    }
+    
+    public int size() {
+        return ids.size();
+    }
+    
+    /** Adds the tags now, or after the current transaction commits if it created them. */
+    public void register(Collection<Tag> tags) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            List<Tag> pending = List.copyOf(tags);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    pending.forEach(tag -> ids.put(tag.getName(), tag.getId()));
+                }
+            });
+        } else {
+            tags.forEach(tag -> ids.put(tag.getName(), tag.getId()));
+        }
+    }
+}
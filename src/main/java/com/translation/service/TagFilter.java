@@ -0,0 +1,49 @@
+package com.translation.service;
+
+import lombok.Getter;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+/**
+ * Tag condition of a search: translations carrying at least one of {@code any} (when
+ * given), every tag in {@code all} and none of the tags in {@code none}.
+ */
+@Getter
+public final class TagFilter {
+    
+    private static final TagFilter NONE = new TagFilter(Set.of(), Set.of(), Set.of());
+    
+    private final Set<String> any;
+    private final Set<String> all;
+    private final Set<String> none;
+    
+    private TagFilter(Set<String> any, Set<String> all, Set<String> none) {
+        this.any = any;
+        this.all = all;
+        this.none = none;
+    }
+    
+    public static TagFilter of(Collection<String> any, Collection<String> all, Collection<String> none) {
+        return new TagFilter(copy(any), copy(all), copy(none));
+    }
+    
+    public static TagFilter any(Collection<String> tags) {
+        return tags == null || tags.isEmpty() ? NONE : of(tags, null, null);
+    }
+    
+    public boolean isEmpty() {
+        return any.isEmpty() && all.isEmpty() && none.isEmpty();
+    }
+    
+    /** True when only {@code any} is set, the case the tag join query answers directly. */
+    public boolean isAnyOnly() {
+        return !any.isEmpty() && all.isEmpty() && none.isEmpty();
+    }
+    
+    private static Set<String> copy(Collection<String> tags) {
+        return tags == null ? Set.of() : Collections.unmodifiableSet(new LinkedHashSet<>(tags));
+    }
+}
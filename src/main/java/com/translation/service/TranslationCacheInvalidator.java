@@ -0,0 +1,51 @@
+package com.translation.service;
+
+import com.translation.config.CacheConfig;
+import com.translation.event.TranslationChangedEvent;
+import com.translation.event.TranslationsReloadedEvent;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Evicts exactly the cache entries a committed write touches. Eviction runs after commit,
+ * and the cached methods load with {@code sync = true}, so a load that read the old row
+ * finishes before its entry is evicted and cannot be stored afterwards. The listeners are
+ * ordered after the replica health monitor's, so a reload after an eviction never goes to
+ * a replica that has not applied the write.
+ */
+@Component
+public class TranslationCacheInvalidator {
+    
+    @Autowired
+    private CacheManager cacheManager;
+    
+    @Order(0)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTranslationChanged(TranslationChangedEvent event) {
+        // Also on create: a lookup of the id before it existed may have cached a miss.
+        cache(CacheConfig.TRANSLATIONS).evict(event.getTranslationId());
+        boolean localeChanged = event.isRelocated() && !event.getLocale().equals(event.getPreviousLocale());
+        if (event.getType() != TranslationChangedEvent.Type.UPDATED || localeChanged) {
+            cache(CacheConfig.LOCALES).clear();
+        }
+    }
+    
+    @Order(0)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTranslationsReloaded(TranslationsReloadedEvent event) {
+        cache(CacheConfig.TRANSLATIONS).clear();
+        cache(CacheConfig.LOCALES).clear();
+    }
+    
+    private Cache cache(String name) {
+        Cache cache = cacheManager.getCache(name);
+        if (cache == null) {
+            throw new IllegalStateException("Cache is not configured: " + name);
+        }
+        return cache;
+    }
+}
@@ -0,0 +1,246 @@
+package com.translation.service;
+
+import com.translation.cluster.ClusterChange;
+import com.translation.cluster.ClusterNode;
+import com.translation.cluster.InvalidationTransport;
+import com.translation.dto.TranslationDelta;
+import com.translation.dto.TranslationEntry;
+import com.translation.entity.ChangeSequence;
+import com.translation.entity.Translation;
+import com.translation.entity.TranslationChange;
+import com.translation.event.TranslationChangedEvent;
+import com.translation.repository.ChangeSequenceRepository;
+import com.translation.repository.TranslationChangeRepository;
+import com.translation.repository.TranslationRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.*;
+
+/**
+ * Records every translation write in {@code translation_changes} and answers delta
+ * export requests from it. Changes are collected during the caller's transaction and
+ * written just before it commits, under the {@link ChangeSequence} row lock, so the log
+ * never disagrees with the translations table and ids increase in commit order. Their
+ * {@link TranslationChangedEvent}s are published at the same point, with the assigned ids
+ * as sequences. Changes older than {@code translation.delta.retention} are pruned; delta
+ * cursors from before the oldest remaining change get a reset.
+ */
+@Service
+@Transactional
+public class TranslationChangeLogService {
+    
+    private static final Logger log = LoggerFactory.getLogger(TranslationChangeLogService.class);
+    private static final int KEY_CHUNK_SIZE = 1000;
+    private static final int PRUNE_CHUNK_SIZE = 10_000;
+    
+    @Autowired
+    private TranslationChangeRepository changeRepository;
+    @Autowired
+    private ChangeSequenceRepository sequenceRepository;
+    @Autowired
+    private TranslationRepository translationRepository;
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+    @Autowired
+    private ClusterNode clusterNode;
+    @Autowired
+    private InvalidationTransport invalidationTransport;
+    
+    @PersistenceContext
+    private EntityManager entityManager;
+    
+    @Value("${translation.delta.max-changes:10000}")
+    private int maxChanges;
+    @Value("${translation.delta.retention:7d}")
+    private Duration retention;
+    
+    /** Creates the sequence row, continuing from the log, on a database that has none yet. */
+    @PostConstruct
+    public void initSequence() {
+        try {
+            new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+                if (!sequenceRepository.existsById(ChangeSequence.ID)) {
+                    sequenceRepository.saveAndFlush(new ChangeSequence(ChangeSequence.ID, changeRepository.findMaxSequence()));
+                }
+            });
+        } catch (DataIntegrityViolationException e) {
+            log.debug("Change sequence row was created by another node");
+        }
+    }
+    
+    /** Logs the upsert and publishes {@code event} with its sequence once the transaction commits. */
+    public void recordUpsert(Translation translation, TranslationChangedEvent event) {
+        record(TranslationChange.Type.UPSERT, translation.getId(), translation.getKey(), translation.getLocale(),
+            translation, event);
+    }
+    
+    public void recordDelete(Translation translation, TranslationChangedEvent event) {
+        record(TranslationChange.Type.DELETE, translation.getId(), translation.getKey(), translation.getLocale(),
+            translation, event);
+    }
+    
+    /** Logs a tombstone for a key that moved away; the move itself is published with the upsert. */
+    public void recordDelete(Long translationId, String key, String locale) {
+        record(TranslationChange.Type.DELETE, translationId, key, locale, null, null);
+    }
+    
+    public void recordReset() {
+        record(TranslationChange.Type.RESET, null, null, null, null, null);
+    }
+    
+    @Transactional(readOnly = true)
+    public long currentSequence() {
+        return changeRepository.findMaxSequence();
+    }
+    
+    @Transactional(readOnly = true)
+    public TranslationDelta getDelta(String locale, long since) {
+        long current = changeRepository.findMaxSequence();
+        TranslationDelta delta = new TranslationDelta(locale, since, current);
+        if (since > current || since < changeRepository.findMinSequence() - 1
+                || changeRepository.existsResetAfter(since)) {
+            delta.setReset(true);
+            return delta;
+        }
+        
+        List<TranslationChange> changes = changeRepository.findByLocaleBetween(
+            locale, since, current, PageRequest.of(0, maxChanges + 1));
+        if (changes.size() > maxChanges) {
+            delta.setReset(true);
+            return delta;
+        }
+        
+        Map<String, TranslationChange.Type> lastChangeByKey = new LinkedHashMap<>();
+        for (TranslationChange change : changes) {
+            lastChangeByKey.put(change.getKey(), change.getType());
+        }
+        
+        List<String> upsertedKeys = new ArrayList<>();
+        lastChangeByKey.forEach((key, type) -> {
+            if (type == TranslationChange.Type.UPSERT) {
+                upsertedKeys.add(key);
+            } else {
+                delta.getDeletes().add(key);
+            }
+        });
+        
+        for (int i = 0; i < upsertedKeys.size(); i += KEY_CHUNK_SIZE) {
+            List<String> chunk = upsertedKeys.subList(i, Math.min(i + KEY_CHUNK_SIZE, upsertedKeys.size()));
+            for (TranslationEntry entry : translationRepository.findEntriesByLocaleAndKeyIn(locale, chunk)) {
+                delta.getUpserts().put(entry.getKey(), entry.getContent());
+            }
+        }
+        for (String key : upsertedKeys) {
+            if (!delta.getUpserts().containsKey(key)) {
+                delta.getDeletes().add(key);
+            }
+        }
+        return delta;
+    }
+    
+    /**
+     * Deletes changes older than the retention, in chunks with a transaction each. The
+     * newest change is always kept so that the current sequence survives.
+     */
+    @Scheduled(initialDelayString = "${translation.delta.prune-interval-ms:3600000}",
+        fixedDelayString = "${translation.delta.prune-interval-ms:3600000}")
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void pruneChanges() {
+        Long expired = changeRepository.findLastSequenceBefore(LocalDateTime.now().minus(retention));
+        if (expired == null) {
+            return;
+        }
+        long upTo = Math.min(expired, changeRepository.findMaxSequence() - 1);
+        long from = changeRepository.findMinSequence() - 1;
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        int deleted = 0;
+        for (long after = from; after < upTo; after += PRUNE_CHUNK_SIZE) {
+            long chunkEnd = Math.min(after + PRUNE_CHUNK_SIZE, upTo);
+            long start = after;
+            deleted += transaction.execute(status -> changeRepository.deleteBetween(start, chunkEnd));
+        }
+        if (deleted > 0) {
+            log.info("Pruned {} changes up to sequence {}", deleted, upTo);
+        }
+    }
+    
+    private void record(TranslationChange.Type type, Long translationId, String key, String locale,
+                        Translation translation, TranslationChangedEvent event) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            new TransactionTemplate(transactionManager).executeWithoutResult(
+                status -> record(type, translationId, key, locale, translation, event));
+            return;
+        }
+        PendingChanges pending = (PendingChanges) TransactionSynchronizationManager.getResource(this);
+        if (pending == null) {
+            pending = new PendingChanges();
+            TransactionSynchronizationManager.bindResource(this, pending);
+            TransactionSynchronizationManager.registerSynchronization(pending);
+        }
+        TranslationChange change = new TranslationChange(type, translationId, key, locale);
+        change.setOrigin(clusterNode.getId());
+        pending.changes.add(change);
+        pending.translations.add(translation);
+        pending.events.add(event);
+    }
+    
+    /**
+     * The changes of one transaction. Before it commits they get consecutive ids from the
+     * sequence row, which stays locked until the commit, and are inserted in one batch.
+     */
+    private final class PendingChanges implements TransactionSynchronization {
+        private final List<TranslationChange> changes = new ArrayList<>();
+        private final List<Translation> translations = new ArrayList<>();
+        private final List<TranslationChangedEvent> events = new ArrayList<>();
+        
+        @Override
+        public void beforeCommit(boolean readOnly) {
+            // Everything else is written first, so the sequence row is locked as briefly as possible.
+            entityManager.flush();
+            if (sequenceRepository.allocate(changes.size()) != 1) {
+                throw new IllegalStateException("Change sequence row is missing");
+            }
+            long next = sequenceRepository.findLastSequence() - changes.size() + 1;
+            for (TranslationChange change : changes) {
+                change.setId(next++);
+                entityManager.persist(change);
+            }
+            entityManager.flush();
+            for (int i = 0; i < changes.size(); i++) {
+                TranslationChange change = changes.get(i);
+                invalidationTransport.publish(ClusterChange.from(change));
+                if (events.get(i) != null) {
+                    // After the flush, so updates carry the timestamp @PreUpdate wrote to the row.
+                    eventPublisher.publishEvent(events.get(i).committed(change.getId(),
+                        translations.get(i).getUpdatedAt()));
+                }
+            }
+        }
+        
+        @Override
+        public void afterCompletion(int status) {
+            TransactionSynchronizationManager.unbindResourceIfPossible(TranslationChangeLogService.this);
+        }
+    }
+}
@@ -0,0 +1,622 @@
+package com.translation.service;
+
+import com.translation.dto.TranslationRow;
+import com.translation.event.TranslationChangedEvent;
+import com.translation.event.TranslationsReloadedEvent;
+import com.translation.repository.TranslationChangeRepository;
+import com.translation.repository.TranslationRepository;
+import org.roaringbitmap.longlong.LongIterator;
+import org.roaringbitmap.longlong.Roaring64Bitmap;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * In-process trigram index over translation keys and contents. Substring and prefix
+ * terms of three or more characters are answered by intersecting compressed posting
+ * bitmaps and then verifying the candidates, so no {@code LIKE '%term%'} scan reaches the
+ * database. Tags and locales are indexed as one bitmap of translation ids each, so
+ * any/all/none tag filters are bitmap unions, intersections and differences rather than
+ * joins over {@code translation_tags}. Keys and contents are kept as loaded and compared
+ * case-insensitively, without lowercased copies.
+ * <p>
+ * The index holds every translation in memory and is off unless
+ * {@code translation.search-index.enabled} is set. It is built in the background at
+ * startup and after every bulk reload, and kept in sync from committed writes; until a
+ * build is ready, searches fall back to the database. Committed writes can be delivered out of order, so, as in
+ * {@link LocaleSnapshotService}, the index remembers the sequence it was built at and the
+ * last sequence applied per translation, and ignores older changes. Per-translation
+ * sequences are dropped once they are older than
+ * {@code translation.search-index.out-of-order-window-ms}.
+ */
+@Service
+public class TranslationSearchIndex {
+    
+    private static final Logger log = LoggerFactory.getLogger(TranslationSearchIndex.class);
+    private static final Comparator<Document> NEWEST_FIRST = Comparator
+        .comparing((Document document) -> document.updatedAt, Comparator.nullsLast(Comparator.reverseOrder()))
+        .thenComparing(document -> document.id, Comparator.reverseOrder());
+    
+    @Autowired
+    private TranslationRepository translationRepository;
+    @Autowired
+    private TranslationChangeRepository changeRepository;
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+    @Autowired
+    @Qualifier("searchIndexExecutor")
+    private ExecutorService searchIndexExecutor;
+    
+    @Value("${translation.search-index.enabled:false}")
+    private boolean enabled;
+    @Value("${translation.search-index.out-of-order-window-ms:60000}")
+    private long outOfOrderWindowMs;
+    
+    private final Object lock = new Object();
+    private volatile Index current;
+    private Index building;
+    private List<TranslationChangedEvent> pending;
+    private boolean rebuildAgain;
+    
+    public boolean isReady() {
+        return current != null;
+    }
+    
+    public int size() {
+        Index index = current;
+        return index != null ? index.documents.size() : 0;
+    }
+    
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        if (enabled) {
+            searchIndexExecutor.execute(this::rebuild);
+        }
+    }
+    
+    /** Rows were written behind the index: searches use the database until it has been rebuilt. */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTranslationsReloaded(TranslationsReloadedEvent event) {
+        if (!enabled) {
+            return;
+        }
+        synchronized (lock) {
+            current = null;
+            if (building != null) {
+                // The running build may have read the rows before the reload; it starts over.
+                rebuildAgain = true;
+                return;
+            }
+        }
+        searchIndexExecutor.execute(this::rebuild);
+    }
+    
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTranslationChanged(TranslationChangedEvent event) {
+        synchronized (lock) {
+            if (building != null) {
+                pending.add(event);
+            }
+            if (current != null) {
+                current.apply(event, outOfOrderWindowMs);
+            }
+        }
+    }
+    
+    /**
+     * Builds the index from the database and publishes it. A rebuild requested while one is
+     * running is not dropped: the running one starts over, so the index it publishes was
+     * read after the last request.
+     */
+    public void rebuild() {
+        Index index = new Index();
+        synchronized (lock) {
+            if (building != null) {
+                rebuildAgain = true;
+                return;
+            }
+            building = index;
+            pending = new ArrayList<>();
+        }
+        try {
+            while (index != null) {
+                index = build(index);
+            }
+        } finally {
+            if (index != null) {
+                synchronized (lock) {
+                    building = null;
+                    pending = null;
+                    rebuildAgain = false;
+                }
+            }
+        }
+    }
+    
+    /** Fills and publishes {@code index}, or returns the next one to build if another rebuild was requested meanwhile. */
+    private Index build(Index index) {
+        long start = System.currentTimeMillis();
+        boolean loaded = false;
+        try {
+            TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+            transaction.setReadOnly(true);
+            long sequence = transaction.execute(status -> {
+                long loadedAt = changeRepository.findMaxSequence();
+                try (Stream<TranslationRow> rows = translationRepository.streamAllRows()) {
+                    rows.forEach(row -> index.put(row.getId(), row.getKey(), row.getLocale(),
+                        row.getContent(), row.getUpdatedAt(), Set.of()));
+                }
+                try (Stream<Object[]> assignments = translationRepository.streamTagAssignments()) {
+                    assignments.forEach(assignment -> index.tag((Long) assignment[0], (String) assignment[1]));
+                }
+                return loadedAt;
+            });
+            index.loadedAt(sequence);
+            loaded = true;
+        } catch (RuntimeException e) {
+            log.error("Search index build failed, searches will use the database", e);
+        }
+        synchronized (lock) {
+            if (rebuildAgain) {
+                rebuildAgain = false;
+                building = new Index();
+                pending = new ArrayList<>();
+                return building;
+            }
+            if (loaded) {
+                // Changes the rows already reflect, or older than one applied since, are skipped.
+                pending.forEach(event -> index.apply(event, outOfOrderWindowMs));
+                current = index;
+            }
+            building = null;
+            pending = null;
+        }
+        if (loaded) {
+            log.info("Search index built with {} translations in {} ms",
+                index.documents.size(), System.currentTimeMillis() - start);
+        }
+        return null;
+    }
+    
+    /**
+     * Returns the ids of matching translations, newest first, for the requested page.
+     * Terms are matched case-insensitively; a null term matches everything. As with tag
+     * filters, only the documents on or before the page are kept while matches are scanned.
+     */
+    public Page<Long> search(String key, String content, String locale, SearchMatch match, Pageable pageable) {
+        Index index = ready();
+        int wanted = (int) Math.min(Integer.MAX_VALUE, pageable.getOffset() + pageable.getPageSize());
+        PriorityQueue<Document> newest = new PriorityQueue<>(NEWEST_FIRST.reversed());
+        long total = index.selectNewest(key, content, locale, match, null, wanted, newest);
+        List<Document> page = drain(newest);
+        
+        int from = (int) Math.min(pageable.getOffset(), page.size());
+        List<Long> ids = page.subList(from, page.size()).stream()
+            .map(document -> document.id)
+            .collect(Collectors.toList());
+        return new PageImpl<>(ids, pageable, total);
+    }
+    
+    /**
+     * Returns the ids of translations matching the tag filter, and the locale if given,
+     * newest first, for the requested page. Only the documents on or before the page are
+     * kept while the matches are scanned.
+     */
+    public Page<Long> searchByTags(TagFilter tags, String locale, Pageable pageable) {
+        Index index = ready();
+        int wanted = (int) Math.min(Integer.MAX_VALUE, pageable.getOffset() + pageable.getPageSize());
+        PriorityQueue<Document> newest = new PriorityQueue<>(NEWEST_FIRST.reversed());
+        long total = index.selectNewest(tags, locale, null, wanted, newest);
+        List<Document> page = drain(newest);
+        
+        int from = (int) Math.min(pageable.getOffset(), page.size());
+        List<Long> ids = page.subList(from, page.size()).stream()
+            .map(document -> document.id)
+            .collect(Collectors.toList());
+        return new PageImpl<>(ids, pageable, total);
+    }
+    
+    /** Keyset variant of {@link #search}: up to {@code limit} ids after the given position. */
+    public List<Long> searchAfter(String key, String content, String locale, SearchMatch match,
+                                  LocalDateTime updatedAt, Long id, int limit) {
+        Index index = ready();
+        Document cursor = id != null ? new Document(id, null, null, null, updatedAt, NO_TAGS) : null;
+        PriorityQueue<Document> newest = new PriorityQueue<>(NEWEST_FIRST.reversed());
+        index.selectNewest(key, content, locale, match, cursor, limit, newest);
+        return drain(newest).stream()
+            .map(document -> document.id)
+            .collect(Collectors.toList());
+    }
+    
+    /** Keyset variant of {@link #searchByTags}: up to {@code limit} ids after the given position. */
+    public List<Long> searchByTagsAfter(TagFilter tags, String locale, LocalDateTime updatedAt, Long id, int limit) {
+        Index index = ready();
+        Document cursor = id != null ? new Document(id, null, null, null, updatedAt, NO_TAGS) : null;
+        PriorityQueue<Document> newest = new PriorityQueue<>(NEWEST_FIRST.reversed());
+        index.selectNewest(tags, locale, cursor, limit, newest);
+        return drain(newest).stream()
+            .map(document -> document.id)
+            .collect(Collectors.toList());
+    }
+    
+    private Index ready() {
+        Index index = current;
+        if (index == null) {
+            throw new IllegalStateException("Search index is not ready");
+        }
+        return index;
+    }
+    
+    private static List<Document> drain(PriorityQueue<Document> newest) {
+        List<Document> documents = new ArrayList<>(newest);
+        documents.sort(NEWEST_FIRST);
+        return documents;
+    }
+    
+    /** The case-folded trigram at {@code offset}, equal for texts that {@link SearchMatch} treats as equal. */
+    static long trigram(String text, int offset) {
+        return ((long) fold(text.charAt(offset)) << 32) | ((long) fold(text.charAt(offset + 1)) << 16)
+            | fold(text.charAt(offset + 2));
+    }
+    
+    private static char fold(char c) {
+        return Character.toLowerCase(Character.toUpperCase(c));
+    }
+    
+    private static final String[] NO_TAGS = new String[0];
+    
+    private static final class Document {
+        private final Long id;
+        private final String key;
+        private final String locale;
+        private final String content;
+        private final LocalDateTime updatedAt;
+        private final String[] tags;
+        
+        private Document(Long id, String key, String locale, String content, LocalDateTime updatedAt,
+                         String[] tags) {
+            this.id = id;
+            this.key = key;
+            this.locale = locale;
+            this.content = content;
+            this.updatedAt = updatedAt;
+            this.tags = tags;
+        }
+        
+        private Document withTag(String tag) {
+            String[] extended = Arrays.copyOf(tags, tags.length + 1);
+            extended[tags.length] = tag;
+            return new Document(id, key, locale, content, updatedAt, extended);
+        }
+    }
+    
+    private static final class Index {
+        private final Map<Long, Document> documents = new ConcurrentHashMap<>();
+        // Bitmaps are not thread-safe: writers take the write lock, searches the read lock.
+        private final Map<Long, Roaring64Bitmap> keyPostings = new HashMap<>();
+        private final Map<Long, Roaring64Bitmap> contentPostings = new HashMap<>();
+        private final Map<String, Roaring64Bitmap> tagPostings = new HashMap<>();
+        private final Map<String, Roaring64Bitmap> localePostings = new HashMap<>();
+        private final Map<String, String> names = new HashMap<>();
+        private final Roaring64Bitmap all = new Roaring64Bitmap();
+        private final ReadWriteLock lock = new ReentrantReadWriteLock();
+        // Guarded by the service's lock. The documents reflect every change up to loadedSequence;
+        // later ones are tracked per translation id, deletes included.
+        private long loadedSequence;
+        private long appliedSequence;
+        private final Map<Long, Long> sequences = new HashMap<>();
+        // appliedSequence when the current out-of-order window started.
+        private long windowSequence;
+        private long windowStartedAt;
+        
+        private void loadedAt(long sequence) {
+            loadedSequence = sequence;
+            appliedSequence = sequence;
+            windowSequence = sequence;
+            windowStartedAt = System.currentTimeMillis();
+        }
+        
+        private void apply(TranslationChangedEvent event, long windowMs) {
+            if (!isNewer(event.getTranslationId(), event.getSequence())) {
+                return;
+            }
+            if (event.getType() == TranslationChangedEvent.Type.DELETED) {
+                remove(event.getTranslationId());
+            } else {
+                put(event.getTranslationId(), event.getKey(), event.getLocale(),
+                    event.getContent(), event.getUpdatedAt(), event.getTags());
+            }
+            compact(System.currentTimeMillis(), windowMs);
+        }
+        
+        /**
+         * Whether a change to translation {@code id} at {@code sequence} is newer than what
+         * the index holds, recording it if so. Changes without a sequence are always applied.
+         */
+        private boolean isNewer(Long id, long sequence) {
+            if (sequence <= 0) {
+                return true;
+            }
+            if (sequence <= loadedSequence) {
+                return false;
+            }
+            Long applied = sequences.get(id);
+            if (applied != null && applied >= sequence) {
+                return false;
+            }
+            sequences.put(id, sequence);
+            appliedSequence = Math.max(appliedSequence, sequence);
+            return true;
+        }
+        
+        /**
+         * Once a window has passed, every change up to the sequence seen when it started
+         * committed at least that long ago, so it becomes the new baseline and the
+         * per-translation sequences at or below it are dropped.
+         */
+        private void compact(long now, long windowMs) {
+            if (now - windowStartedAt < windowMs) {
+                return;
+            }
+            if (windowSequence > loadedSequence) {
+                loadedSequence = windowSequence;
+                sequences.values().removeIf(applied -> applied <= windowSequence);
+            }
+            windowSequence = appliedSequence;
+            windowStartedAt = now;
+        }
+        
+        private void put(Long id, String key, String locale, String content, LocalDateTime updatedAt,
+                         Set<String> tags) {
+            lock.writeLock().lock();
+            try {
+                remove(id);
+                String[] tagNames = tags.stream().map(tag -> canonical(tag, tagPostings)).toArray(String[]::new);
+                Document document = new Document(id, key, canonical(locale, localePostings), content, updatedAt,
+                    tagNames);
+                documents.put(id, document);
+                all.addLong(id);
+                localePostings.get(document.locale).addLong(id);
+                for (String tag : tagNames) {
+                    tagPostings.get(tag).addLong(id);
+                }
+                post(keyPostings, key, id);
+                post(contentPostings, content, id);
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+        
+        private void tag(Long id, String tag) {
+            lock.writeLock().lock();
+            try {
+                Document document = documents.get(id);
+                if (document != null) {
+                    String name = canonical(tag, tagPostings);
+                    documents.put(id, document.withTag(name));
+                    tagPostings.get(name).addLong(id);
+                }
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+        
+        private void remove(Long id) {
+            lock.writeLock().lock();
+            try {
+                Document previous = documents.remove(id);
+                if (previous != null) {
+                    unpost(keyPostings, previous.key, id);
+                    unpost(contentPostings, previous.content, id);
+                    all.removeLong(id);
+                    localePostings.get(previous.locale).removeLong(id);
+                    for (String tag : previous.tags) {
+                        tagPostings.get(tag).removeLong(id);
+                    }
+                }
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+        
+        /** One shared string per tag or locale name, registering its bitmap on first sight. */
+        private String canonical(String name, Map<String, Roaring64Bitmap> postings) {
+            String shared = names.putIfAbsent(name, name);
+            postings.computeIfAbsent(name, added -> new Roaring64Bitmap());
+            return shared != null ? shared : name;
+        }
+        
+        /**
+         * Offers the documents matching the terms and locale that sort after {@code cursor},
+         * if given, to {@code newest}, keeping only the {@code limit} newest, and returns how
+         * many matched. Candidates come from the
+         * smallest of the term and locale bitmaps and are probed against the others, so no
+         * bitmap is copied; with no usable bitmap (short terms, no locale) every document is
+         * checked.
+         */
+        private long selectNewest(String key, String content, String locale, SearchMatch match, Document cursor,
+                                  int limit, PriorityQueue<Document> newest) {
+            lock.readLock().lock();
+            try {
+                List<Roaring64Bitmap> required = new ArrayList<>();
+                if (!addPostings(keyPostings, key, required) || !addPostings(contentPostings, content, required)) {
+                    return 0;
+                }
+                if (locale != null) {
+                    Roaring64Bitmap inLocale = localePostings.get(locale);
+                    if (inLocale == null) {
+                        return 0;
+                    }
+                    required.add(inLocale);
+                }
+                required.sort(Comparator.comparingLong(Roaring64Bitmap::getLongCardinality));
+                Roaring64Bitmap smallest = required.isEmpty() ? all : required.get(0);
+                
+                long total = 0;
+                LongIterator ids = smallest.getLongIterator();
+                while (ids.hasNext()) {
+                    long id = ids.next();
+                    if (!inAll(required, id)) {
+                        continue;
+                    }
+                    Document document = documents.get(id);
+                    if (document == null
+                            || (locale != null && !locale.equals(document.locale))
+                            || (key != null && !match.matches(document.key, key))
+                            || (content != null && !match.matches(document.content, content))
+                            || (cursor != null && NEWEST_FIRST.compare(document, cursor) <= 0)) {
+                        continue;
+                    }
+                    total++;
+                    offer(document, limit, newest);
+                }
+                return total;
+            } finally {
+                lock.readLock().unlock();
+            }
+        }
+        
+        /**
+         * Offers the documents matching the filter and locale that sort after {@code cursor}
+         * to {@code newest}, keeping only the {@code limit} newest, and returns how many matched.
+         */
+        private long selectNewest(TagFilter filter, String locale, Document cursor, int limit,
+                                  PriorityQueue<Document> newest) {
+            lock.readLock().lock();
+            try {
+                Roaring64Bitmap matches = match(filter);
+                long total = 0;
+                LongIterator ids = matches.getLongIterator();
+                while (ids.hasNext()) {
+                    Document document = documents.get(ids.next());
+                    if (document == null
+                            || (locale != null && !locale.equals(document.locale))
+                            || (cursor != null && NEWEST_FIRST.compare(document, cursor) <= 0)) {
+                        continue;
+                    }
+                    total++;
+                    offer(document, limit, newest);
+                }
+                return total;
+            } finally {
+                lock.readLock().unlock();
+            }
+        }
+        
+        /** Whether every bitmap after the first, which the candidate came from, holds {@code id}. */
+        private static boolean inAll(List<Roaring64Bitmap> required, long id) {
+            for (int i = 1; i < required.size(); i++) {
+                if (!required.get(i).contains(id)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+        
+        private static void offer(Document document, int limit, PriorityQueue<Document> newest) {
+            if (limit > 0 && (newest.size() < limit || NEWEST_FIRST.compare(document, newest.peek()) < 0)) {
+                newest.offer(document);
+                if (newest.size() > limit) {
+                    newest.poll();
+                }
+            }
+        }
+        
+        private Roaring64Bitmap match(TagFilter filter) {
+            Roaring64Bitmap result = null;
+            if (!filter.getAny().isEmpty()) {
+                result = new Roaring64Bitmap();
+                for (String tag : filter.getAny()) {
+                    Roaring64Bitmap postings = tagPostings.get(tag);
+                    if (postings != null) {
+                        result.or(postings);
+                    }
+                }
+            }
+            List<Roaring64Bitmap> required = new ArrayList<>();
+            for (String tag : filter.getAll()) {
+                Roaring64Bitmap postings = tagPostings.get(tag);
+                if (postings == null) {
+                    return new Roaring64Bitmap();
+                }
+                required.add(postings);
+            }
+            required.sort(Comparator.comparingLong(Roaring64Bitmap::getLongCardinality));
+            for (Roaring64Bitmap postings : required) {
+                if (result == null) {
+                    result = postings.clone();
+                } else {
+                    result.and(postings);
+                }
+            }
+            if (result == null) {
+                result = all.clone();
+            }
+            for (String tag : filter.getNone()) {
+                Roaring64Bitmap postings = tagPostings.get(tag);
+                if (postings != null) {
+                    result.andNot(postings);
+                }
+            }
+            return result;
+        }
+        
+        /**
+         * Adds the posting bitmap of every trigram in {@code term} to {@code required}, or
+         * returns false when one of them has no postings, so nothing can match.
+         */
+        private static boolean addPostings(Map<Long, Roaring64Bitmap> postings, String term,
+                                           List<Roaring64Bitmap> required) {
+            if (term == null) {
+                return true;
+            }
+            for (int i = 0; i + 3 <= term.length(); i++) {
+                Roaring64Bitmap ids = postings.get(trigram(term, i));
+                if (ids == null || ids.isEmpty()) {
+                    return false;
+                }
+                required.add(ids);
+            }
+            return true;
+        }
+        
+        private static void post(Map<Long, Roaring64Bitmap> postings, String text, Long id) {
+            for (int i = 0; i + 3 <= text.length(); i++) {
+                postings.computeIfAbsent(trigram(text, i), gram -> new Roaring64Bitmap()).addLong(id);
+            }
+        }
+        
+        private static void unpost(Map<Long, Roaring64Bitmap> postings, String text, Long id) {
+            for (int i = 0; i + 3 <= text.length(); i++) {
+                long gram = trigram(text, i);
+                Roaring64Bitmap ids = postings.get(gram);
+                if (ids != null) {
+                    ids.removeLong(id);
+                    if (ids.isEmpty()) {
+                        postings.remove(gram);
+                    }
+                }
+            }
+        }
+    }
+}
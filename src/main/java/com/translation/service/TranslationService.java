@@ -1,22 +1,46 @@
 package com.translation.service;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.translation.config.CacheConfig;
+import com.translation.dto.BulkRowResult;
+import com.translation.dto.BulkUpsertResult;
+import com.translation.dto.CursorPage;
+import com.translation.dto.LocaleStatistics;
+import com.translation.dto.ResolvedTranslation;
+import com.translation.dto.TranslationDelta;
 import com.translation.dto.TranslationDto;
+import com.translation.dto.TranslationEntry;
+import com.translation.dto.TranslationResolution;
+import com.translation.dto.TranslationRow;
 import com.translation.entity.Tag;
 import com.translation.entity.Translation;
+import com.translation.event.TranslationChangedEvent;
+import com.translation.metrics.RequestTimings;
 import com.translation.repository.TagRepository;
 import com.translation.repository.TranslationRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.cache.annotation.Cacheable;
-import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.LocalDateTime;
 import java.util.*;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 @Transactional
@@ -26,6 +50,37 @@ public class TranslationService {
     private TranslationRepository translationRepository;
     @Autowired
     private TagRepository tagRepository;
+    @Autowired
+    private LocaleSnapshotService localeSnapshotService;
+    @Autowired
+    private TranslationChangeLogService changeLogService;
+    @Autowired
+    private LocaleStatsService localeStatsService;
+    @Autowired
+    private TagDictionary tagDictionary;
+    @Autowired
+    private TranslationSearchIndex searchIndex;
+    @Autowired
+    private ObjectMapper objectMapper;
+    @Autowired
+    private Validator validator;
+    @PersistenceContext
+    private EntityManager entityManager;
+    
+    @Value("${translation.bulk.max-rows:50000}")
+    private int bulkMaxRows;
+    @Value("${translation.bulk.chunk-size:1000}")
+    private int bulkChunkSize;
+    @Value("${translation.batch.max-keys:1000}")
+    private int batchMaxKeys;
+    @Value("${translation.batch.max-locales:10}")
+    private int batchMaxLocales;
+    @Value("${translation.batch.chunk-size:500}")
+    private int batchChunkSize;
+    @Value("${translation.resolve.max-keys:1000}")
+    private int resolveMaxKeys;
+    @Value("${translation.resolve.max-locales:10}")
+    private int resolveMaxLocales;
     
     public TranslationDto createTranslation(TranslationDto dto) {
         Optional<Translation> existing = translationRepository.findByKeyAndLocale(dto.getKey(), dto.getLocale());
@@ -38,6 +93,8 @@ public class TranslationService {
         translation.setTags(getOrCreateTags(dto.getTags()));
         
         Translation saved = translationRepository.save(translation);
+        localeStatsService.apply(new LocaleStatsService.Changes().add(saved));
+        changeLogService.recordUpsert(saved, TranslationChangedEvent.created(saved));
         return convertToDto(saved);
     }
     
@@ -45,15 +102,146 @@ public class TranslationService {
         Translation translation = translationRepository.findById(id)
             .orElseThrow(() -> new IllegalArgumentException("Translation not found with id: " + id));
         
+        String previousKey = translation.getKey();
+        String previousLocale = translation.getLocale();
+        LocaleStatsService.Changes stats = new LocaleStatsService.Changes().remove(translation);
         translation.setKey(dto.getKey());
         translation.setLocale(dto.getLocale());
         translation.setContent(dto.getContent());
         translation.setTags(getOrCreateTags(dto.getTags()));
         
         Translation saved = translationRepository.save(translation);
+        localeStatsService.apply(stats.add(saved));
+        if (!previousKey.equals(saved.getKey()) || !previousLocale.equals(saved.getLocale())) {
+            changeLogService.recordDelete(saved.getId(), previousKey, previousLocale);
+        }
+        changeLogService.recordUpsert(saved, TranslationChangedEvent.updated(saved, previousKey, previousLocale));
         return convertToDto(saved);
     }
     
+    /**
+     * Creates or updates many translations, matched on (key, locale), in one transaction.
+     * Rows are processed in chunks: each chunk resolves its existing translations and tags
+     * with one query per locale, is written through JDBC batching and is then flushed and
+     * cleared so the persistence context stays small. Invalid rows are reported and skipped.
+     * A pair that occurs more than once ends with its last row, and every row of a pair the
+     * request created is reported as created.
+     */
+    public BulkUpsertResult bulkUpsert(List<TranslationDto> dtos) {
+        if (dtos.size() > bulkMaxRows) {
+            throw new IllegalArgumentException("Bulk request exceeds the limit of " + bulkMaxRows + " rows");
+        }
+        BulkUpsertResult result = new BulkUpsertResult();
+        Set<String> createdPairs = new HashSet<>();
+        for (int start = 0; start < dtos.size(); start += bulkChunkSize) {
+            upsertChunk(dtos, start, Math.min(start + bulkChunkSize, dtos.size()), createdPairs, result);
+            entityManager.flush();
+            entityManager.clear();
+        }
+        return result;
+    }
+    
+    private void upsertChunk(List<TranslationDto> dtos, int start, int end, Set<String> createdPairs,
+                             BulkUpsertResult result) {
+        Map<Integer, String> errors = new HashMap<>();
+        Map<String, Set<String>> keysByLocale = new HashMap<>();
+        Set<String> tagNames = new HashSet<>();
+        for (int i = start; i < end; i++) {
+            TranslationDto dto = dtos.get(i);
+            Set<ConstraintViolation<TranslationDto>> violations = dto == null ? Set.of() : validator.validate(dto);
+            if (dto == null || !violations.isEmpty()) {
+                errors.put(i, dto == null ? "Row is empty" : violations.stream()
+                    .map(violation -> violation.getPropertyPath() + ": " + violation.getMessage())
+                    .sorted()
+                    .collect(Collectors.joining(", ")));
+                continue;
+            }
+            keysByLocale.computeIfAbsent(dto.getLocale(), locale -> new HashSet<>()).add(dto.getKey());
+            if (dto.getTags() != null) {
+                tagNames.addAll(dto.getTags());
+            }
+        }
+        
+        Map<String, Translation> existing = new HashMap<>();
+        keysByLocale.forEach((locale, keys) -> {
+            for (Translation translation : translationRepository.findByLocaleAndKeyIn(locale, keys)) {
+                existing.put(pairKey(translation.getKey(), translation.getLocale()), translation);
+            }
+        });
+        Map<String, Tag> tagsByName = getOrCreateTags(tagNames).stream()
+            .collect(Collectors.toMap(Tag::getName, tag -> tag));
+        
+        List<Translation> toSave = new ArrayList<>();
+        Map<Integer, Translation> rows = new LinkedHashMap<>();
+        LocaleStatsService.Changes stats = new LocaleStatsService.Changes();
+        Set<Translation> touched = Collections.newSetFromMap(new IdentityHashMap<>());
+        Map<Integer, BulkRowResult.Status> statuses = new HashMap<>();
+        for (int i = start; i < end; i++) {
+            if (errors.containsKey(i)) {
+                continue;
+            }
+            TranslationDto dto = dtos.get(i);
+            String pair = pairKey(dto.getKey(), dto.getLocale());
+            Translation translation = existing.get(pair);
+            if (translation == null) {
+                translation = new Translation(dto.getKey(), dto.getLocale(), dto.getContent());
+                existing.put(pair, translation);
+                toSave.add(translation);
+                touched.add(translation);
+                createdPairs.add(pair);
+                statuses.put(i, BulkRowResult.Status.CREATED);
+            } else {
+                if (touched.add(translation)) {
+                    stats.remove(translation);
+                }
+                translation.setContent(dto.getContent());
+                statuses.put(i, createdPairs.contains(pair)
+                    ? BulkRowResult.Status.CREATED
+                    : BulkRowResult.Status.UPDATED);
+            }
+            Set<Tag> tags = new HashSet<>();
+            if (dto.getTags() != null) {
+                dto.getTags().forEach(name -> tags.add(tagsByName.get(name)));
+            }
+            translation.setTags(tags);
+            rows.put(i, translation);
+        }
+        translationRepository.saveAll(toSave);
+        entityManager.flush();
+        touched.forEach(stats::add);
+        if (!stats.isEmpty()) {
+            localeStatsService.apply(stats);
+        }
+        
+        Set<Translation> published = Collections.newSetFromMap(new IdentityHashMap<>());
+        for (int i = start; i < end; i++) {
+            if (errors.containsKey(i)) {
+                TranslationDto dto = dtos.get(i);
+                result.add(new BulkRowResult(i, dto != null ? dto.getKey() : null, dto != null ? dto.getLocale() : null,
+                    BulkRowResult.Status.FAILED, null, errors.get(i)));
+                continue;
+            }
+            Translation translation = rows.get(i);
+            if (published.add(translation)) {
+                changeLogService.recordUpsert(translation, statuses.get(i) == BulkRowResult.Status.CREATED
+                    ? TranslationChangedEvent.created(translation)
+                    : TranslationChangedEvent.updated(translation, translation.getKey(), translation.getLocale()));
+            }
+            result.add(new BulkRowResult(i, translation.getKey(), translation.getLocale(), statuses.get(i),
+                translation.getId(), null));
+        }
+    }
+    
+    /** Tag names are never blank, so a blank one stands in for an empty IN list. */
+    private static Collection<String> orBlank(Set<String> tags) {
+        return tags.isEmpty() ? List.of("") : tags;
+    }
+    
+    private static String pairKey(String key, String locale) {
+        return locale + '\0' + key;
+    }
+    
+    @Cacheable(cacheNames = CacheConfig.TRANSLATIONS, sync = true)
     @Transactional(readOnly = true)
     public Optional<TranslationDto> getTranslation(Long id) {
         return translationRepository.findById(id).map(this::convertToDto);
@@ -62,52 +250,254 @@ public class TranslationService {
     @Transactional(readOnly = true)
     public Page<TranslationDto> searchTranslations(String key, String content, String locale, 
                                                   List<String> tags, int page, int size) {
+        return searchTranslations(key, content, locale, tags, SearchMatch.CONTAINS, page, size);
+    }
+    
+    @Transactional(readOnly = true)
+    public Page<TranslationDto> searchTranslations(String key, String content, String locale, List<String> tags,
+                                                  SearchMatch match, int page, int size) {
+        return searchTranslationsByFilter(key, content, locale, TagFilter.any(tags), match, page, size);
+    }
+    
+    /**
+     * With a tag filter, the translations are selected by tags and locale only. The search
+     * index answers from its tag bitmaps; until it is ready, a plain any-tag filter uses the
+     * tag join and other filters a query with one subquery per condition.
+     */
+    @Transactional(readOnly = true)
+    public Page<TranslationDto> searchTranslationsByFilter(String key, String content, String locale, TagFilter tags,
+                                                          SearchMatch match, int page, int size) {
         Pageable pageable = PageRequest.of(page, size, Sort.by("updatedAt").descending());
         
         Page<Translation> translations;
-        if (tags != null && !tags.isEmpty()) {
-            translations = translationRepository.findByTagsIn(tags, pageable);
+        if (!tags.isEmpty() && searchIndex.isReady()) {
+            Page<Long> ids = searchIndex.searchByTags(tags, locale, pageable);
+            translations = new PageImpl<>(findAllInOrder(ids.getContent()), pageable, ids.getTotalElements());
+        } else if (tags.isAnyOnly() && locale == null) {
+            translations = translationRepository.findByTagsIn(new ArrayList<>(tags.getAny()), pageable);
+        } else if (!tags.isEmpty()) {
+            translations = translationRepository.findByTagFilter(orBlank(tags.getAny()), tags.getAny().size(),
+                orBlank(tags.getAll()), tags.getAll().size(), orBlank(tags.getNone()), locale, pageable);
+        } else if ((key != null || content != null) && searchIndex.isReady()) {
+            Page<Long> ids = searchIndex.search(key, content, locale, match, pageable);
+            translations = new PageImpl<>(findAllInOrder(ids.getContent()), pageable, ids.getTotalElements());
+        } else if (match == SearchMatch.PREFIX) {
+            translations = translationRepository.searchTranslationsByPrefix(key, content, locale, pageable);
         } else {
             translations = translationRepository.searchTranslations(key, content, locale, pageable);
         }
         
-        return translations.map(this::convertToDto);
+        return toDtos(translations);
+    }
+    
+    @Transactional(readOnly = true)
+    public CursorPage<TranslationDto> searchTranslationsAfter(String key, String content, String locale,
+                                                             List<String> tags, String cursor, int size) {
+        return searchTranslationsByFilterAfter(key, content, locale, TagFilter.any(tags), SearchMatch.CONTAINS,
+            cursor, size);
     }
     
+    /** Keyset variant of {@link #searchTranslationsByFilter}, choosing the index or query the same way. */
     @Transactional(readOnly = true)
+    public CursorPage<TranslationDto> searchTranslationsByFilterAfter(String key, String content, String locale,
+                                                                     TagFilter tags, SearchMatch match,
+                                                                     String cursor, int size) {
+        if (size < 1) {
+            throw new IllegalArgumentException("Page size must be at least 1");
+        }
+        SearchCursor after = SearchCursor.decode(cursor);
+        LocalDateTime updatedAt = after != null ? after.getUpdatedAt() : null;
+        Long id = after != null ? after.getId() : null;
+        Pageable limit = PageRequest.of(0, size + 1);
+        
+        List<Translation> translations;
+        if (!tags.isEmpty() && searchIndex.isReady()) {
+            translations = findAllInOrder(searchIndex.searchByTagsAfter(tags, locale, updatedAt, id, size + 1));
+        } else if (tags.isAnyOnly() && locale == null) {
+            translations = translationRepository.findByTagsInAfter(
+                new ArrayList<>(tags.getAny()), updatedAt, id, limit);
+        } else if (!tags.isEmpty()) {
+            translations = translationRepository.findByTagFilterAfter(orBlank(tags.getAny()), tags.getAny().size(),
+                orBlank(tags.getAll()), tags.getAll().size(), orBlank(tags.getNone()), locale, updatedAt, id, limit);
+        } else if ((key != null || content != null) && searchIndex.isReady()) {
+            translations = findAllInOrder(searchIndex.searchAfter(key, content, locale, match, updatedAt, id, size + 1));
+        } else if (match == SearchMatch.PREFIX) {
+            translations = translationRepository.searchTranslationsByPrefixAfter(key, content, locale, updatedAt, id,
+                limit);
+        } else {
+            translations = translationRepository.searchTranslationsAfter(key, content, locale, updatedAt, id, limit);
+        }
+        
+        String nextCursor = null;
+        if (translations.size() > size) {
+            translations = translations.subList(0, size);
+            nextCursor = SearchCursor.after(translations.get(size - 1)).encode();
+        }
+        return new CursorPage<>(toDtos(translations), size, nextCursor);
+    }
+    
+    // With the off-heap dictionary, or while a locale is still served from the snapshot file, the
+    // entries are already held in memory, so they are not read again.
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public Map<String, String> getTranslationsForLocale(String locale) {
+        if (localeSnapshotService.isOffHeap() || localeSnapshotService.isMapped(locale)) {
+            return localeSnapshotService.getEntries(locale);
+        }
         List<Translation> translations = translationRepository.findByLocale(locale);
-        return translations.stream()
+        return Collections.unmodifiableMap(translations.stream()
             .collect(Collectors.toMap(
                 Translation::getKey, 
                 Translation::getContent,
                 (existing, replacement) -> replacement
-            ));
+            )));
+    }
+    
+    @Transactional(readOnly = true)
+    public void writeTranslationsForLocale(String locale, OutputStream out) throws IOException {
+        try (Stream<TranslationEntry> entries = translationRepository.streamEntriesByLocale(locale);
+             JsonGenerator generator = objectMapper.createGenerator(out)) {
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            generator.writeStartObject();
+            Iterator<TranslationEntry> iterator = entries.iterator();
+            while (iterator.hasNext()) {
+                TranslationEntry entry = iterator.next();
+                generator.writeStringField(entry.getKey(), entry.getContent());
+            }
+            generator.writeEndObject();
+        }
+    }
+    
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public LocaleSnapshot getLocaleSnapshot(String locale) {
+        return localeSnapshotService.getSnapshot(locale);
+    }
+    
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public Map<String, String> getNamespace(String locale, String prefix) {
+        return localeSnapshotService.getNamespace(locale, prefix);
+    }
+    
+    /**
+     * Returns the contents of every requested key in every requested locale, nested by locale
+     * and then key; absent pairs are left out. Locales already held in memory are answered from
+     * there, the others with one {@code IN}-list query per chunk of keys.
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public Map<String, Map<String, String>> getTranslationsBatch(List<String> keys, List<String> locales) {
+        Set<String> keySet = new LinkedHashSet<>(keys);
+        Set<String> localeSet = new LinkedHashSet<>(locales);
+        if (keySet.size() > batchMaxKeys || localeSet.size() > batchMaxLocales) {
+            throw new IllegalArgumentException("Batch requests are limited to " + batchMaxKeys
+                + " keys and " + batchMaxLocales + " locales");
+        }
+        Map<String, Map<String, String>> result = new LinkedHashMap<>();
+        List<String> unloaded = new ArrayList<>();
+        for (String locale : localeSet) {
+            Map<String, String> contents = new LinkedHashMap<>();
+            result.put(locale, contents);
+            if (!localeSnapshotService.isLoaded(locale)) {
+                unloaded.add(locale);
+                continue;
+            }
+            for (String key : keySet) {
+                String content = localeSnapshotService.getContent(locale, key);
+                if (content != null) {
+                    contents.put(key, content);
+                }
+            }
+        }
+        if (!unloaded.isEmpty()) {
+            List<String> keyList = new ArrayList<>(keySet);
+            for (int i = 0; i < keyList.size(); i += batchChunkSize) {
+                List<String> chunk = keyList.subList(i, Math.min(i + batchChunkSize, keyList.size()));
+                for (TranslationRow row : translationRepository.findRowsByLocaleInAndKeyIn(unloaded, chunk)) {
+                    result.get(row.getLocale()).put(row.getKey(), row.getContent());
+                }
+            }
+        }
+        return result;
+    }
+    
+    /**
+     * Resolves keys against a locale fallback chain such as {@code fr-CA, fr, en} from the
+     * in-memory locale entries, reporting the locale each key was found in.
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public TranslationResolution resolveTranslations(List<String> keys, List<String> locales) {
+        Set<String> keySet = new LinkedHashSet<>(keys);
+        List<String> chain = new ArrayList<>(new LinkedHashSet<>(locales));
+        if (keySet.isEmpty() || chain.isEmpty()) {
+            throw new IllegalArgumentException("At least one key and one locale are required");
+        }
+        if (keySet.size() > resolveMaxKeys || chain.size() > resolveMaxLocales) {
+            throw new IllegalArgumentException("Resolve requests are limited to " + resolveMaxKeys
+                + " keys and " + resolveMaxLocales + " locales");
+        }
+        Map<String, ResolvedTranslation> resolved = localeSnapshotService.resolve(keySet, chain);
+        List<String> missing = new ArrayList<>();
+        for (String key : keySet) {
+            if (!resolved.containsKey(key)) {
+                missing.add(key);
+            }
+        }
+        return new TranslationResolution(chain, resolved, missing);
+    }
+    
+    @Transactional(readOnly = true)
+    public TranslationDelta getTranslationDelta(String locale, long since) {
+        return changeLogService.getDelta(locale, since);
     }
     
     public void deleteTranslation(Long id) {
         Translation translation = translationRepository.findById(id)
             .orElseThrow(() -> new IllegalArgumentException("Translation not found with id: " + id));
         
+        LocaleStatsService.Changes stats = new LocaleStatsService.Changes().remove(translation);
         translationRepository.delete(translation);
+        localeStatsService.apply(stats);
+        changeLogService.recordDelete(translation, TranslationChangedEvent.deleted(translation));
     }
     
+    @Cacheable(cacheNames = CacheConfig.LOCALES, sync = true)
     @Transactional(readOnly = true)
     public List<String> getAvailableLocales() {
-        return translationRepository.findDistinctLocales();
+        return localeStatsService.getActiveLocales();
+    }
+    
+    @Transactional(readOnly = true)
+    public List<LocaleStatistics> getLocaleStatistics() {
+        return localeStatsService.getStatistics();
     }
     
-    private Set<Tag> getOrCreateTags(Set<String> tagNames) {
+    /**
+     * Known tags are taken from the {@link TagDictionary} as references, which Hibernate
+     * resolves from its second-level cache; only unknown names are queried or created.
+     */
+    Set<Tag> getOrCreateTags(Set<String> tagNames) {
         if (tagNames == null || tagNames.isEmpty()) {
             return new HashSet<>();
         }
         
-        Set<Tag> existingTags = tagRepository.findByNameIn(new ArrayList<>(tagNames));
+        Set<Tag> tags = new HashSet<>();
+        List<String> unknownNames = new ArrayList<>();
+        for (String name : tagNames) {
+            Long id = tagDictionary.idOf(name);
+            if (id != null) {
+                tags.add(entityManager.getReference(Tag.class, id));
+            } else {
+                unknownNames.add(name);
+            }
+        }
+        if (unknownNames.isEmpty()) {
+            return tags;
+        }
+        
+        Set<Tag> existingTags = tagRepository.findByNameIn(unknownNames);
         Set<String> existingTagNames = existingTags.stream()
             .map(Tag::getName)
             .collect(Collectors.toSet());
         
-        Set<Tag> newTags = tagNames.stream()
+        Set<Tag> newTags = unknownNames.stream()
             .filter(name -> !existingTagNames.contains(name))
             .map(Tag::new)
             .collect(Collectors.toSet());
@@ -116,15 +506,63 @@ public class TranslationService {
             tagRepository.saveAll(newTags);
             existingTags.addAll(newTags);
         }
-        
-        return existingTags;
+        tagDictionary.register(existingTags);
+        tags.addAll(existingTags);
+        return tags;
+    }
+    
+    private List<Translation> findAllInOrder(List<Long> ids) {
+        if (ids.isEmpty()) {
+            return new ArrayList<>();
+        }
+        Map<Long, Translation> byId = translationRepository.findAllById(ids).stream()
+            .collect(Collectors.toMap(Translation::getId, translation -> translation));
+        return ids.stream()
+            .map(byId::get)
+            .filter(Objects::nonNull)
+            .collect(Collectors.toList());
+    }
+    
+    private Page<TranslationDto> toDtos(Page<Translation> translations) {
+        Map<Long, Set<String>> tagNamesById = findTagNames(translations.getContent());
+        long start = System.nanoTime();
+        Page<TranslationDto> dtos = translations.map(translation ->
+            convertToDto(translation, tagNamesById.getOrDefault(translation.getId(), new HashSet<>())));
+        RequestTimings.recordConversion(System.nanoTime() - start);
+        return dtos;
     }
     
-    private TranslationDto convertToDto(Translation translation) {
+    private List<TranslationDto> toDtos(List<Translation> translations) {
+        Map<Long, Set<String>> tagNamesById = findTagNames(translations);
+        long start = System.nanoTime();
+        List<TranslationDto> dtos = translations.stream()
+            .map(translation ->
+                convertToDto(translation, tagNamesById.getOrDefault(translation.getId(), new HashSet<>())))
+            .collect(Collectors.toList());
+        RequestTimings.recordConversion(System.nanoTime() - start);
+        return dtos;
+    }
+    
+    private Map<Long, Set<String>> findTagNames(List<Translation> translations) {
+        if (translations.isEmpty()) {
+            return Collections.emptyMap();
+        }
+        List<Long> ids = translations.stream().map(Translation::getId).collect(Collectors.toList());
+        Map<Long, Set<String>> tagNamesById = new HashMap<>();
+        for (Object[] row : translationRepository.findTagNamesByTranslationIds(ids)) {
+            tagNamesById.computeIfAbsent((Long) row[0], id -> new HashSet<>()).add((String) row[1]);
+        }
+        return tagNamesById;
+    }
+    
+    TranslationDto convertToDto(Translation translation) {
         Set<String> tagNames = translation.getTags().stream()
             .map(Tag::getName)
             .collect(Collectors.toSet());
-        
+        return convertToDto(translation, tagNames);
+    }
+    
+    private TranslationDto convertToDto(Translation translation, Set<String> tagNames) {
         TranslationDto dto = new TranslationDto(
             translation.getKey(), 
             translation.getLocale(), 
@@ -137,5 +575,5 @@ public class TranslationService {
         
         return dto;
     }
-    
+
 }
\ No newline at end of file
@@ -0,0 +1,317 @@
+package com.translation.service;
+
+import com.translation.dto.BulkRowResult;
+import com.translation.dto.BulkUpsertResult;
+import com.translation.dto.TranslationDto;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Service;
+
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Optional write-behind pipeline for bursts of single-translation writes, switched on with
+ * {@code translation.write-queue.enabled}. Writes are held per key and locale, so a later
+ * write replaces a pending one, and one thread flushes them through
+ * {@link TranslationService#bulkUpsert} in a transaction per batch once {@code batch-size}
+ * pairs are pending or {@code flush-interval-ms} has passed.
+ * <p>
+ * Accepted writes live only in memory until their batch commits. Shutdown flushes what is
+ * pending for up to {@code shutdown-timeout-ms} and fails the acknowledgements of anything
+ * left after that; a crash loses it. A batch that fails is split and its writes are retried one at
+ * a time, so one bad row or a transient error does not drop the rest of the batch. Callers
+ * that need the write to be durable wait for its acknowledgement, which completes once the
+ * write commits.
+ */
+@Service
+public class TranslationWriteQueue {
+    
+    private static final Logger log = LoggerFactory.getLogger(TranslationWriteQueue.class);
+    private static final int WRITE_ATTEMPTS = 2;
+    
+    @Autowired
+    private TranslationService translationService;
+    @Autowired
+    private MeterRegistry meterRegistry;
+    
+    @Value("${translation.write-queue.enabled:false}")
+    private boolean enabled;
+    @Value("${translation.write-queue.capacity:10000}")
+    private int capacity;
+    @Value("${translation.write-queue.batch-size:500}")
+    private int batchSize;
+    @Value("${translation.write-queue.flush-interval-ms:200}")
+    private long flushIntervalMs;
+    @Value("${translation.write-queue.sync-timeout-ms:10000}")
+    private long syncTimeoutMs;
+    @Value("${translation.write-queue.shutdown-timeout-ms:30000}")
+    private long shutdownTimeoutMs;
+    
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition batchReady = lock.newCondition();
+    private final LinkedHashMap<String, PendingWrite> pending = new LinkedHashMap<>();
+    private volatile boolean running;
+    private Thread flusher;
+    
+    private Counter coalesced;
+    private Counter rejected;
+    private Counter failed;
+    private Counter retried;
+    private Timer flushTimer;
+    private Timer commitLag;
+    private DistributionSummary batchSizes;
+    
+    public boolean isEnabled() {
+        return enabled;
+    }
+    
+    @PostConstruct
+    public void start() {
+        if (!enabled) {
+            return;
+        }
+        Gauge.builder("translation.write.queue.depth", this, TranslationWriteQueue::depth)
+            .description("Key and locale pairs waiting to be flushed")
+            .register(meterRegistry);
+        coalesced = Counter.builder("translation.write.coalesced")
+            .description("Queued writes replaced by a later write to the same key and locale")
+            .register(meterRegistry);
+        rejected = Counter.builder("translation.write.rejected")
+            .description("Writes refused because the queue was full")
+            .register(meterRegistry);
+        failed = Counter.builder("translation.write.failed")
+            .description("Queued writes that did not commit")
+            .register(meterRegistry);
+        retried = Counter.builder("translation.write.retried")
+            .description("Queued writes retried on their own after a failed flush")
+            .register(meterRegistry);
+        flushTimer = Timer.builder("translation.write.flush")
+            .description("Time to write and commit one batch")
+            .publishPercentileHistogram()
+            .register(meterRegistry);
+        commitLag = Timer.builder("translation.write.commit.lag")
+            .description("Time from accepting a write to committing it")
+            .publishPercentileHistogram()
+            .register(meterRegistry);
+        batchSizes = DistributionSummary.builder("translation.write.batch.size")
+            .description("Key and locale pairs per flushed batch")
+            .register(meterRegistry);
+        
+        running = true;
+        flusher = new CustomizableThreadFactory("write-queue-").newThread(this::run);
+        flusher.setDaemon(true);
+        flusher.start();
+    }
+    
+    /**
+     * Queues a create or update matched on key and locale. The returned acknowledgement
+     * completes with the row's outcome once the batch holding it commits; a write replaced
+     * by a later one is acknowledged with the outcome of that write.
+     *
+     * @throws RejectedExecutionException when the queue holds {@code capacity} pairs and this
+     *         write does not replace one of them
+     */
+    public CompletableFuture<BulkRowResult> submit(TranslationDto dto) {
+        CompletableFuture<BulkRowResult> ack = new CompletableFuture<>();
+        String pair = dto.getLocale() + '\0' + dto.getKey();
+        lock.lock();
+        try {
+            if (!running) {
+                throw new IllegalStateException("Write queue is not running");
+            }
+            PendingWrite write = pending.get(pair);
+            if (write != null) {
+                write.dto = dto;
+                coalesced.increment();
+            } else if (pending.size() >= capacity) {
+                rejected.increment();
+                throw new RejectedExecutionException("Write queue is full");
+            } else {
+                write = new PendingWrite(dto);
+                pending.put(pair, write);
+                if (pending.size() >= batchSize) {
+                    batchReady.signal();
+                }
+            }
+            write.acks.add(ack);
+        } finally {
+            lock.unlock();
+        }
+        return ack;
+    }
+    
+    /**
+     * Completes with the write's outcome once it commits, or with null if it is still pending
+     * after {@code sync-timeout-ms}. Nothing blocks while waiting.
+     */
+    public CompletableFuture<BulkRowResult> awaitCommit(CompletableFuture<BulkRowResult> ack) {
+        return ack.copy()
+            .exceptionallyCompose(e -> {
+                Throwable cause = e instanceof CompletionException && e.getCause() != null ? e.getCause() : e;
+                return CompletableFuture.failedFuture(
+                    new IllegalStateException("Queued write failed: " + cause.getMessage(), cause));
+            })
+            .completeOnTimeout(null, syncTimeoutMs, TimeUnit.MILLISECONDS);
+    }
+    
+    public int depth() {
+        lock.lock();
+        try {
+            return pending.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+    
+    /**
+     * Stops accepting writes and flushes the pending ones. Writes still pending once
+     * {@code shutdown-timeout-ms} has passed are dropped and their acknowledgements fail, so a
+     * caller waiting on one is not answered as if it were still on its way.
+     */
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        if (flusher == null) {
+            return;
+        }
+        lock.lock();
+        try {
+            running = false;
+            batchReady.signal();
+        } finally {
+            lock.unlock();
+        }
+        flusher.join(shutdownTimeoutMs);
+        List<PendingWrite> lost;
+        lock.lock();
+        try {
+            lost = new ArrayList<>(pending.values());
+            pending.clear();
+        } finally {
+            lock.unlock();
+        }
+        if (lost.isEmpty()) {
+            return;
+        }
+        log.warn("Write queue stopped with {} writes not flushed", lost.size());
+        IllegalStateException stopped = new IllegalStateException("Write queue stopped before the write was flushed");
+        for (PendingWrite write : lost) {
+            failed.increment();
+            write.acks.forEach(ack -> ack.completeExceptionally(stopped));
+        }
+    }
+    
+    private void run() {
+        while (true) {
+            List<PendingWrite> batch;
+            try {
+                batch = nextBatch();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+            if (batch == null) {
+                return;
+            }
+            if (!batch.isEmpty()) {
+                flush(batch);
+            }
+        }
+    }
+    
+    /** Takes up to a batch of the oldest pairs once one is due, or null when stopped and drained. */
+    private List<PendingWrite> nextBatch() throws InterruptedException {
+        lock.lock();
+        try {
+            if (running && pending.size() < batchSize) {
+                batchReady.await(flushIntervalMs, TimeUnit.MILLISECONDS);
+            }
+            if (!running && pending.isEmpty()) {
+                return null;
+            }
+            List<PendingWrite> batch = new ArrayList<>(Math.min(batchSize, pending.size()));
+            Iterator<PendingWrite> writes = pending.values().iterator();
+            while (writes.hasNext() && batch.size() < batchSize) {
+                batch.add(writes.next());
+                writes.remove();
+            }
+            return batch;
+        } finally {
+            lock.unlock();
+        }
+    }
+    
+    private void flush(List<PendingWrite> batch) {
+        List<TranslationDto> dtos = new ArrayList<>(batch.size());
+        for (PendingWrite write : batch) {
+            dtos.add(write.dto);
+        }
+        long start = System.nanoTime();
+        BulkUpsertResult result;
+        try {
+            result = translationService.bulkUpsert(dtos);
+        } catch (RuntimeException e) {
+            if (batch.size() > 1) {
+                log.warn("Write queue batch of {} translations failed, retrying them one at a time", batch.size(), e);
+                retried.increment(batch.size());
+                batch.forEach(write -> flush(List.of(write)));
+            } else {
+                retryOrDrop(batch.get(0), e);
+            }
+            return;
+        }
+        long committed = System.nanoTime();
+        flushTimer.record(committed - start, TimeUnit.NANOSECONDS);
+        batchSizes.record(batch.size());
+        
+        for (BulkRowResult row : result.getResults()) {
+            PendingWrite write = batch.get(row.getIndex());
+            if (row.getStatus() == BulkRowResult.Status.FAILED) {
+                log.warn("Queued write of {} in {} failed: {}", row.getKey(), row.getLocale(), row.getError());
+                failed.increment();
+            } else {
+                commitLag.record(committed - write.acceptedAt, TimeUnit.NANOSECONDS);
+            }
+            write.acks.forEach(ack -> ack.complete(row));
+        }
+    }
+    
+    private void retryOrDrop(PendingWrite write, RuntimeException e) {
+        if (++write.attempts < WRITE_ATTEMPTS) {
+            retried.increment();
+            flush(List.of(write));
+            return;
+        }
+        log.error("Queued write of {} in {} failed {} times and was dropped",
+            write.dto.getKey(), write.dto.getLocale(), write.attempts, e);
+        failed.increment();
+        write.acks.forEach(ack -> ack.completeExceptionally(e));
+    }
+    
+    /** The latest write to one key and locale and everyone waiting for it. */
+    private static final class PendingWrite {
+        private final long acceptedAt = System.nanoTime();
+        private final List<CompletableFuture<BulkRowResult>> acks = new ArrayList<>(1);
+        private TranslationDto dto;
+        private int attempts;
+        
+        PendingWrite(TranslationDto dto) {
+            this.dto = dto;
+        }
+    }
+}
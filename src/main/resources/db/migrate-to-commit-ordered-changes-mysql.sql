@@ -0,0 +1,16 @@
+-- One-off migration for an existing MySQL schema whose translation_changes ids were
+-- AUTO_INCREMENT. Run it before starting a build that assigns change sequences at commit.
+-- The counter continues from the newest logged change, so client cursors stay valid.
+
+CREATE TABLE IF NOT EXISTS change_sequence (
+    id INT NOT NULL PRIMARY KEY,
+    last_sequence BIGINT NOT NULL
+);
+INSERT INTO change_sequence (id, last_sequence)
+SELECT 1, COALESCE(MAX(id), 0) FROM translation_changes
+ON DUPLICATE KEY UPDATE last_sequence = GREATEST(last_sequence, VALUES(last_sequence));
+
+CREATE INDEX idx_change_changed_at ON translation_changes (changed_at);
+
+-- The AUTO_INCREMENT attribute on translation_changes.id can stay: ids are now always
+-- inserted explicitly, so it is simply never used.
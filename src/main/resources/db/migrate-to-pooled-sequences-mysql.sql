@@ -0,0 +1,22 @@
+-- One-off migration for an existing MySQL schema created while ids used AUTO_INCREMENT.
+-- Run it before starting a build that uses pooled sequence ids. MySQL has no native
+-- sequences, so Hibernate emulates each one with a single-row table.
+--
+-- Hibernate's pooled optimizer treats the stored value as the upper end of the next
+-- block of 50 ids, so each table is seeded with MAX(id) + 50 to make the first
+-- allocated id MAX(id) + 1.
+
+CREATE TABLE IF NOT EXISTS translation_seq (next_val BIGINT NOT NULL);
+DELETE FROM translation_seq;
+INSERT INTO translation_seq (next_val) SELECT COALESCE(MAX(id), 0) + 50 FROM translations;
+
+CREATE TABLE IF NOT EXISTS tag_seq (next_val BIGINT NOT NULL);
+DELETE FROM tag_seq;
+INSERT INTO tag_seq (next_val) SELECT COALESCE(MAX(id), 0) + 50 FROM tags;
+
+CREATE TABLE IF NOT EXISTS user_seq (next_val BIGINT NOT NULL);
+DELETE FROM user_seq;
+INSERT INTO user_seq (next_val) SELECT COALESCE(MAX(id), 0) + 50 FROM users;
+
+-- The AUTO_INCREMENT attribute on the id columns can stay: Hibernate now always inserts
+-- explicit ids, so it is simply never used.
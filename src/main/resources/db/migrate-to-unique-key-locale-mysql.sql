@@ -0,0 +1,21 @@
+-- One-off migration for an existing MySQL schema whose idx_key_locale index was not unique.
+-- Run it before starting a build that declares the index unique. Of every duplicated
+-- (translation_key, locale) pair, only the most recently updated row is kept, the last
+-- one written on a tie.
+
+DELETE tt FROM translation_tags tt
+JOIN translations t ON t.id = tt.translation_id
+JOIN translations newer ON newer.translation_key = t.translation_key AND newer.locale = t.locale
+    AND (newer.updated_at > t.updated_at OR (newer.updated_at = t.updated_at AND newer.id > t.id));
+
+DELETE t FROM translations t
+JOIN translations newer ON newer.translation_key = t.translation_key AND newer.locale = t.locale
+    AND (newer.updated_at > t.updated_at OR (newer.updated_at = t.updated_at AND newer.id > t.id));
+
+DROP INDEX idx_key_locale ON translations;
+CREATE UNIQUE INDEX idx_key_locale ON translations (translation_key, locale);
+
+-- The per-locale statistics counted the removed rows. Emptying them makes the next start
+-- rebuild them from the translations table.
+DELETE FROM locale_tag_stats;
+DELETE FROM locale_stats;
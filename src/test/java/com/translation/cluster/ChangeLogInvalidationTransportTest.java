@@ -0,0 +1,90 @@
+package com.translation.cluster;
+
+import com.translation.entity.TranslationChange;
+import com.translation.repository.TranslationChangeRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Pageable;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ChangeLogInvalidationTransportTest {
+    
+    @Mock
+    private TranslationChangeRepository changeRepository;
+    
+    private ChangeLogInvalidationTransport transport;
+    
+    @BeforeEach
+    void setUp() {
+        transport = new ChangeLogInvalidationTransport(changeRepository, "node-a",
+            Duration.ofSeconds(10), Clock.systemUTC());
+        when(changeRepository.findMaxSequence()).thenReturn(10L);
+        assertTrue(transport.poll(100).isEmpty());
+    }
+    
+    @Test
+    void poll_ReturnsOnlyChangesFromOtherNodes() {
+        when(changeRepository.findByIdGreaterThanOrderByIdAsc(eq(10L), any(Pageable.class))).thenReturn(List.of(
+            change(11L, "node-a", "button.save"),
+            change(12L, "node-b", "button.cancel")));
+        
+        List<ClusterChange> changes = transport.poll(100);
+        
+        assertEquals(1, changes.size());
+        assertEquals("button.cancel", changes.get(0).getKey());
+        assertEquals(12L, transport.getCursor());
+        assertTrue(transport.getGaps().isEmpty());
+    }
+    
+    @Test
+    void poll_PicksUpChangesThatCommitBehindTheCursor() {
+        when(changeRepository.findByIdGreaterThanOrderByIdAsc(eq(10L), any(Pageable.class))).thenReturn(List.of(
+            change(11L, "node-b", "button.save"),
+            change(13L, "node-b", "button.cancel")));
+        assertEquals(2, transport.poll(100).size());
+        assertEquals(Set.of(12L), transport.getGaps());
+        
+        when(changeRepository.findAllById(List.of(12L))).thenReturn(List.of(change(12L, "node-b", "button.late")));
+        when(changeRepository.findByIdGreaterThanOrderByIdAsc(eq(13L), any(Pageable.class))).thenReturn(List.of());
+        
+        List<ClusterChange> changes = transport.poll(100);
+        
+        assertEquals(1, changes.size());
+        assertEquals("button.late", changes.get(0).getKey());
+        assertTrue(transport.getGaps().isEmpty());
+    }
+    
+    @Test
+    void poll_GivesUpOnGapsAfterTimeout() {
+        transport = new ChangeLogInvalidationTransport(changeRepository, "node-a", Duration.ZERO, Clock.systemUTC());
+        transport.poll(100);
+        when(changeRepository.findByIdGreaterThanOrderByIdAsc(eq(10L), any(Pageable.class)))
+            .thenReturn(List.of(change(12L, "node-b", "button.cancel")));
+        transport.poll(100);
+        assertEquals(Set.of(11L), transport.getGaps());
+        
+        when(changeRepository.findByIdGreaterThanOrderByIdAsc(eq(12L), any(Pageable.class))).thenReturn(List.of());
+        transport.poll(100);
+        
+        assertTrue(transport.getGaps().isEmpty());
+    }
+    
+    private static TranslationChange change(long id, String origin, String key) {
+        TranslationChange change = new TranslationChange(TranslationChange.Type.UPSERT, id, key, "en");
+        change.setId(id);
+        change.setOrigin(origin);
+        return change;
+    }
+}
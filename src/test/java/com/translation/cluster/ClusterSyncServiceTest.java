@@ -0,0 +1,111 @@
+package com.translation.cluster;
+
+import com.translation.entity.Translation;
+import com.translation.entity.TranslationChange;
+import com.translation.event.TranslationChangedEvent;
+import com.translation.event.TranslationsReloadedEvent;
+import com.translation.repository.TranslationChangeRepository;
+import com.translation.repository.TranslationRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ClusterSyncServiceTest {
+    
+    @Mock
+    private InvalidationTransport transport;
+    
+    @Mock
+    private TranslationRepository translationRepository;
+    
+    @Mock
+    private TranslationChangeRepository changeRepository;
+    
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+    
+    @Mock
+    private PlatformTransactionManager transactionManager;
+    
+    @InjectMocks
+    private ClusterSyncService clusterSyncService;
+    
+    @Test
+    void apply_TurnsRemoteChangesIntoLocalEvents() {
+        Translation moved = new Translation("button.ok", "en", "OK");
+        moved.setId(7L);
+        when(translationRepository.findAllById(anyCollection())).thenReturn(List.of(moved));
+        when(translationRepository.findByLocaleAndKeyIn(eq("en"), anyCollection())).thenReturn(List.of());
+        
+        clusterSyncService.apply(List.of(
+            new ClusterChange(20L, "node-b", TranslationChange.Type.DELETE, 7L, "button.okay", "en"),
+            new ClusterChange(21L, "node-b", TranslationChange.Type.UPSERT, 7L, "button.ok", "en")));
+        
+        ArgumentCaptor<TranslationChangedEvent> events = ArgumentCaptor.forClass(TranslationChangedEvent.class);
+        verify(eventPublisher, times(2)).publishEvent(events.capture());
+        assertEquals(TranslationChangedEvent.Type.DELETED, events.getAllValues().get(0).getType());
+        assertEquals("button.okay", events.getAllValues().get(0).getKey());
+        assertEquals("button.ok", events.getAllValues().get(1).getKey());
+        assertEquals("OK", events.getAllValues().get(1).getContent());
+        assertEquals(21L, events.getAllValues().get(1).getSequence());
+    }
+    
+    @Test
+    void apply_LateDeleteResendsTheKeysHolderAfterIt() {
+        // Translation 7 gave up button.ok at 20 and translation 9 took it at 23; the delete arrives after 23.
+        Translation holder = new Translation("button.ok", "en", "OK");
+        holder.setId(9L);
+        when(translationRepository.findAllById(anyCollection())).thenReturn(List.of());
+        when(translationRepository.findByLocaleAndKeyIn(eq("en"), anyCollection())).thenReturn(List.of(holder));
+        when(changeRepository.findLastUpsertsByLocaleAndKeyIn(eq("en"), anyCollection()))
+            .thenReturn(List.<Object[]>of(new Object[] {"button.ok", 23L}));
+        
+        clusterSyncService.apply(List.of(
+            new ClusterChange(20L, "node-b", TranslationChange.Type.DELETE, 7L, "button.ok", "en")));
+        
+        ArgumentCaptor<TranslationChangedEvent> events = ArgumentCaptor.forClass(TranslationChangedEvent.class);
+        verify(eventPublisher, times(2)).publishEvent(events.capture());
+        TranslationChangedEvent deleted = events.getAllValues().get(0);
+        TranslationChangedEvent restored = events.getAllValues().get(1);
+        assertEquals(TranslationChangedEvent.Type.DELETED, deleted.getType());
+        assertEquals(20L, deleted.getSequence());
+        assertEquals(TranslationChangedEvent.Type.CREATED, restored.getType());
+        assertEquals(9L, restored.getTranslationId());
+        assertEquals(23L, restored.getSequence());
+        assertTrue(restored.getSequence() > deleted.getSequence());
+    }
+    
+    @Test
+    void apply_ReadsRemoteChangesOnThePrimary() {
+        when(translationRepository.findAllById(anyCollection())).thenReturn(List.of());
+        
+        clusterSyncService.apply(List.of(
+            new ClusterChange(22L, "node-b", TranslationChange.Type.UPSERT, 8L, "button.cancel", "en")));
+        
+        ArgumentCaptor<TransactionDefinition> definition = ArgumentCaptor.forClass(TransactionDefinition.class);
+        verify(transactionManager).getTransaction(definition.capture());
+        assertFalse(definition.getValue().isReadOnly());
+    }
+    
+    @Test
+    void apply_RemoteBulkLoadReloadsEverything() {
+        clusterSyncService.apply(List.of(
+            new ClusterChange(30L, "node-b", TranslationChange.Type.RESET, null, null, null)));
+        
+        verify(eventPublisher).publishEvent(any(TranslationsReloadedEvent.class));
+        verifyNoInteractions(translationRepository);
+    }
+}
@@ -0,0 +1,39 @@
+package com.translation.config;
+
+import org.junit.jupiter.api.Test;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLTransientConnectionException;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class BoundedDataSourceTest {
+    
+    private final DataSource target = mock(DataSource.class);
+    private final BoundedDataSource dataSource = new BoundedDataSource(target, 1, 50);
+    
+    @Test
+    void getConnection_HoldsPermitUntilClosed() throws Exception {
+        Connection connection = mock(Connection.class);
+        when(target.getConnection()).thenReturn(connection);
+        
+        Connection first = dataSource.getConnection();
+        assertEquals(0, dataSource.availablePermits());
+        assertThrows(SQLTransientConnectionException.class, dataSource::getConnection);
+        
+        first.close();
+        first.close();
+        assertEquals(1, dataSource.availablePermits());
+        verify(connection, times(1)).close();
+    }
+    
+    @Test
+    void getConnection_ReleasesPermitWhenTargetFails() throws Exception {
+        when(target.getConnection()).thenThrow(new SQLTransientConnectionException("pool exhausted"));
+        
+        assertThrows(SQLTransientConnectionException.class, dataSource::getConnection);
+        assertEquals(1, dataSource.availablePermits());
+    }
+}
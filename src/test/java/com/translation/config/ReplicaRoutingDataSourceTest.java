@@ -0,0 +1,114 @@
+package com.translation.config;
+
+import com.translation.config.ReplicaRoutingDataSource.Replica;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLTransientConnectionException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class ReplicaRoutingDataSourceTest {
+    
+    private final DataSource primary = mock(DataSource.class);
+    private final DataSource first = mock(DataSource.class);
+    private final DataSource second = mock(DataSource.class);
+    private final Replica firstReplica = new Replica("replica-0", first);
+    private final Replica secondReplica = new Replica("replica-1", second);
+    private final ReplicaRoutingDataSource routing =
+        new ReplicaRoutingDataSource(primary, List.of(firstReplica, secondReplica), 1000);
+    
+    @AfterEach
+    void clearReadOnly() {
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(false);
+    }
+    
+    @Test
+    void getConnection_BalancesReadOnlyTransactionsAcrossReplicas() throws Exception {
+        firstReplica.markHealthy(5, 0);
+        secondReplica.markHealthy(5, 0);
+        when(primary.getConnection()).thenReturn(mock(Connection.class));
+        when(first.getConnection()).thenReturn(mock(Connection.class));
+        when(second.getConnection()).thenReturn(mock(Connection.class));
+        
+        routing.getConnection();
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+        routing.getConnection();
+        routing.getConnection();
+        
+        verify(primary).getConnection();
+        verify(first).getConnection();
+        verify(second).getConnection();
+    }
+    
+    @Test
+    void getConnection_FallsBackToPrimaryWhenReplicasLagOrFail() throws Exception {
+        firstReplica.markHealthy(5, 0);
+        secondReplica.markHealthy(5, 3000);
+        when(primary.getConnection()).thenReturn(mock(Connection.class));
+        when(first.getConnection()).thenThrow(new SQLTransientConnectionException("connection refused"));
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+        
+        routing.getConnection();
+        
+        assertFalse(firstReplica.isHealthy());
+        verify(primary).getConnection();
+        verify(second, never()).getConnection();
+        
+        firstReplica.markHealthy(5, 0);
+        routing.requireSequence(6);
+        assertNull(routing.select());
+    }
+    
+    @Test
+    void checkReplicas_MeasuresLagAgainstPrimaryChangeLog() {
+        DataSource primaryDatabase = h2("routing_primary");
+        DataSource replicaDatabase = h2("routing_replica");
+        JdbcTemplate onPrimary = new JdbcTemplate(primaryDatabase);
+        JdbcTemplate onReplica = new JdbcTemplate(replicaDatabase);
+        Timestamp old = Timestamp.valueOf(LocalDateTime.now().minusSeconds(10));
+        for (JdbcTemplate database : List.of(onPrimary, onReplica)) {
+            database.execute("CREATE TABLE translation_changes (id BIGINT PRIMARY KEY, changed_at TIMESTAMP)");
+            database.execute("CREATE TABLE change_sequence (id INT PRIMARY KEY, last_sequence BIGINT)");
+            database.update("INSERT INTO translation_changes VALUES (1, ?)", old);
+            database.update("INSERT INTO change_sequence VALUES (1, 1)");
+        }
+        onPrimary.update("INSERT INTO translation_changes VALUES (2, ?)", old);
+        onPrimary.update("UPDATE change_sequence SET last_sequence = 2");
+        Replica replica = new Replica("replica-0", replicaDatabase);
+        ReplicaRoutingDataSource localRouting = new ReplicaRoutingDataSource(primaryDatabase, List.of(replica), 2000);
+        ReplicaHealthMonitor monitor = new ReplicaHealthMonitor(localRouting, 1);
+        
+        monitor.checkReplicas();
+        
+        assertTrue(replica.isHealthy());
+        assertEquals(1, replica.getSequence());
+        assertTrue(replica.getLagMs() >= 10000);
+        assertNull(localRouting.select());
+        
+        onReplica.update("INSERT INTO translation_changes VALUES (2, ?)", old);
+        onReplica.update("UPDATE change_sequence SET last_sequence = 2");
+        monitor.checkReplicas();
+        
+        assertEquals(0, replica.getLagMs());
+        assertSame(replica, localRouting.select());
+        
+        onReplica.execute("DROP TABLE change_sequence");
+        monitor.checkReplicas();
+        
+        assertFalse(replica.isHealthy());
+    }
+    
+    private static DataSource h2(String name) {
+        return new DriverManagerDataSource("jdbc:h2:mem:" + name + ";DB_CLOSE_DELAY=-1", "sa", "");
+    }
+}
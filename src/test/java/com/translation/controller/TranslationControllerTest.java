@@ -1,8 +1,16 @@
 package com.translation.controller;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.translation.dto.BatchTranslationRequest;
+import com.translation.dto.BulkRowResult;
+import com.translation.dto.ResolvedTranslation;
+import com.translation.dto.TranslationDelta;
 import com.translation.dto.TranslationDto;
+import com.translation.dto.TranslationResolution;
+import com.translation.service.ExportEncoding;
+import com.translation.service.LocaleSnapshot;
 import com.translation.service.TranslationService;
+import com.translation.service.TranslationWriteQueue;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -13,9 +21,12 @@ import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.http.MediaType;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 
 import java.util.*;
 import java.util.HashSet;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
 
 import static org.mockito.ArgumentMatchers.*;
 import static org.mockito.Mockito.when;
@@ -33,6 +44,9 @@ class TranslationControllerTest {
     @MockBean
     private TranslationService translationService;
     
+    @MockBean
+    private TranslationWriteQueue writeQueue;
+    
     @MockBean
     private JwtUtil jwtUtil;
     
@@ -78,18 +92,173 @@ class TranslationControllerTest {
         mockMvc.perform(get("/api/translations/1"))
                 .andExpect(status().isNotFound());
     }
-
+    
     
     @Test
     @WithMockUser
     void exportTranslations_Success() throws Exception {
-        Map<String, String> translations = Map.of("button.save", "Save");
-        when(translationService.getTranslationsForLocale("en")).thenReturn(translations);
+        byte[] json = objectMapper.writeValueAsBytes(Map.of("button.save", "Save"));
+        when(translationService.getLocaleSnapshot("en")).thenReturn(new LocaleSnapshot("en", 1L, 7L, json));
         mockMvc.perform(get("/api/translations/export/en"))
                 .andExpect(status().isOk())
+                .andExpect(header().exists("ETag"))
+                .andExpect(header().string("X-Change-Sequence", "7"))
                 .andExpect(jsonPath("$['button.save']").value("Save"));
     }
     
+    @Test
+    @WithMockUser
+    void exportTranslations_NotModified() throws Exception {
+        byte[] json = objectMapper.writeValueAsBytes(Map.of("button.save", "Save"));
+        LocaleSnapshot snapshot = new LocaleSnapshot("en", 1L, 7L, json);
+        when(translationService.getLocaleSnapshot("en")).thenReturn(snapshot);
+        mockMvc.perform(get("/api/translations/export/en").header("If-None-Match", snapshot.getEtag()))
+                .andExpect(status().isNotModified());
+    }
+    
+    @Test
+    @WithMockUser
+    void exportTranslations_GzipNegotiated() throws Exception {
+        byte[] json = objectMapper.writeValueAsBytes(Map.of("button.save", "Save"));
+        LocaleSnapshot snapshot = new LocaleSnapshot("en", 1L, 7L, json);
+        when(translationService.getLocaleSnapshot("en")).thenReturn(snapshot);
+        mockMvc.perform(get("/api/translations/export/en").header("Accept-Encoding", "br, gzip;q=0.8"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Content-Encoding", "gzip"))
+                .andExpect(header().string("ETag", snapshot.getEtag(ExportEncoding.GZIP)))
+                .andExpect(content().bytes(snapshot.getBody(ExportEncoding.GZIP)));
+    }
+    
+    @Test
+    @WithMockUser
+    void exportTranslations_GzipRefused() throws Exception {
+        byte[] json = objectMapper.writeValueAsBytes(Map.of("button.save", "Save"));
+        when(translationService.getLocaleSnapshot("en")).thenReturn(new LocaleSnapshot("en", 1L, 7L, json));
+        mockMvc.perform(get("/api/translations/export/en").header("Accept-Encoding", "gzip;q=0, identity"))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist("Content-Encoding"))
+                .andExpect(jsonPath("$['button.save']").value("Save"));
+    }
+    
+    @Test
+    @WithMockUser
+    void exportTranslations_Delta() throws Exception {
+        TranslationDelta delta = new TranslationDelta("en", 5L, 9L);
+        delta.getUpserts().put("button.save", "Save");
+        delta.getDeletes().add("button.old");
+        when(translationService.getTranslationDelta("en", 5L)).thenReturn(delta);
+        mockMvc.perform(get("/api/translations/export/en").param("since", "5"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("X-Change-Sequence", "9"))
+                .andExpect(jsonPath("$.upserts['button.save']").value("Save"))
+                .andExpect(jsonPath("$.deletes[0]").value("button.old"))
+                .andExpect(jsonPath("$.reset").value(false));
+    }
+    
+    @Test
+    @WithMockUser
+    void getNamespace_Success() throws Exception {
+        when(translationService.getNamespace("en", "button.")).thenReturn(Map.of("button.save", "Save"));
+        mockMvc.perform(get("/api/translations/namespace/en/button."))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$['button.save']").value("Save"));
+    }
+    
+    @Test
+    @WithMockUser
+    void getTranslationsBatch_Success() throws Exception {
+        when(translationService.getTranslationsBatch(List.of("button.save"), List.of("en", "fr")))
+            .thenReturn(Map.of("en", Map.of("button.save", "Save"), "fr", Map.of("button.save", "Enregistrer")));
+        mockMvc.perform(post("/api/translations/batch")
+                .with(csrf())
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(
+                    new BatchTranslationRequest(List.of("button.save"), List.of("en", "fr")))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.en['button.save']").value("Save"))
+                .andExpect(jsonPath("$.fr['button.save']").value("Enregistrer"));
+    }
+    
+    @Test
+    @WithMockUser
+    void resolveTranslations_Success() throws Exception {
+        TranslationResolution resolution = new TranslationResolution(List.of("fr-CA", "fr", "en"),
+            Map.of("button.save", new ResolvedTranslation("fr", "Enregistrer")), List.of("button.gone"));
+        when(translationService.resolveTranslations(List.of("button.save", "button.gone"), List.of("fr-CA", "fr", "en")))
+            .thenReturn(resolution);
+        mockMvc.perform(get("/api/translations/resolve")
+                .param("keys", "button.save,button.gone")
+                .param("locales", "fr-CA,fr,en"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.resolved['button.save'].locale").value("fr"))
+                .andExpect(jsonPath("$.resolved['button.save'].content").value("Enregistrer"))
+                .andExpect(jsonPath("$.missing[0]").value("button.gone"));
+    }
+    
+    @Test
+    @WithMockUser
+    void queueTranslation_TooManyRequestsWhenFull() throws Exception {
+        when(writeQueue.isEnabled()).thenReturn(true);
+        when(writeQueue.submit(any(TranslationDto.class)))
+            .thenThrow(new RejectedExecutionException("Write queue is full"));
+        
+        MvcResult result = mockMvc.perform(post("/api/translations/queue")
+                .with(csrf())
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(translationDto)))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isTooManyRequests())
+                .andExpect(header().string("Retry-After", "1"));
+    }
+    
+    @Test
+    @WithMockUser
+    void queueTranslation_SyncAnswersOnceTheWriteCommits() throws Exception {
+        BulkRowResult row = new BulkRowResult(0, "button.save", "en", BulkRowResult.Status.CREATED, 1L, null);
+        CompletableFuture<BulkRowResult> ack = new CompletableFuture<>();
+        when(writeQueue.isEnabled()).thenReturn(true);
+        when(writeQueue.submit(any(TranslationDto.class))).thenReturn(ack);
+        when(writeQueue.awaitCommit(ack)).thenReturn(ack);
+        
+        MvcResult result = mockMvc.perform(post("/api/translations/queue")
+                .param("sync", "true")
+                .with(csrf())
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(translationDto)))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        ack.complete(row);
+        
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.status").value("CREATED"));
+    }
+    
+    @Test
+    @WithMockUser
+    void queueTranslation_SyncBadRequestWhenTheRowFails() throws Exception {
+        BulkRowResult row = new BulkRowResult(0, "button.save", "en", BulkRowResult.Status.FAILED, null,
+            "Content must not be blank");
+        when(writeQueue.isEnabled()).thenReturn(true);
+        when(writeQueue.submit(any(TranslationDto.class))).thenReturn(CompletableFuture.completedFuture(row));
+        when(writeQueue.awaitCommit(any())).thenReturn(CompletableFuture.completedFuture(row));
+        
+        MvcResult result = mockMvc.perform(post("/api/translations/queue")
+                .param("sync", "true")
+                .with(csrf())
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(translationDto)))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isBadRequest())
+                .andExpect(content().string("Content must not be blank"));
+    }
+    
     @Test
     void createTranslation_Unauthorized() throws Exception {
         mockMvc.perform(post("/api/translations/create")
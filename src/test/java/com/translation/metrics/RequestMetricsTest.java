@@ -0,0 +1,55 @@
+package com.translation.metrics;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.hamcrest.Matchers.matchesPattern;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest(properties = {
+    "translation.search-index.enabled=false",
+    "translation.snapshot.warm-on-startup=false",
+    "translation.metrics.server-timing=true"
+})
+@AutoConfigureMockMvc
+class RequestMetricsTest {
+    
+    @Autowired
+    private MockMvc mockMvc;
+    
+    @Autowired
+    private MeterRegistry meterRegistry;
+    
+    @Test
+    @WithMockUser
+    void search_ReportsServerTimingAndStatementCount() throws Exception {
+        mockMvc.perform(get("/api/translations/search").param("locale", "en"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(ServerTimingAdvice.HEADER,
+                    matchesPattern("db;dur=[0-9.]+;desc=\"[1-9][0-9]* calls, [1-9][0-9]* statements\", "
+                        + "dto;dur=[0-9.]+, handler;dur=[0-9.]+")));
+        
+        DistributionSummary statements = meterRegistry.find("translation.request.statements")
+            .tag("uri", "/api/translations/search")
+            .summary();
+        assertNotNull(statements);
+        assertTrue(statements.totalAmount() > 0);
+        assertNotNull(meterRegistry.find("translation.request.phase")
+            .tags("uri", "/api/translations/search", "phase", "serialization")
+            .timer());
+    }
+    
+    @Test
+    void prometheus_RequiresAuthentication() throws Exception {
+        mockMvc.perform(get("/actuator/prometheus"))
+                .andExpect(status().isForbidden());
+    }
+}
@@ -0,0 +1,81 @@
+package com.translation.security;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JwtUtilTest {
+    
+    private JwtUtil jwtUtil;
+    
+    @BeforeEach
+    void setUp() {
+        jwtUtil = jwtUtil(86_400_000L, 3);
+    }
+    
+    @Test
+    void verify_ValidTokenReturnsSubject() {
+        String token = jwtUtil.generateToken("alice");
+        
+        Optional<VerifiedToken> verified = jwtUtil.verify(token);
+        
+        assertTrue(verified.isPresent());
+        assertEquals("alice", verified.get().getSubject());
+        assertNotNull(verified.get().getExpiresAt());
+    }
+    
+    @Test
+    void verify_RepeatedTokenIsServedFromCache() {
+        String token = jwtUtil.generateToken("alice");
+        
+        VerifiedToken first = jwtUtil.verify(token).orElseThrow();
+        VerifiedToken second = jwtUtil.verify(token).orElseThrow();
+        
+        assertSame(first, second);
+        assertEquals(1, jwtUtil.cachedTokenCount());
+    }
+    
+    @Test
+    void verify_RejectsTamperedAndForeignTokens() {
+        String token = jwtUtil.generateToken("alice");
+        int at = token.lastIndexOf('.') + 5;
+        String tampered = token.substring(0, at) + (token.charAt(at) == 'A' ? 'B' : 'A') + token.substring(at + 1);
+        JwtUtil other = jwtUtil(86_400_000L, 3);
+        ReflectionTestUtils.setField(other, "secret", "anotherSecretKey12345678901234567890123456");
+        other.init();
+        
+        assertTrue(jwtUtil.verify(tampered).isEmpty());
+        assertTrue(jwtUtil.verify(other.generateToken("alice")).isEmpty());
+        assertTrue(jwtUtil.verify("not-a-token").isEmpty());
+        assertEquals(0, jwtUtil.cachedTokenCount());
+    }
+    
+    @Test
+    void verify_RejectsExpiredToken() {
+        JwtUtil expiring = jwtUtil(-1_000L, 3);
+        
+        assertTrue(expiring.verify(expiring.generateToken("alice")).isEmpty());
+        assertFalse(expiring.validateToken(expiring.generateToken("alice")));
+    }
+    
+    @Test
+    void verify_CacheStaysBounded() {
+        for (int i = 0; i < 10; i++) {
+            assertTrue(jwtUtil.verify(jwtUtil.generateToken("user" + i)).isPresent());
+        }
+        assertTrue(jwtUtil.cachedTokenCount() <= 3);
+    }
+    
+    private static JwtUtil jwtUtil(long expiration, int cacheMaxSize) {
+        JwtUtil jwtUtil = new JwtUtil();
+        ReflectionTestUtils.setField(jwtUtil, "secret", "mySecretKey123456789012345678901234567890");
+        ReflectionTestUtils.setField(jwtUtil, "expiration", expiration);
+        ReflectionTestUtils.setField(jwtUtil, "cacheMaxSize", cacheMaxSize);
+        jwtUtil.init();
+        return jwtUtil;
+    }
+}
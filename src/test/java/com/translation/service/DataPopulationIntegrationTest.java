@@ -0,0 +1,225 @@
+package com.translation.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.translation.dto.LocaleStatistics;
+import com.translation.dto.PopulationJob;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+
+import java.util.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest(properties = {
+    "translation.search-index.enabled=false",
+    "translation.snapshot.warm-on-startup=false"
+})
+class DataPopulationIntegrationTest {
+    
+    private static final int CHUNK_SIZE = 7;
+    private static final int RECORDS = 30;
+    
+    @Autowired
+    private WebApplicationContext context;
+    
+    @Autowired
+    private DataPopulationService dataPopulationService;
+    
+    @Autowired
+    private LocaleStatsService localeStatsService;
+    
+    @Autowired
+    private TranslationService translationService;
+    
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    
+    @Autowired
+    private ObjectMapper objectMapper;
+    
+    private MockMvc mockMvc;
+    private Object chunkSize;
+    private Set<Long> existing;
+    
+    @BeforeEach
+    void setUp() {
+        mockMvc = MockMvcBuilders.webAppContextSetup(context).build();
+        chunkSize = ReflectionTestUtils.getField(dataPopulationService, "chunkSize");
+        ReflectionTestUtils.setField(dataPopulationService, "chunkSize", CHUNK_SIZE);
+        existing = new HashSet<>(jdbcTemplate.queryForList("SELECT id FROM translations", Long.class));
+    }
+    
+    @AfterEach
+    void tearDown() {
+        ReflectionTestUtils.setField(dataPopulationService, "chunkSize", chunkSize);
+        ReflectionTestUtils.setField(dataPopulationService, "localeStatsService", localeStatsService);
+        deletePopulatedRows();
+    }
+    
+    @Test
+    void job_WritesEveryChunkAndSameSeedReproducesTheDataset() throws Exception {
+        PopulationJob job = awaitJob(startJob(RECORDS, 99L));
+        
+        assertEquals(PopulationJob.Status.COMPLETED, job.getStatus());
+        assertEquals(RECORDS, job.getRequested());
+        assertEquals(RECORDS, job.getCompleted());
+        assertEquals(99L, job.getSeed());
+        assertNotNull(job.getDurationMs());
+        assertNull(job.getError());
+        List<String> dataset = populatedRows();
+        assertEquals(RECORDS, dataset.size());
+        
+        deletePopulatedRows();
+        assertEquals(PopulationJob.Status.COMPLETED, awaitJob(startJob(RECORDS, 99L)).getStatus());
+        
+        assertEquals(dataset, populatedRows());
+    }
+    
+    @Test
+    void job_RerunSkipsPairsThatExist() throws Exception {
+        assertEquals(PopulationJob.Status.COMPLETED, awaitJob(startJob(RECORDS, 99L)).getStatus());
+        List<String> dataset = populatedRows();
+        
+        PopulationJob rerun = awaitJob(startJob(RECORDS, 99L));
+        
+        assertEquals(PopulationJob.Status.COMPLETED, rerun.getStatus(), rerun.getError());
+        assertEquals(0, rerun.getCompleted());
+        assertEquals(RECORDS, rerun.getSkipped());
+        assertEquals(dataset, populatedRows());
+    }
+    
+    @Test
+    void job_FailedChunkRollsBackAloneAndMarksTheJobFailed() throws Exception {
+        AtomicInteger chunks = new AtomicInteger();
+        LocaleStatsService failingStats = mock(LocaleStatsService.class);
+        doAnswer(invocation -> {
+            if (chunks.incrementAndGet() == 2) {
+                throw new IllegalStateException("chunk failed");
+            }
+            localeStatsService.apply(invocation.getArgument(0));
+            return null;
+        }).when(failingStats).apply(any());
+        ReflectionTestUtils.setField(dataPopulationService, "localeStatsService", failingStats);
+        
+        PopulationJob job = awaitJob(startJob(RECORDS, 7L));
+        
+        assertEquals(PopulationJob.Status.FAILED, job.getStatus());
+        assertEquals("chunk failed", job.getError());
+        assertNotNull(job.getFinishedAt());
+        assertTrue(job.getCompleted() < RECORDS);
+        assertEquals(job.getCompleted(), populatedRows().size());
+    }
+    
+    @Test
+    void job_ParallelChunksSeedStatisticsForNewLocales() throws Exception {
+        // Every chunk touches all four locales, none of which has a statistics row yet.
+        ReflectionTestUtils.setField(dataPopulationService, "chunkSize", 4);
+        jdbcTemplate.update("DELETE FROM locale_tag_stats");
+        jdbcTemplate.update("DELETE FROM locale_stats");
+        ((Set<?>) ReflectionTestUtils.getField(localeStatsService, "knownLocales")).clear();
+        ((Set<?>) ReflectionTestUtils.getField(localeStatsService, "knownTags")).clear();
+        // Chunks hold their transactions open long enough to overlap, and the first one rolls back.
+        AtomicInteger chunks = new AtomicInteger();
+        LocaleStatsService slowStats = mock(LocaleStatsService.class);
+        doAnswer(invocation -> {
+            localeStatsService.apply(invocation.getArgument(0));
+            Thread.sleep(50);
+            if (chunks.incrementAndGet() == 1) {
+                throw new IllegalStateException("chunk failed");
+            }
+            return null;
+        }).when(slowStats).apply(any());
+        ReflectionTestUtils.setField(dataPopulationService, "localeStatsService", slowStats);
+        try {
+            PopulationJob failed = awaitJob(startJob(RECORDS, 13L));
+            PopulationJob completed = awaitJob(startJob(RECORDS, 14L));
+            
+            assertEquals("chunk failed", failed.getError());
+            assertEquals(PopulationJob.Status.COMPLETED, completed.getStatus(), completed.getError());
+            Map<String, Long> perLocale = new TreeMap<>();
+            for (String row : populatedRows()) {
+                perLocale.merge(row.substring(0, row.indexOf(':')), 1L, Long::sum);
+            }
+            Map<String, Long> maintained = new TreeMap<>();
+            for (LocaleStatistics stats : localeStatsService.getStatistics()) {
+                maintained.put(stats.getLocale(), stats.getKeyCount());
+            }
+            assertEquals(perLocale, maintained);
+        } finally {
+            localeStatsService.rebuild();
+        }
+    }
+    
+    @Test
+    void job_UnknownIdIsNotFound() throws Exception {
+        mockMvc.perform(get("/api/populate/jobs/{id}", "missing"))
+                .andExpect(status().isNotFound());
+    }
+    
+    private String startJob(int count, long seed) throws Exception {
+        String body = mockMvc.perform(post("/api/populate/jobs")
+                .param("count", String.valueOf(count))
+                .param("seed", String.valueOf(seed)))
+                .andExpect(status().isAccepted())
+                .andExpect(header().exists("Location"))
+                .andReturn().getResponse().getContentAsString();
+        return objectMapper.readValue(body, PopulationJob.class).getId();
+    }
+    
+    private PopulationJob awaitJob(String id) throws Exception {
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (true) {
+            String body = mockMvc.perform(get("/api/populate/jobs/{id}", id))
+                    .andExpect(status().isOk())
+                    .andReturn().getResponse().getContentAsString();
+            PopulationJob job = objectMapper.readValue(body, PopulationJob.class);
+            if (job.getStatus() != PopulationJob.Status.RUNNING) {
+                return job;
+            }
+            assertTrue(System.currentTimeMillis() < deadline, "Population job " + id + " did not finish");
+            Thread.sleep(20);
+        }
+    }
+    
+    /** The rows written since the test started, without their ids, in a stable order. */
+    private List<String> populatedRows() {
+        Map<Long, SortedSet<String>> tags = new HashMap<>();
+        jdbcTemplate.query("SELECT tt.translation_id, t.name FROM translation_tags tt JOIN tags t ON t.id = tt.tag_id",
+            row -> {
+                tags.computeIfAbsent(row.getLong(1), id -> new TreeSet<>()).add(row.getString(2));
+            });
+        List<String> rows = new ArrayList<>();
+        jdbcTemplate.query("SELECT id, locale, translation_key, content FROM translations", row -> {
+            long id = row.getLong(1);
+            if (!existing.contains(id)) {
+                rows.add(row.getString(2) + ":" + row.getString(3) + "=" + row.getString(4)
+                    + tags.getOrDefault(id, new TreeSet<>()));
+            }
+        });
+        Collections.sort(rows);
+        return rows;
+    }
+    
+    private void deletePopulatedRows() {
+        for (Long id : jdbcTemplate.queryForList("SELECT id FROM translations", Long.class)) {
+            if (!existing.contains(id)) {
+                translationService.deleteTranslation(id);
+            }
+        }
+    }
+}
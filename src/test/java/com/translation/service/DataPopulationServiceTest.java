@@ -0,0 +1,48 @@
+package com.translation.service;
+
+import com.translation.entity.Tag;
+import com.translation.entity.Translation;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DataPopulationServiceTest {
+    
+    private final List<Tag> tags = List.of(new Tag("desktop"), new Tag("info"), new Tag("mobile"), new Tag("web"));
+    
+    @Test
+    void createTranslation_SameSeedProducesSameRecord() {
+        for (int index = 0; index < 100; index++) {
+            Translation first = DataPopulationService.createTranslation(7L, index, tags);
+            Translation second = DataPopulationService.createTranslation(7L, index, tags);
+            
+            assertEquals(first.getKey(), second.getKey());
+            assertEquals(first.getLocale(), second.getLocale());
+            assertEquals(first.getContent(), second.getContent());
+            assertEquals(first.getTags(), second.getTags());
+        }
+    }
+    
+    @Test
+    void createTranslation_DifferentSeedsProduceDifferentDatasets() {
+        boolean differs = false;
+        for (int index = 0; index < 100 && !differs; index++) {
+            differs = !DataPopulationService.createTranslation(1L, index, tags).getKey()
+                .equals(DataPopulationService.createTranslation(2L, index, tags).getKey());
+        }
+        assertTrue(differs);
+    }
+    
+    @Test
+    void createTranslation_KeyLocalePairsAreUnique() {
+        Set<String> pairs = new HashSet<>();
+        for (int index = 0; index < 10_000; index++) {
+            Translation translation = DataPopulationService.createTranslation(42L, index, tags);
+            assertTrue(pairs.add(translation.getLocale() + ":" + translation.getKey()));
+        }
+    }
+}
@@ -0,0 +1,78 @@
+package com.translation.service;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LocaleSnapshotFileTest {
+    
+    @TempDir
+    Path directory;
+    
+    @Test
+    void writeAndMap_RoundTripsSectionsInKeyOrder() throws IOException {
+        HeapLocaleStore en = new HeapLocaleStore();
+        en.put("button.save", "Save");
+        en.put("button.cancel", "Cancel");
+        en.put("emoji.😀", "smile");
+        en.put("emoji.～", "fullwidth tilde");
+        HeapLocaleStore fr = new HeapLocaleStore();
+        fr.put("button.save", "Enregistrer");
+        Path path = directory.resolve("translations.snapshot");
+        
+        LocaleSnapshotFile.write(path, List.of(
+            new LocaleSnapshotFile.Section("en", 12L, en),
+            new LocaleSnapshotFile.Section("fr", 7L, fr)));
+        List<LocaleSnapshotFile.Section> sections = LocaleSnapshotFile.map(path);
+        
+        assertFalse(Files.exists(directory.resolve("translations.snapshot.tmp")));
+        assertEquals(2, sections.size());
+        LocaleSnapshotFile.Section mapped = sections.get(0);
+        assertEquals("en", mapped.getLocale());
+        assertEquals(12L, mapped.getChangeSequence());
+        assertEquals(new ArrayList<>(en.asMap().entrySet()), new ArrayList<>(mapped.getEntries().asMap().entrySet()));
+        assertEquals("smile", mapped.getEntries().get("emoji.😀"));
+        assertNull(mapped.getEntries().get("button.sav"));
+        assertEquals(Map.of("button.cancel", "Cancel", "button.save", "Save"), mapped.getEntries().range("button."));
+        assertEquals("Enregistrer", sections.get(1).getEntries().get("button.save"));
+    }
+    
+    @Test
+    void mappedStore_OverlaysWrites() throws IOException {
+        HeapLocaleStore en = new HeapLocaleStore();
+        en.put("a", "1");
+        en.put("c", "3");
+        en.put("e", "5");
+        Path path = directory.resolve("translations.snapshot");
+        LocaleSnapshotFile.write(path, List.of(new LocaleSnapshotFile.Section("en", 1L, en)));
+        LocaleStore store = LocaleSnapshotFile.map(path).get(0).getEntries();
+        
+        store.put("b", "2");
+        store.put("c", "three");
+        store.remove("e");
+        store.remove("missing");
+        store.put("f", "6");
+        
+        assertEquals("three", store.get("c"));
+        assertNull(store.get("e"));
+        assertEquals(4, store.size());
+        Map<String, String> visited = new LinkedHashMap<>();
+        store.forEach(visited::put);
+        assertEquals(List.of("a", "b", "c", "f"), new ArrayList<>(visited.keySet()));
+        assertEquals("three", visited.get("c"));
+    }
+    
+    @Test
+    void map_RejectsForeignFiles() throws IOException {
+        Path path = directory.resolve("translations.snapshot");
+        Files.write(path, new byte[64]);
+        
+        assertThrows(IOException.class, () -> LocaleSnapshotFile.map(path));
+    }
+}
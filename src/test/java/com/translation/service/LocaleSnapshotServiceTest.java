@@ -0,0 +1,249 @@
+package com.translation.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.translation.dto.ResolvedTranslation;
+import com.translation.dto.TranslationEntry;
+import com.translation.entity.Translation;
+import com.translation.event.TranslationChangedEvent;
+import com.translation.repository.LocaleStatsRepository;
+import com.translation.repository.TranslationChangeRepository;
+import com.translation.repository.TranslationRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.*;
+import java.util.concurrent.ExecutorService;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class LocaleSnapshotServiceTest {
+    
+    @Mock
+    private TranslationRepository translationRepository;
+    
+    @Mock
+    private TranslationChangeRepository changeRepository;
+    
+    @Mock
+    private LocaleStatsRepository localeStatsRepository;
+    
+    @Mock
+    private LocaleStatsService localeStatsService;
+    
+    @Mock
+    private PlatformTransactionManager transactionManager;
+    
+    @Mock
+    private ExecutorService snapshotExecutor;
+    
+    @Spy
+    private ObjectMapper objectMapper = new ObjectMapper();
+    
+    @InjectMocks
+    private LocaleSnapshotService localeSnapshotService;
+    
+    private Translation translation;
+    
+    @BeforeEach
+    void setUp() {
+        translation = new Translation("button.save", "en", "Save");
+        translation.setId(1L);
+        lenient().when(localeStatsRepository.isActive(anyString())).thenReturn(true);
+        ReflectionTestUtils.setField(localeSnapshotService, "outOfOrderWindowMs", 60_000L);
+    }
+    
+    @Test
+    void getSnapshot_LoadsOnceAndCaches() throws Exception {
+        when(translationRepository.streamEntriesByLocale("en"))
+            .thenAnswer(invocation -> Stream.of(new TranslationEntry("button.save", "Save")));
+        LocaleSnapshot first = localeSnapshotService.getSnapshot("en");
+        LocaleSnapshot second = localeSnapshotService.getSnapshot("en");
+        assertSame(first, second);
+        assertEquals(Map.of("button.save", "Save"), objectMapper.readValue(first.getJson(), Map.class));
+        verify(translationRepository, times(1)).streamEntriesByLocale("en");
+    }
+    
+    @Test
+    void onTranslationChanged_AppliesIncrementally() throws Exception {
+        when(translationRepository.streamEntriesByLocale("en"))
+            .thenAnswer(invocation -> Stream.of(new TranslationEntry("button.save", "Save")));
+        LocaleSnapshot before = localeSnapshotService.getSnapshot("en");
+        
+        Translation added = new Translation("button.cancel", "en", "Cancel");
+        added.setId(2L);
+        localeSnapshotService.onTranslationChanged(TranslationChangedEvent.created(added, 2L));
+        localeSnapshotService.onTranslationChanged(TranslationChangedEvent.deleted(translation, 3L));
+        
+        LocaleSnapshot after = localeSnapshotService.getSnapshot("en");
+        assertNotEquals(before.getEtag(), after.getEtag());
+        assertTrue(after.getVersion() > before.getVersion());
+        assertEquals(3L, after.getChangeSequence());
+        assertEquals(Map.of("button.cancel", "Cancel"), objectMapper.readValue(after.getJson(), Map.class));
+        verify(translationRepository, times(1)).streamEntriesByLocale("en");
+    }
+    
+    @Test
+    void onTranslationChanged_IgnoresOlderUpdatesOfAKey() throws Exception {
+        when(changeRepository.findMaxSequence()).thenReturn(5L);
+        when(translationRepository.streamEntriesByLocale("en"))
+            .thenAnswer(invocation -> Stream.of(new TranslationEntry("button.save", "Save")));
+        localeSnapshotService.getSnapshot("en");
+        
+        Translation stale = new Translation("button.save", "en", "Stale");
+        stale.setId(1L);
+        Translation latest = new Translation("button.save", "en", "Save now");
+        latest.setId(1L);
+        localeSnapshotService.onTranslationChanged(TranslationChangedEvent.updated(stale, 4L, "button.save", "en"));
+        localeSnapshotService.onTranslationChanged(TranslationChangedEvent.updated(latest, 7L, "button.save", "en"));
+        localeSnapshotService.onTranslationChanged(TranslationChangedEvent.updated(stale, 6L, "button.save", "en"));
+        
+        LocaleSnapshot snapshot = localeSnapshotService.getSnapshot("en");
+        assertEquals(Map.of("button.save", "Save now"), objectMapper.readValue(snapshot.getJson(), Map.class));
+        assertEquals(7L, snapshot.getChangeSequence());
+    }
+    
+    @Test
+    void onTranslationChanged_LateDeleteIsUndoneByTheHoldersResend() {
+        when(translationRepository.streamEntriesByLocale("en")).thenAnswer(invocation -> Stream.of(
+            new TranslationEntry("button.save", "Save"),
+            new TranslationEntry("button.cancel", "Cancel")));
+        localeSnapshotService.getSnapshot("en");
+        
+        // Cluster sync re-sends the key's holder with its last upsert after a delete that arrived late.
+        Translation holder = new Translation("button.save", "en", "Save");
+        holder.setId(9L);
+        localeSnapshotService.onTranslationChanged(TranslationChangedEvent.deleted(translation, 20L));
+        localeSnapshotService.onTranslationChanged(TranslationChangedEvent.created(holder, 20L));
+        assertNull(localeSnapshotService.getContent("en", "button.save"));
+        localeSnapshotService.onTranslationChanged(TranslationChangedEvent.created(holder, 23L));
+        
+        assertEquals("Save", localeSnapshotService.getContent("en", "button.save"));
+    }
+    
+    @Test
+    void unknownLocale_AnsweredEmptyWithoutState() throws Exception {
+        when(localeStatsRepository.isActive("xx")).thenReturn(false);
+        when(changeRepository.findMaxSequence()).thenReturn(9L);
+        
+        LocaleSnapshot snapshot = localeSnapshotService.getSnapshot("xx");
+        
+        assertEquals(Map.of(), objectMapper.readValue(snapshot.getJson(), Map.class));
+        assertEquals(9L, snapshot.getChangeSequence());
+        assertTrue(localeSnapshotService.getNamespace("xx", "button.").isEmpty());
+        assertNull(localeSnapshotService.getContent("xx", "button.save"));
+        assertTrue(localeSnapshotService.getEntries("xx").isEmpty());
+        assertFalse(localeSnapshotService.isLoaded("xx"));
+        verify(translationRepository, never()).streamEntriesByLocale("xx");
+    }
+    
+    @Test
+    void unknownLocale_RememberedUntilAWriteCommits() throws Exception {
+        when(localeStatsRepository.isActive("xx")).thenReturn(false);
+        localeSnapshotService.getSnapshot("xx");
+        localeSnapshotService.getSnapshot("xx");
+        verify(localeStatsRepository, times(1)).isActive("xx");
+        verify(changeRepository, times(1)).findMaxSequence();
+        
+        when(localeStatsRepository.isActive("xx")).thenReturn(true);
+        when(translationRepository.streamEntriesByLocale("xx"))
+            .thenAnswer(invocation -> Stream.of(new TranslationEntry("button.save", "Save")));
+        Translation created = new Translation("button.save", "xx", "Save");
+        created.setId(2L);
+        localeSnapshotService.onTranslationChanged(TranslationChangedEvent.created(created, 10L));
+        
+        assertEquals(Map.of("button.save", "Save"),
+            objectMapper.readValue(localeSnapshotService.getSnapshot("xx").getJson(), Map.class));
+    }
+    
+    @Test
+    void onTranslationChanged_DropsKeySequencesOutsideTheWindow() {
+        ReflectionTestUtils.setField(localeSnapshotService, "outOfOrderWindowMs", 0L);
+        when(translationRepository.streamEntriesByLocale("en"))
+            .thenAnswer(invocation -> Stream.of(new TranslationEntry("button.save", "Save")));
+        localeSnapshotService.getSnapshot("en");
+        
+        for (long sequence = 1; sequence <= 3; sequence++) {
+            Translation written = new Translation("button.k" + sequence, "en", "K" + sequence);
+            written.setId(sequence + 1);
+            localeSnapshotService.onTranslationChanged(TranslationChangedEvent.created(written, sequence));
+        }
+        
+        Map<?, ?> states = (Map<?, ?>) ReflectionTestUtils.getField(localeSnapshotService, "states");
+        Map<?, ?> keySequences = (Map<?, ?>) ReflectionTestUtils.getField(states.get("en"), "keySequences");
+        assertEquals(Set.of("button.k3"), keySequences.keySet());
+        assertEquals("K3", localeSnapshotService.getContent("en", "button.k3"));
+    }
+    
+    @Test
+    void warmAll_LoadsTheLocalesListedInTheStatistics() {
+        when(localeStatsService.getActiveLocales()).thenReturn(List.of("en"));
+        when(translationRepository.streamEntriesByLocale("en"))
+            .thenAnswer(invocation -> Stream.of(new TranslationEntry("button.save", "Save")));
+        
+        localeSnapshotService.warmAll();
+        
+        assertTrue(localeSnapshotService.isLoaded("en"));
+        verify(translationRepository, times(1)).streamEntriesByLocale("en");
+    }
+    
+    @Test
+    void getNamespace_ReturnsKeysUnderPrefixInOrder() {
+        when(translationRepository.streamEntriesByLocale("en")).thenAnswer(invocation -> Stream.of(
+            new TranslationEntry("button.save", "Save"),
+            new TranslationEntry("label.name", "Name"),
+            new TranslationEntry("button.cancel", "Cancel"),
+            new TranslationEntry("buttons", "Buttons")));
+        SortedMap<String, String> namespace = localeSnapshotService.getNamespace("en", "button.");
+        assertEquals(List.of("button.cancel", "button.save"), new ArrayList<>(namespace.keySet()));
+    }
+    
+    @Test
+    void resolve_FallsBackAlongTheLocaleChain() {
+        when(translationRepository.streamEntriesByLocale("fr-CA"))
+            .thenAnswer(invocation -> Stream.of(new TranslationEntry("button.save", "Sauvegarder")));
+        when(translationRepository.streamEntriesByLocale("fr"))
+            .thenAnswer(invocation -> Stream.of(new TranslationEntry("button.cancel", "Annuler")));
+        when(translationRepository.streamEntriesByLocale("en")).thenAnswer(invocation -> Stream.of(
+            new TranslationEntry("button.save", "Save"),
+            new TranslationEntry("button.cancel", "Cancel"),
+            new TranslationEntry("button.close", "Close")));
+        
+        Map<String, ResolvedTranslation> resolved = localeSnapshotService.resolve(
+            List.of("button.save", "button.cancel", "button.close", "button.missing"), List.of("fr-CA", "fr", "en"));
+        
+        assertEquals(new ResolvedTranslation("fr-CA", "Sauvegarder"), resolved.get("button.save"));
+        assertEquals(new ResolvedTranslation("fr", "Annuler"), resolved.get("button.cancel"));
+        assertEquals(new ResolvedTranslation("en", "Close"), resolved.get("button.close"));
+        assertFalse(resolved.containsKey("button.missing"));
+    }
+    
+    @Test
+    void onTranslationChanged_RelocatedKeyMovesBetweenLocales() throws Exception {
+        when(translationRepository.streamEntriesByLocale("en"))
+            .thenAnswer(invocation -> Stream.of(new TranslationEntry("button.save", "Save")));
+        when(translationRepository.streamEntriesByLocale("fr"))
+            .thenAnswer(invocation -> Stream.of(new TranslationEntry("button.close", "Fermer")));
+        localeSnapshotService.getSnapshot("en");
+        localeSnapshotService.getSnapshot("fr");
+        
+        Translation moved = new Translation("button.save", "fr", "Enregistrer");
+        moved.setId(1L);
+        localeSnapshotService.onTranslationChanged(TranslationChangedEvent.updated(moved, 2L, "button.save", "en"));
+        
+        // The emptied locale is dropped rather than kept as an empty state.
+        assertFalse(localeSnapshotService.isLoaded("en"));
+        assertEquals(Map.of("button.save", "Enregistrer", "button.close", "Fermer"),
+            objectMapper.readValue(localeSnapshotService.getSnapshot("fr").getJson(), Map.class));
+    }
+}
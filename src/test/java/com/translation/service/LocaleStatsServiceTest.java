@@ -0,0 +1,159 @@
+package com.translation.service;
+
+import com.translation.dto.BulkUpsertResult;
+import com.translation.dto.LocaleStatistics;
+import com.translation.dto.TranslationDto;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(properties = {
+    "translation.search-index.enabled=false",
+    "translation.snapshot.warm-on-startup=false"
+})
+class LocaleStatsServiceTest {
+    
+    @Autowired
+    private TranslationService translationService;
+    
+    @Autowired
+    private LocaleStatsService localeStatsService;
+    
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+    
+    @Test
+    void writes_KeepStatisticsInStep() {
+        TranslationDto first = translationService.createTranslation(
+            new TranslationDto("stats.first", "sa", "Prêt", Set.of("mobile", "web")));
+        translationService.createTranslation(new TranslationDto("stats.second", "sa", "Go", Set.of("web")));
+        BulkUpsertResult bulk = translationService.bulkUpsert(List.of(
+            new TranslationDto("stats.second", "sa", "Gone", Set.of()),
+            new TranslationDto("stats.third", "sb", "Third", Set.of("mobile"))));
+        
+        LocaleStatistics sa = statistics("sa");
+        assertEquals(2, sa.getKeyCount());
+        assertEquals("Prêt".getBytes(StandardCharsets.UTF_8).length + 4, sa.getContentBytes());
+        assertEquals(Map.of("mobile", 1L, "web", 1L), sa.getTags());
+        assertNotNull(sa.getLastUpdated());
+        assertEquals(1, statistics("sb").getKeyCount());
+        
+        translationService.updateTranslation(first.getId(), new TranslationDto("stats.first", "sb", "Ready", Set.of()));
+        translationService.deleteTranslation(bulk.getResults().get(0).getId());
+        
+        assertNull(statistics("sa"));
+        assertFalse(translationService.getAvailableLocales().contains("sa"));
+        LocaleStatistics sb = statistics("sb");
+        assertEquals(2, sb.getKeyCount());
+        assertEquals(10, sb.getContentBytes());
+        assertEquals(Map.of("mobile", 1L), sb.getTags());
+    }
+    
+    @Test
+    void rebuild_MatchesMaintainedStatistics() {
+        translationService.createTranslation(new TranslationDto("stats.rebuild", "sc", "Rebuilt", Set.of("info")));
+        LocaleStatistics maintained = statistics("sc");
+        
+        localeStatsService.rebuild();
+        LocaleStatistics rebuilt = statistics("sc");
+        
+        assertEquals(1, rebuilt.getKeyCount());
+        assertEquals(maintained.getContentBytes(), rebuilt.getContentBytes());
+        assertEquals(Map.of("info", 1L), rebuilt.getTags());
+        translationService.createTranslation(new TranslationDto("stats.after", "sc", "More", Set.of("info")));
+        assertEquals(2, statistics("sc").getKeyCount());
+    }
+    
+    @Test
+    void apply_SeedsRowsThatAlreadyExistWithoutFailingTheWrite() {
+        translationService.createTranslation(new TranslationDto("stats.seeded", "sd", "One", Set.of("info")));
+        ((Set<?>) ReflectionTestUtils.getField(localeStatsService, "knownLocales")).clear();
+        ((Set<?>) ReflectionTestUtils.getField(localeStatsService, "knownTags")).clear();
+        
+        translationService.createTranslation(new TranslationDto("stats.reseeded", "sd", "Two", Set.of("info")));
+        
+        LocaleStatistics sd = statistics("sd");
+        assertEquals(2, sd.getKeyCount());
+        assertEquals(6, sd.getContentBytes());
+        assertEquals(Map.of("info", 2L), sd.getTags());
+    }
+    
+    @Test
+    void apply_ConcurrentWritersSeedNewLocalesOnce() throws Exception {
+        String[] locales = {"pa", "pb", "pc"};
+        int writers = 6;
+        int rounds = 5;
+        // Creating the tag is not what races here.
+        translationService.createTranslation(new TranslationDto("race.tag", "pz", "x", Set.of("race")));
+        ExecutorService executor = Executors.newFixedThreadPool(writers);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> results = new ArrayList<>();
+        try {
+            for (int writer = 0; writer < writers; writer++) {
+                int w = writer;
+                results.add(executor.submit(() -> {
+                    start.await();
+                    for (int round = 0; round < rounds; round++) {
+                        List<TranslationDto> chunk = new ArrayList<>();
+                        for (String locale : locales) {
+                            chunk.add(new TranslationDto("race." + w + "." + round, locale, "x", Set.of("race")));
+                        }
+                        translationService.bulkUpsert(chunk);
+                    }
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> result : results) {
+                result.get(30, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        
+        for (String locale : locales) {
+            LocaleStatistics stats = statistics(locale);
+            assertEquals(writers * rounds, stats.getKeyCount());
+            assertEquals(Map.of("race", (long) writers * rounds), stats.getTags());
+        }
+    }
+    
+    @Test
+    void apply_RolledBackWriteLeavesNoStaleStatistics() {
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        transaction.executeWithoutResult(status -> {
+            translationService.createTranslation(new TranslationDto("stats.rolled", "se", "Gone", Set.of("gone")));
+            status.setRollbackOnly();
+        });
+        assertNull(statistics("se"));
+        
+        translationService.createTranslation(new TranslationDto("stats.kept", "se", "Kept", Set.of("gone")));
+        
+        LocaleStatistics se = statistics("se");
+        assertEquals(1, se.getKeyCount());
+        assertEquals(Map.of("gone", 1L), se.getTags());
+    }
+    
+    private LocaleStatistics statistics(String locale) {
+        return localeStatsService.getStatistics().stream()
+            .filter(statistics -> statistics.getLocale().equals(locale))
+            .findFirst()
+            .orElse(null);
+    }
+}
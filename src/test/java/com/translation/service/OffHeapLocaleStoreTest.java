@@ -0,0 +1,106 @@
+package com.translation.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class OffHeapLocaleStoreTest {
+    
+    private final OffHeapLocaleStore store = new OffHeapLocaleStore();
+    
+    @Test
+    void putGetAndRemove() {
+        store.put("button.save", "Save");
+        store.put("button.cancel", "Cancel");
+        store.put("button.save", "Save changes");
+        store.remove("button.cancel");
+        store.remove("button.missing");
+        
+        assertEquals("Save changes", store.get("button.save"));
+        assertNull(store.get("button.cancel"));
+        assertNull(store.get("button.sav"));
+        assertEquals(1, store.size());
+    }
+    
+    @Test
+    void matchesNonAsciiKeysWithoutDecoding() {
+        Map<String, String> entries = Map.of(
+            "greeting.café", "Café",
+            "greeting.日本", "こんにちは",
+            "emoji.😀", "smile",
+            "lone.\uD800", "unpaired surrogate");
+        entries.forEach(store::put);
+        
+        entries.forEach((key, content) -> assertEquals(content, store.get(key)));
+        assertNull(store.get("greeting.cafe"));
+        assertNull(store.get("greeting.日"));
+    }
+    
+    @Test
+    void survivesGrowthRemovalsAndCompaction() {
+        Map<String, String> expected = new HashMap<>();
+        for (int i = 0; i < 50_000; i++) {
+            String content = "content " + i + " " + "x".repeat(i % 50);
+            store.put("key." + i, content);
+            expected.put("key." + i, content);
+        }
+        for (int round = 0; round < 3; round++) {
+            for (int i = 0; i < 50_000; i += 2) {
+                String content = "updated " + round + " " + i + "y".repeat(40);
+                store.put("key." + i, content);
+                expected.put("key." + i, content);
+            }
+        }
+        for (int i = 1; i < 50_000; i += 4) {
+            store.remove("key." + i);
+            expected.remove("key." + i);
+        }
+        
+        assertEquals(expected.size(), store.size());
+        expected.forEach((key, content) -> assertEquals(content, store.get(key)));
+        assertEquals(new HashMap<>(expected), new HashMap<>(store.asMap()));
+    }
+    
+    @Test
+    void iteratesAndRangesInKeyOrder() {
+        store.put("label.title", "Title");
+        store.put("button.save", "Save");
+        store.put("button.cancel", "Cancel");
+        store.put("buttons", "Buttons");
+        
+        List<String> keys = new ArrayList<>();
+        store.forEach((key, content) -> keys.add(key));
+        
+        assertEquals(List.of("button.cancel", "button.save", "buttons", "label.title"), keys);
+        assertEquals(List.of("button.cancel", "button.save"), new ArrayList<>(store.range("button.").keySet()));
+        assertTrue(store.range("missing.").isEmpty());
+        assertEquals(keys, new ArrayList<>(store.asMap().keySet()));
+    }
+    
+    @Test
+    void keepsKeyOrderAcrossInterleavedWritesAndReads() {
+        TreeMap<String, String> expected = new TreeMap<>(LocaleStore.KEY_ORDER);
+        Random random = new Random(42);
+        for (int i = 0; i < 20_000; i++) {
+            String key = "key." + random.nextInt(5_000);
+            if (random.nextInt(4) == 0) {
+                store.remove(key);
+                expected.remove(key);
+            } else {
+                store.put(key, "content " + i);
+                expected.put(key, "content " + i);
+            }
+            if (i % 997 == 0) {
+                assertEquals(new ArrayList<>(expected.subMap("key.1", LocaleStore.rangeEnd("key.1")).keySet()),
+                    new ArrayList<>(store.range("key.1").keySet()));
+            }
+        }
+        
+        List<String> keys = new ArrayList<>();
+        store.forEach((key, content) -> keys.add(key));
+        assertEquals(new ArrayList<>(expected.keySet()), keys);
+        assertEquals(expected, new TreeMap<>(store.asMap()));
+    }
+}
@@ -0,0 +1,70 @@
+package com.translation.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.translation.config.CacheConfig;
+import com.translation.dto.TranslationDto;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCache;
+
+import java.util.HashSet;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(properties = {
+    "translation.search-index.enabled=false",
+    "translation.snapshot.warm-on-startup=false"
+})
+class TranslationCacheTest {
+    
+    @Autowired
+    private TranslationService translationService;
+    
+    @Autowired
+    private CacheManager cacheManager;
+    
+    @Test
+    void getTranslation_ServedFromCacheUntilUpdated() {
+        TranslationDto created = translationService.createTranslation(dto("cache.update", "en", "Before"));
+        long hits = nativeCache(CacheConfig.TRANSLATIONS).stats().hitCount();
+        
+        assertEquals("Before", translationService.getTranslation(created.getId()).orElseThrow().getContent());
+        assertEquals("Before", translationService.getTranslation(created.getId()).orElseThrow().getContent());
+        assertEquals(hits + 1, nativeCache(CacheConfig.TRANSLATIONS).stats().hitCount());
+        
+        translationService.updateTranslation(created.getId(), dto("cache.update", "en", "After"));
+        
+        assertEquals("After", translationService.getTranslation(created.getId()).orElseThrow().getContent());
+    }
+    
+    @Test
+    void getTranslation_DeleteEvictsEntry() {
+        TranslationDto created = translationService.createTranslation(dto("cache.delete", "en", "Gone soon"));
+        assertTrue(translationService.getTranslation(created.getId()).isPresent());
+        
+        translationService.deleteTranslation(created.getId());
+        
+        assertTrue(translationService.getTranslation(created.getId()).isEmpty());
+    }
+    
+    @Test
+    void locales_InvalidatedByWrites() {
+        translationService.createTranslation(dto("cache.first", "ck", "First"));
+        assertTrue(translationService.getAvailableLocales().contains("ck"));
+        
+        TranslationDto second = translationService.createTranslation(dto("cache.second", "ck", "Second"));
+        translationService.updateTranslation(second.getId(), dto("cache.second", "cl", "Second"));
+        
+        assertTrue(translationService.getAvailableLocales().contains("cl"));
+    }
+    
+    private Cache<Object, Object> nativeCache(String name) {
+        return ((CaffeineCache) cacheManager.getCache(name)).getNativeCache();
+    }
+    
+    private static TranslationDto dto(String key, String locale, String content) {
+        return new TranslationDto(key, locale, content, new HashSet<>());
+    }
+}
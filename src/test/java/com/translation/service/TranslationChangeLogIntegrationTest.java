@@ -0,0 +1,47 @@
+package com.translation.service;
+
+import com.translation.dto.TranslationDelta;
+import com.translation.dto.TranslationDto;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(properties = {
+    "translation.search-index.enabled=false",
+    "translation.snapshot.warm-on-startup=false"
+})
+class TranslationChangeLogIntegrationTest {
+    
+    @Autowired
+    private TranslationService translationService;
+    
+    @Autowired
+    private TranslationChangeLogService changeLogService;
+    
+    @Test
+    void writes_AssignConsecutiveSequencesAndFeedTheDelta() {
+        long since = changeLogService.currentSequence();
+        
+        TranslationDto kept = translationService.createTranslation(dto("delta.kept", "Kept"));
+        TranslationDto removed = translationService.createTranslation(dto("delta.removed", "Removed"));
+        translationService.deleteTranslation(removed.getId());
+        translationService.updateTranslation(kept.getId(), dto("delta.kept", "Kept again"));
+        
+        assertEquals(since + 4, changeLogService.currentSequence());
+        TranslationDelta delta = changeLogService.getDelta("dl", since);
+        assertFalse(delta.isReset());
+        assertEquals(since + 4, delta.getVersion());
+        assertEquals(Map.of("delta.kept", "Kept again"), delta.getUpserts());
+        assertEquals(List.of("delta.removed"), delta.getDeletes());
+    }
+    
+    private static TranslationDto dto(String key, String content) {
+        return new TranslationDto(key, "dl", content, new HashSet<>());
+    }
+}
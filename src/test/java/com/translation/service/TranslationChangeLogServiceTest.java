@@ -0,0 +1,127 @@
+package com.translation.service;
+
+import com.translation.dto.TranslationDelta;
+import com.translation.dto.TranslationEntry;
+import com.translation.entity.TranslationChange;
+import com.translation.repository.TranslationChangeRepository;
+import com.translation.repository.TranslationRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Pageable;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class TranslationChangeLogServiceTest {
+    
+    @Mock
+    private TranslationChangeRepository changeRepository;
+    
+    @Mock
+    private TranslationRepository translationRepository;
+    
+    @Mock
+    private PlatformTransactionManager transactionManager;
+    
+    @InjectMocks
+    private TranslationChangeLogService changeLogService;
+    
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(changeLogService, "maxChanges", 100);
+        ReflectionTestUtils.setField(changeLogService, "retention", Duration.ofDays(7));
+    }
+    
+    @Test
+    void getDelta_ReturnsLatestStatePerKey() {
+        when(changeRepository.findMaxSequence()).thenReturn(14L);
+        when(changeRepository.findByLocaleBetween(eq("en"), eq(10L), eq(14L), any(Pageable.class))).thenReturn(List.of(
+            change(11L, TranslationChange.Type.UPSERT, "button.save"),
+            change(12L, TranslationChange.Type.UPSERT, "button.cancel"),
+            change(13L, TranslationChange.Type.DELETE, "button.cancel"),
+            change(14L, TranslationChange.Type.UPSERT, "button.gone")));
+        when(translationRepository.findEntriesByLocaleAndKeyIn(eq("en"), anyCollection()))
+            .thenReturn(List.of(new TranslationEntry("button.save", "Save")));
+        
+        TranslationDelta delta = changeLogService.getDelta("en", 10L);
+        
+        assertFalse(delta.isReset());
+        assertEquals(14L, delta.getVersion());
+        assertEquals(Map.of("button.save", "Save"), delta.getUpserts());
+        assertEquals(List.of("button.cancel", "button.gone"), delta.getDeletes());
+    }
+    
+    @Test
+    void getDelta_TooManyChangesRequestsReset() {
+        ReflectionTestUtils.setField(changeLogService, "maxChanges", 1);
+        when(changeRepository.findMaxSequence()).thenReturn(14L);
+        when(changeRepository.findByLocaleBetween(eq("en"), eq(10L), eq(14L), any(Pageable.class))).thenReturn(List.of(
+            change(11L, TranslationChange.Type.UPSERT, "button.save"),
+            change(12L, TranslationChange.Type.UPSERT, "button.cancel")));
+        
+        TranslationDelta delta = changeLogService.getDelta("en", 10L);
+        
+        assertTrue(delta.isReset());
+        verifyNoInteractions(translationRepository);
+    }
+    
+    @Test
+    void getDelta_CursorAheadOfLogRequestsReset() {
+        when(changeRepository.findMaxSequence()).thenReturn(3L);
+        TranslationDelta delta = changeLogService.getDelta("en", 10L);
+        assertTrue(delta.isReset());
+    }
+    
+    @Test
+    void getDelta_BulkLoadMarkerRequestsReset() {
+        when(changeRepository.findMaxSequence()).thenReturn(20L);
+        when(changeRepository.existsResetAfter(10L)).thenReturn(true);
+        
+        TranslationDelta delta = changeLogService.getDelta("en", 10L);
+        
+        assertTrue(delta.isReset());
+        verify(changeRepository, never()).findByLocaleBetween(any(), anyLong(), anyLong(), any());
+    }
+    
+    @Test
+    void getDelta_PrunedCursorRequestsReset() {
+        when(changeRepository.findMaxSequence()).thenReturn(20L);
+        when(changeRepository.findMinSequence()).thenReturn(15L);
+        
+        TranslationDelta delta = changeLogService.getDelta("en", 10L);
+        
+        assertTrue(delta.isReset());
+        verify(changeRepository, never()).findByLocaleBetween(any(), anyLong(), anyLong(), any());
+    }
+    
+    @Test
+    void pruneChanges_KeepsTheNewestChange() {
+        when(changeRepository.findLastSequenceBefore(any(LocalDateTime.class))).thenReturn(20L);
+        when(changeRepository.findMaxSequence()).thenReturn(20L);
+        when(changeRepository.findMinSequence()).thenReturn(5L);
+        when(changeRepository.deleteBetween(4L, 19L)).thenReturn(15);
+        
+        changeLogService.pruneChanges();
+        
+        verify(changeRepository).deleteBetween(4L, 19L);
+        verify(transactionManager).commit(any());
+    }
+    
+    private TranslationChange change(long id, TranslationChange.Type type, String key) {
+        TranslationChange change = new TranslationChange(type, id, key, "en");
+        change.setId(id);
+        return change;
+    }
+}
@@ -0,0 +1,62 @@
+package com.translation.service;
+
+import com.translation.dto.CursorPage;
+import com.translation.dto.TranslationDto;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(properties = {
+    "translation.search-index.enabled=true",
+    "translation.snapshot.warm-on-startup=false"
+})
+class TranslationSearchIndexIntegrationTest {
+    
+    @Autowired
+    private TranslationService translationService;
+    
+    @Autowired
+    private TranslationSearchIndex searchIndex;
+    
+    @BeforeEach
+    void awaitIndex() throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (!searchIndex.isReady()) {
+            assertTrue(System.currentTimeMillis() < deadline, "Search index was not built");
+            Thread.sleep(20);
+        }
+    }
+    
+    @Test
+    void tagCursorPages_UpdatedRowIsNeitherRepeatedNorSkipped() {
+        List<Long> ids = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            ids.add(translationService.createTranslation(dto("paging.row" + i, "Row " + i)).getId());
+        }
+        translationService.updateTranslation(ids.get(1), dto("paging.row1", "Row 1 again"));
+        
+        // One row per page, so every row is the boundary a cursor is built from.
+        List<Long> paged = new ArrayList<>();
+        String cursor = "";
+        do {
+            CursorPage<TranslationDto> page = translationService.searchTranslationsByFilterAfter(
+                null, null, null, TagFilter.any(List.of("paging")), SearchMatch.CONTAINS, cursor, 1);
+            page.getContent().forEach(translation -> paged.add(translation.getId()));
+            cursor = page.getNextCursor();
+        } while (cursor != null);
+        
+        assertEquals(List.of(ids.get(1), ids.get(4), ids.get(3), ids.get(2), ids.get(0)), paged);
+    }
+    
+    private static TranslationDto dto(String key, String content) {
+        return new TranslationDto(key, "pg", content, new HashSet<>(Set.of("paging")));
+    }
+}
@@ -0,0 +1,230 @@
+package com.translation.service;
+
+import com.translation.dto.TranslationRow;
+import com.translation.entity.Tag;
+import com.translation.entity.Translation;
+import com.translation.event.TranslationChangedEvent;
+import com.translation.event.TranslationsReloadedEvent;
+import com.translation.repository.TranslationChangeRepository;
+import com.translation.repository.TranslationRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.ExecutorService;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class TranslationSearchIndexTest {
+    
+    @Mock
+    private TranslationRepository translationRepository;
+    
+    @Mock
+    private TranslationChangeRepository changeRepository;
+    
+    @Mock
+    private PlatformTransactionManager transactionManager;
+    
+    @Mock
+    private ExecutorService searchIndexExecutor;
+    
+    @InjectMocks
+    private TranslationSearchIndex searchIndex;
+    
+    @BeforeEach
+    void setUp() {
+        LocalDateTime now = LocalDateTime.of(2024, 1, 1, 12, 0);
+        when(translationRepository.streamAllRows()).thenReturn(Stream.of(
+            new TranslationRow(1L, "button.save", "en", "Save the document", now.minusHours(2)),
+            new TranslationRow(2L, "button.cancel", "en", "Cancel editing", now.minusHours(1)),
+            new TranslationRow(3L, "button.save", "fr", "Enregistrer le document", now)));
+        when(translationRepository.streamTagAssignments()).thenReturn(Stream.of(
+            new Object[]{1L, "web"}, new Object[]{1L, "mobile"}, new Object[]{2L, "web"}, new Object[]{3L, "mobile"}));
+        searchIndex.rebuild();
+    }
+    
+    @Test
+    void search_SubstringIsCaseInsensitiveAndNewestFirst() {
+        Page<Long> result = searchIndex.search("BUTTON", null, null, SearchMatch.CONTAINS, PageRequest.of(0, 10));
+        assertTrue(searchIndex.isReady());
+        assertEquals(List.of(3L, 2L, 1L), result.getContent());
+        assertEquals(3, result.getTotalElements());
+    }
+    
+    @Test
+    void search_FiltersByLocaleAndContent() {
+        Page<Long> result = searchIndex.search(null, "document", "en", SearchMatch.CONTAINS, PageRequest.of(0, 10));
+        assertEquals(List.of(1L), result.getContent());
+    }
+    
+    @Test
+    void search_ShortTermPagesWithoutCollectingEveryMatch() {
+        Page<Long> result = searchIndex.search("Sa", null, null, SearchMatch.CONTAINS, PageRequest.of(1, 1));
+        assertEquals(List.of(1L), result.getContent());
+        assertEquals(2, result.getTotalElements());
+        
+        assertEquals(List.of(1L), searchIndex.search("s", "SAVE", "en", SearchMatch.CONTAINS, PageRequest.of(0, 10))
+            .getContent());
+        assertTrue(searchIndex.search("save", null, "de", SearchMatch.CONTAINS, PageRequest.of(0, 10))
+            .getContent().isEmpty());
+    }
+    
+    @Test
+    void search_PrefixDoesNotMatchInnerText() {
+        assertEquals(List.of(2L), searchIndex.search(null, "cancel", null, SearchMatch.PREFIX, PageRequest.of(0, 10))
+            .getContent());
+        assertTrue(searchIndex.search(null, "editing", null, SearchMatch.PREFIX, PageRequest.of(0, 10))
+            .getContent().isEmpty());
+    }
+    
+    @Test
+    void onTranslationChanged_KeepsIndexInSync() {
+        Translation translation = new Translation("label.title", "en", "Document title");
+        translation.setId(4L);
+        translation.setUpdatedAt(LocalDateTime.of(2024, 1, 2, 0, 0));
+        searchIndex.onTranslationChanged(TranslationChangedEvent.created(translation, 1L));
+        
+        Translation deleted = new Translation("button.save", "en", "Save the document");
+        deleted.setId(1L);
+        searchIndex.onTranslationChanged(TranslationChangedEvent.deleted(deleted, 2L));
+        
+        Page<Long> result = searchIndex.search(null, "document", "en", SearchMatch.CONTAINS, PageRequest.of(0, 10));
+        assertEquals(List.of(4L), result.getContent());
+    }
+    
+    @Test
+    void onTranslationChanged_IgnoresOlderChangesOfATranslation() {
+        ReflectionTestUtils.setField(searchIndex, "outOfOrderWindowMs", 60_000L);
+        Translation latest = new Translation("button.cancel", "en", "Cancel now");
+        latest.setId(2L);
+        Translation stale = new Translation("button.cancel", "en", "Cancel stale");
+        stale.setId(2L);
+        searchIndex.onTranslationChanged(TranslationChangedEvent.updated(latest, 5L, "button.cancel", "en"));
+        searchIndex.onTranslationChanged(TranslationChangedEvent.updated(stale, 4L, "button.cancel", "en"));
+        
+        PageRequest all = PageRequest.of(0, 10);
+        assertEquals(List.of(2L), searchIndex.search(null, "now", null, SearchMatch.CONTAINS, all).getContent());
+        assertTrue(searchIndex.search(null, "stale", null, SearchMatch.CONTAINS, all).getContent().isEmpty());
+    }
+    
+    @Test
+    void rebuild_ReplaysOnlyChangesNewerThanTheRows() {
+        ReflectionTestUtils.setField(searchIndex, "outOfOrderWindowMs", 60_000L);
+        Translation stale = new Translation("button.cancel", "en", "Cancel stale");
+        stale.setId(2L);
+        Translation added = new Translation("label.title", "en", "Document title");
+        added.setId(4L);
+        when(changeRepository.findMaxSequence()).thenReturn(5L);
+        when(translationRepository.streamAllRows()).thenAnswer(invocation -> {
+            // Delivered while the rows are read: one change the rows already hold, one they do not.
+            searchIndex.onTranslationChanged(TranslationChangedEvent.updated(stale, 4L, "button.cancel", "en"));
+            searchIndex.onTranslationChanged(TranslationChangedEvent.created(added, 6L));
+            return Stream.of(new TranslationRow(2L, "button.cancel", "en", "Cancel editing",
+                LocalDateTime.of(2024, 1, 1, 12, 0)));
+        });
+        when(translationRepository.streamTagAssignments()).thenReturn(Stream.empty());
+        
+        searchIndex.rebuild();
+        
+        PageRequest all = PageRequest.of(0, 10);
+        assertEquals(List.of(2L), searchIndex.search(null, "editing", null, SearchMatch.CONTAINS, all).getContent());
+        assertTrue(searchIndex.search(null, "stale", null, SearchMatch.CONTAINS, all).getContent().isEmpty());
+        assertEquals(List.of(4L), searchIndex.search(null, "title", null, SearchMatch.CONTAINS, all).getContent());
+    }
+    
+    @Test
+    void onTranslationsReloaded_FallsBackToTheDatabaseUntilRebuilt() {
+        ReflectionTestUtils.setField(searchIndex, "enabled", true);
+        
+        searchIndex.onTranslationsReloaded(new TranslationsReloadedEvent());
+        
+        assertFalse(searchIndex.isReady());
+        verify(searchIndexExecutor).execute(any(Runnable.class));
+    }
+    
+    @Test
+    void rebuild_StartsOverWhenAReloadArrivesDuringTheBuild() {
+        ReflectionTestUtils.setField(searchIndex, "enabled", true);
+        clearInvocations(translationRepository);
+        LocalDateTime now = LocalDateTime.of(2024, 1, 1, 12, 0);
+        when(translationRepository.streamAllRows())
+            .thenAnswer(invocation -> {
+                // A bulk load commits after the rows were read.
+                searchIndex.onTranslationsReloaded(new TranslationsReloadedEvent());
+                return Stream.of(new TranslationRow(1L, "button.save", "en", "Save the document", now));
+            })
+            .thenReturn(Stream.of(
+                new TranslationRow(1L, "button.save", "en", "Save the document", now),
+                new TranslationRow(4L, "label.bulk", "en", "Loaded in bulk", now)));
+        when(translationRepository.streamTagAssignments()).thenAnswer(invocation -> Stream.empty());
+        
+        searchIndex.rebuild();
+        
+        assertTrue(searchIndex.isReady());
+        assertEquals(List.of(4L), searchIndex.search(null, "bulk", null, SearchMatch.CONTAINS, PageRequest.of(0, 10))
+            .getContent());
+        verify(translationRepository, times(2)).streamAllRows();
+        verifyNoInteractions(searchIndexExecutor);
+    }
+    
+    @Test
+    void searchAfter_PagesPrefixMatchesNewestFirst() {
+        LocalDateTime now = LocalDateTime.of(2024, 1, 1, 12, 0);
+        
+        assertEquals(List.of(3L, 2L), searchIndex.searchAfter("button.", null, null, SearchMatch.PREFIX, null, null, 2));
+        assertEquals(List.of(1L), searchIndex.searchAfter("button.", null, null, SearchMatch.PREFIX,
+            now.minusHours(1), 2L, 2));
+        assertTrue(searchIndex.searchAfter("save", null, null, SearchMatch.PREFIX, null, null, 10).isEmpty());
+    }
+    
+    @Test
+    void searchByTags_CombinesAnyAllAndNone() {
+        PageRequest all = PageRequest.of(0, 10);
+        assertEquals(List.of(2L, 1L), searchIndex.searchByTags(TagFilter.any(List.of("web")), null, all).getContent());
+        assertEquals(List.of(1L), searchIndex.searchByTags(
+            TagFilter.of(null, List.of("web", "mobile"), null), null, all).getContent());
+        assertEquals(List.of(2L), searchIndex.searchByTags(
+            TagFilter.of(null, null, List.of("mobile")), null, all).getContent());
+        assertEquals(List.of(3L), searchIndex.searchByTags(TagFilter.any(List.of("mobile")), "fr", all).getContent());
+        assertTrue(searchIndex.searchByTags(
+            TagFilter.of(null, List.of("web", "unknown"), null), null, all).getContent().isEmpty());
+    }
+    
+    @Test
+    void searchByTags_PagesNewestFirst() {
+        TagFilter tags = TagFilter.any(List.of("web", "mobile"));
+        
+        Page<Long> page = searchIndex.searchByTags(tags, null, PageRequest.of(1, 1));
+        
+        assertEquals(List.of(2L), page.getContent());
+        assertEquals(3, page.getTotalElements());
+        assertEquals(List.of(2L, 1L),
+            searchIndex.searchByTagsAfter(tags, null, LocalDateTime.of(2024, 1, 1, 12, 0), 3L, 10));
+    }
+    
+    @Test
+    void onTranslationChanged_KeepsTagBitmapsInSync() {
+        Translation translation = new Translation("button.save", "en", "Save the document");
+        translation.setId(1L);
+        translation.getTags().add(new Tag("desktop"));
+        searchIndex.onTranslationChanged(TranslationChangedEvent.updated(translation, 1L, "button.save", "en"));
+        
+        PageRequest all = PageRequest.of(0, 10);
+        assertEquals(List.of(1L), searchIndex.searchByTags(TagFilter.any(List.of("desktop")), null, all).getContent());
+        assertEquals(List.of(2L), searchIndex.searchByTags(TagFilter.any(List.of("web")), null, all).getContent());
+    }
+}
@@ -0,0 +1,111 @@
+package com.translation.service;
+
+import com.translation.dto.CursorPage;
+import com.translation.dto.TranslationDto;
+import com.translation.entity.Tag;
+import com.translation.entity.Translation;
+import com.translation.repository.TagRepository;
+import com.translation.repository.TranslationRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Page;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.*;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Guards the number of SQL statements issued by the search read path so that N+1
+ * regressions fail the build.
+ */
+@SpringBootTest(properties = {
+    "spring.jpa.properties.hibernate.generate_statistics=true",
+    "translation.search-index.enabled=false"
+})
+@Transactional
+class TranslationSearchQueryCountTest {
+    
+    private static final int ROWS = 30;
+    
+    @Autowired
+    private TranslationService translationService;
+    
+    @Autowired
+    private TranslationRepository translationRepository;
+    
+    @Autowired
+    private TagRepository tagRepository;
+    
+    @Autowired
+    private EntityManager entityManager;
+    
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+    
+    @BeforeEach
+    void setUp() {
+        Tag mobile = new Tag("qc-mobile");
+        Tag web = new Tag("qc-web");
+        tagRepository.saveAll(List.of(mobile, web));
+        
+        List<Translation> translations = new ArrayList<>();
+        for (int i = 0; i < ROWS; i++) {
+            Translation translation = new Translation("qc.key." + i, "qc", "Query count content " + i);
+            translation.setTags(new HashSet<>(i % 2 == 0 ? Set.of(mobile, web) : Set.of(mobile)));
+            translations.add(translation);
+        }
+        translationRepository.saveAll(translations);
+        entityManager.flush();
+        entityManager.clear();
+    }
+    
+    @Test
+    void searchByKey_UsesConstantNumberOfStatements() {
+        Page<TranslationDto> page = assertStatementCount(3,
+            () -> translationService.searchTranslations("qc.key", null, "qc", null, 0, 20));
+        assertEquals(20, page.getContent().size());
+        assertEquals(ROWS, page.getTotalElements());
+        assertTrue(page.getContent().stream().allMatch(dto -> dto.getTags().contains("qc-mobile")));
+    }
+    
+    @Test
+    void searchByTags_ReturnsDistinctRowsWithConstantNumberOfStatements() {
+        Page<TranslationDto> page = assertStatementCount(2,
+            () -> translationService.searchTranslations(null, null, null, List.of("qc-mobile", "qc-web"), 0, 50));
+        assertEquals(ROWS, page.getTotalElements());
+        assertEquals(ROWS, page.getContent().stream().map(TranslationDto::getId).distinct().count());
+    }
+    
+    @Test
+    void searchWithCursor_SkipsCountQueryAndVisitsEveryRowOnce() {
+        CursorPage<TranslationDto> first = assertStatementCount(2,
+            () -> translationService.searchTranslationsAfter(null, null, "qc", null, "", 12));
+        assertEquals(12, first.getContent().size());
+        assertTrue(first.isHasNext());
+        
+        Set<Long> seen = new HashSet<>();
+        first.getContent().forEach(dto -> seen.add(dto.getId()));
+        CursorPage<TranslationDto> current = first;
+        while (current.isHasNext()) {
+            current = translationService.searchTranslationsAfter(null, null, "qc", null, current.getNextCursor(), 12);
+            current.getContent().forEach(dto -> assertTrue(seen.add(dto.getId()), "Row returned twice"));
+        }
+        assertEquals(ROWS, seen.size());
+    }
+    
+    private <T> T assertStatementCount(long expected, Supplier<T> action) {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        T result = action.get();
+        assertEquals(expected, statistics.getPrepareStatementCount(), "Unexpected number of SQL statements");
+        return result;
+    }
+}
@@ -1,21 +1,37 @@
 package com.translation.service;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.translation.dto.BulkRowResult;
+import com.translation.dto.BulkUpsertResult;
+import com.translation.dto.CursorPage;
 import com.translation.dto.TranslationDto;
+import com.translation.dto.TranslationEntry;
+import com.translation.dto.TranslationRow;
 import com.translation.entity.Tag;
 import com.translation.entity.Translation;
+import com.translation.event.TranslationChangedEvent;
 import com.translation.repository.TagRepository;
 import com.translation.repository.TranslationRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.validation.Validator;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.test.util.ReflectionTestUtils;
 
+import java.io.ByteArrayOutputStream;
+import java.time.LocalDateTime;
 import java.util.*;
+import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.*;
@@ -31,6 +47,30 @@ class TranslationServiceTest {
     @Mock
     private TagRepository tagRepository;
     
+    @Mock
+    private LocaleSnapshotService localeSnapshotService;
+    
+    @Mock
+    private TranslationChangeLogService changeLogService;
+    
+    @Mock
+    private LocaleStatsService localeStatsService;
+    
+    @Spy
+    private TagDictionary tagDictionary = new TagDictionary();
+    
+    @Mock
+    private TranslationSearchIndex searchIndex;
+    
+    @Spy
+    private ObjectMapper objectMapper = new ObjectMapper();
+    
+    @Mock
+    private Validator validator;
+    
+    @Mock
+    private EntityManager entityManager;
+    
     @InjectMocks
     private TranslationService translationService;
     
@@ -49,6 +89,17 @@ class TranslationServiceTest {
         translationDto.setId(1L);
     }
     
+    @Test
+    void getOrCreateTags_ReferencesKnownTagsWithoutQuery() {
+        tagDictionary.register(Set.of(tag));
+        when(entityManager.getReference(Tag.class, 1L)).thenReturn(tag);
+        
+        Set<Tag> tags = translationService.getOrCreateTags(Set.of("mobile"));
+        
+        assertEquals(Set.of(tag), tags);
+        verifyNoInteractions(tagRepository);
+    }
+    
     @Test
     void createTranslation_Success() {
         when(translationRepository.findByKeyAndLocale("button.save", "en")).thenReturn(Optional.empty());
@@ -61,6 +112,7 @@ class TranslationServiceTest {
         assertEquals("Save", result.getContent());
         assertTrue(result.getTags().contains("mobile"));
         verify(translationRepository).save(any(Translation.class));
+        verify(changeLogService).recordUpsert(eq(translation), any(TranslationChangedEvent.class));
     }
     
     @Test
@@ -83,6 +135,19 @@ class TranslationServiceTest {
         verify(translationRepository).save(any(Translation.class));
     }
     
+    @Test
+    void updateTranslation_RelocationRecordsTombstone() {
+        when(translationRepository.findById(1L)).thenReturn(Optional.of(translation));
+        when(tagRepository.findByNameIn(anyList())).thenReturn(Set.of(tag));
+        when(translationRepository.save(any(Translation.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        TranslationDto moved = new TranslationDto("button.store", "en", "Save", Set.of("mobile"));
+        translationService.updateTranslation(1L, moved);
+        verify(changeLogService).recordDelete(1L, "button.save", "en");
+        ArgumentCaptor<TranslationChangedEvent> event = ArgumentCaptor.forClass(TranslationChangedEvent.class);
+        verify(changeLogService).recordUpsert(eq(translation), event.capture());
+        assertEquals("button.save", event.getValue().getPreviousKey());
+    }
+    
     @Test
     void updateTranslation_NotFound() {
         when(translationRepository.findById(1L)).thenReturn(Optional.empty());
@@ -91,6 +156,74 @@ class TranslationServiceTest {
         });
     }
     
+    @Test
+    void bulkUpsert_ReportsPerRowOutcome() {
+        ReflectionTestUtils.setField(translationService, "bulkMaxRows", 100);
+        ReflectionTestUtils.setField(translationService, "bulkChunkSize", 10);
+        TranslationDto update = new TranslationDto("button.save", "en", "Save now", Set.of("mobile"));
+        TranslationDto create = new TranslationDto("button.cancel", "en", "Cancel", Set.of("mobile"));
+        when(translationRepository.findByLocaleAndKeyIn(eq("en"), anyCollection())).thenReturn(List.of(translation));
+        when(tagRepository.findByNameIn(anyList())).thenReturn(Set.of(tag));
+        
+        BulkUpsertResult result = translationService.bulkUpsert(Arrays.asList(update, null, create));
+        
+        assertEquals(1, result.getCreated());
+        assertEquals(1, result.getUpdated());
+        assertEquals(1, result.getFailed());
+        assertEquals(BulkRowResult.Status.UPDATED, result.getResults().get(0).getStatus());
+        assertEquals(BulkRowResult.Status.FAILED, result.getResults().get(1).getStatus());
+        assertEquals(BulkRowResult.Status.CREATED, result.getResults().get(2).getStatus());
+        assertEquals("Save now", translation.getContent());
+        verify(translationRepository).findByLocaleAndKeyIn(eq("en"), anyCollection());
+        verify(tagRepository).findByNameIn(anyList());
+        verify(translationRepository).saveAll(anyList());
+        verify(changeLogService, times(2)).recordUpsert(any(Translation.class), any(TranslationChangedEvent.class));
+    }
+    
+    @Test
+    void bulkUpsert_RepeatedNewPairIsCreatedInEveryChunk() {
+        ReflectionTestUtils.setField(translationService, "bulkMaxRows", 100);
+        ReflectionTestUtils.setField(translationService, "bulkChunkSize", 2);
+        TranslationDto first = new TranslationDto("button.cancel", "en", "Cancel", Set.of());
+        TranslationDto second = new TranslationDto("button.cancel", "en", "Cancel now", Set.of());
+        Translation created = new Translation("button.cancel", "en", "Cancel");
+        when(translationRepository.findByLocaleAndKeyIn(eq("en"), anyCollection()))
+            .thenReturn(List.of())
+            .thenReturn(List.of(created));
+        
+        BulkUpsertResult result = translationService.bulkUpsert(List.of(first, second, second));
+        
+        assertEquals(3, result.getCreated());
+        assertEquals(0, result.getUpdated());
+        assertEquals("Cancel now", created.getContent());
+    }
+    
+    @Test
+    void bulkUpsert_RejectsOversizedRequest() {
+        ReflectionTestUtils.setField(translationService, "bulkMaxRows", 1);
+        List<TranslationDto> dtos = List.of(translationDto, translationDto);
+        assertThrows(IllegalArgumentException.class, () -> translationService.bulkUpsert(dtos));
+    }
+    
+    @Test
+    void getTranslationsBatch_UsesMemoryForLoadedLocalesAndOneQueryForTheRest() {
+        ReflectionTestUtils.setField(translationService, "batchMaxKeys", 10);
+        ReflectionTestUtils.setField(translationService, "batchMaxLocales", 10);
+        ReflectionTestUtils.setField(translationService, "batchChunkSize", 10);
+        when(localeSnapshotService.isLoaded("en")).thenReturn(true);
+        when(localeSnapshotService.getContent("en", "button.save")).thenReturn("Save");
+        when(translationRepository.findRowsByLocaleInAndKeyIn(List.of("fr", "de"), List.of("button.save", "button.missing")))
+            .thenReturn(List.of(new TranslationRow(2L, "button.save", "fr", "Enregistrer", null)));
+        
+        Map<String, Map<String, String>> result = translationService.getTranslationsBatch(
+            List.of("button.save", "button.missing", "button.save"), List.of("en", "fr", "de"));
+        
+        assertEquals(Map.of("button.save", "Save"), result.get("en"));
+        assertEquals(Map.of("button.save", "Enregistrer"), result.get("fr"));
+        assertEquals(Map.of(), result.get("de"));
+        verify(translationRepository, times(1)).findRowsByLocaleInAndKeyIn(anyCollection(), anyCollection());
+    }
+    
     @Test
     void getTranslation_Success() {
         when(translationRepository.findById(1L)).thenReturn(Optional.of(translation));
@@ -111,6 +244,80 @@ class TranslationServiceTest {
         assertEquals("button.save", result.getContent().get(0).getKey());
     }
     
+    @Test
+    void searchTranslations_LoadsTagsInOneBatch() {
+        Page<Translation> page = new PageImpl<>(List.of(translation));
+        when(translationRepository.searchTranslations(any(), any(), any(), any(Pageable.class))).thenReturn(page);
+        when(translationRepository.findTagNamesByTranslationIds(List.of(1L)))
+            .thenReturn(List.<Object[]>of(new Object[]{1L, "mobile"}, new Object[]{1L, "web"}));
+        Page<TranslationDto> result = translationService.searchTranslations(null, null, null, null, 0, 10);
+        assertEquals(Set.of("mobile", "web"), result.getContent().get(0).getTags());
+        verify(translationRepository, times(1)).findTagNamesByTranslationIds(anyCollection());
+    }
+    
+    @Test
+    void searchTranslations_UsesIndexWhenReady() {
+        Translation newer = new Translation("button.cancel", "en", "Cancel");
+        newer.setId(2L);
+        when(searchIndex.isReady()).thenReturn(true);
+        when(searchIndex.search(eq("button"), isNull(), eq("en"), eq(SearchMatch.CONTAINS), any(Pageable.class)))
+            .thenReturn(new PageImpl<>(List.of(2L, 1L), PageRequest.of(0, 10), 2));
+        when(translationRepository.findAllById(List.of(2L, 1L))).thenReturn(List.of(translation, newer));
+        
+        Page<TranslationDto> result = translationService.searchTranslations("button", null, "en", null, 0, 10);
+        
+        assertEquals(List.of("button.cancel", "button.save"),
+            result.getContent().stream().map(TranslationDto::getKey).toList());
+        assertEquals(2, result.getTotalElements());
+        verify(translationRepository, never()).searchTranslations(any(), any(), any(), any(Pageable.class));
+    }
+    
+    @Test
+    void searchTranslationsAfter_ReturnsNextCursor() {
+        Translation older = new Translation("button.cancel", "en", "Cancel");
+        older.setId(2L);
+        translation.setUpdatedAt(LocalDateTime.of(2024, 1, 2, 10, 0));
+        older.setUpdatedAt(LocalDateTime.of(2024, 1, 1, 10, 0));
+        when(translationRepository.searchTranslationsAfter(eq("button"), isNull(), eq("en"), isNull(), isNull(),
+            any(Pageable.class))).thenReturn(new ArrayList<>(List.of(translation, older)));
+        
+        CursorPage<TranslationDto> result = translationService.searchTranslationsAfter("button", null, "en", null, "", 1);
+        
+        assertEquals(1, result.getContent().size());
+        assertTrue(result.isHasNext());
+        SearchCursor next = SearchCursor.decode(result.getNextCursor());
+        assertEquals(1L, next.getId());
+        assertEquals(translation.getUpdatedAt(), next.getUpdatedAt());
+    }
+    
+    @Test
+    void searchTranslationsByFilterAfter_PrefixMatchUsesThePrefixQuery() {
+        when(translationRepository.searchTranslationsByPrefixAfter(eq("button"), isNull(), isNull(), isNull(), isNull(),
+            any(Pageable.class))).thenReturn(new ArrayList<>(List.of(translation)));
+        
+        CursorPage<TranslationDto> result = translationService.searchTranslationsByFilterAfter(
+            "button", null, null, TagFilter.any(null), SearchMatch.PREFIX, "", 10);
+        
+        assertEquals(List.of("button.save"), result.getContent().stream().map(TranslationDto::getKey).toList());
+        verify(translationRepository, never()).searchTranslationsAfter(any(), any(), any(), any(), any(),
+            any(Pageable.class));
+    }
+    
+    @Test
+    void searchTranslationsByFilterAfter_UsesTheIndexWhenReady() {
+        when(searchIndex.isReady()).thenReturn(true);
+        when(searchIndex.searchAfter("button", null, "en", SearchMatch.PREFIX, null, null, 11)).thenReturn(List.of(1L));
+        when(translationRepository.findAllById(List.of(1L))).thenReturn(List.of(translation));
+        
+        CursorPage<TranslationDto> result = translationService.searchTranslationsByFilterAfter(
+            "button", null, "en", TagFilter.any(null), SearchMatch.PREFIX, "", 10);
+        
+        assertEquals(List.of("button.save"), result.getContent().stream().map(TranslationDto::getKey).toList());
+        assertFalse(result.isHasNext());
+        verify(translationRepository, never()).searchTranslationsByPrefixAfter(any(), any(), any(), any(), any(),
+            any(Pageable.class));
+    }
+    
     @Test
     void getTranslationsForLocale_Success() {
         List<Translation> translations = Arrays.asList(translation);
@@ -121,11 +328,25 @@ class TranslationServiceTest {
         assertEquals("Save", result.get("button.save"));
     }
     
+    @Test
+    void writeTranslationsForLocale_StreamsJson() throws Exception {
+        when(translationRepository.streamEntriesByLocale("en")).thenReturn(Stream.of(
+            new TranslationEntry("button.save", "Save"),
+            new TranslationEntry("button.cancel", "Cancel")));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        translationService.writeTranslationsForLocale("en", out);
+        Map<?, ?> result = objectMapper.readValue(out.toByteArray(), Map.class);
+        assertEquals(2, result.size());
+        assertEquals("Save", result.get("button.save"));
+        assertEquals("Cancel", result.get("button.cancel"));
+    }
+    
     @Test
     void deleteTranslation_Success() {
         when(translationRepository.findById(1L)).thenReturn(Optional.of(translation));
         translationService.deleteTranslation(1L);
         verify(translationRepository).delete(translation);
+        verify(changeLogService).recordDelete(eq(translation), any(TranslationChangedEvent.class));
     }
     
     @Test
@@ -0,0 +1,181 @@
+package com.translation.service;
+
+import com.translation.dto.BulkRowResult;
+import com.translation.dto.BulkUpsertResult;
+import com.translation.dto.TranslationDto;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class TranslationWriteQueueTest {
+    
+    @Mock
+    private TranslationService translationService;
+    
+    @InjectMocks
+    private TranslationWriteQueue writeQueue;
+    
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+    
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(writeQueue, "meterRegistry", meterRegistry);
+        ReflectionTestUtils.setField(writeQueue, "enabled", true);
+        ReflectionTestUtils.setField(writeQueue, "capacity", 2);
+        ReflectionTestUtils.setField(writeQueue, "batchSize", 10);
+        ReflectionTestUtils.setField(writeQueue, "flushIntervalMs", 60000L);
+        ReflectionTestUtils.setField(writeQueue, "syncTimeoutMs", 5000L);
+        ReflectionTestUtils.setField(writeQueue, "shutdownTimeoutMs", 5000L);
+    }
+    
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        writeQueue.stop();
+    }
+    
+    @Test
+    void submit_CoalescesWritesAndRejectsNewPairsWhenFull() throws Exception {
+        when(translationService.bulkUpsert(anyList())).thenAnswer(invocation -> committed(invocation.getArgument(0)));
+        writeQueue.start();
+        
+        CompletableFuture<BulkRowResult> first = writeQueue.submit(dto("button.save", "Save"));
+        writeQueue.submit(dto("button.cancel", "Cancel"));
+        CompletableFuture<BulkRowResult> latest = writeQueue.submit(dto("button.save", "Save now"));
+        
+        assertEquals(2, writeQueue.depth());
+        assertThrows(RejectedExecutionException.class, () -> writeQueue.submit(dto("button.close", "Close")));
+        assertEquals(1.0, meterRegistry.get("translation.write.rejected").counter().count());
+        
+        writeQueue.stop();
+        
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<TranslationDto>> batch = ArgumentCaptor.forClass(List.class);
+        verify(translationService).bulkUpsert(batch.capture());
+        assertEquals(List.of("Save now", "Cancel"), batch.getValue().stream().map(TranslationDto::getContent).toList());
+        assertSame(first.get(1, TimeUnit.SECONDS), latest.get(1, TimeUnit.SECONDS));
+        assertEquals(1.0, meterRegistry.get("translation.write.coalesced").counter().count());
+        assertEquals(0, writeQueue.depth());
+    }
+    
+    @Test
+    void awaitCommit_ReturnsOnceTheBatchCommits() throws Exception {
+        ReflectionTestUtils.setField(writeQueue, "batchSize", 1);
+        when(translationService.bulkUpsert(anyList())).thenAnswer(invocation -> committed(invocation.getArgument(0)));
+        writeQueue.start();
+        
+        BulkRowResult row = writeQueue.awaitCommit(writeQueue.submit(dto("button.save", "Save")))
+            .get(1, TimeUnit.SECONDS);
+        
+        assertEquals(BulkRowResult.Status.UPDATED, row.getStatus());
+        assertEquals("button.save", row.getKey());
+        assertEquals(1, meterRegistry.get("translation.write.flush").timer().count());
+    }
+    
+    @Test
+    void awaitCommit_ReportsWriteThatKeepsFailing() {
+        ReflectionTestUtils.setField(writeQueue, "batchSize", 1);
+        when(translationService.bulkUpsert(anyList())).thenThrow(new IllegalStateException("database down"));
+        writeQueue.start();
+        
+        CompletableFuture<BulkRowResult> ack = writeQueue.submit(dto("button.save", "Save"));
+        
+        ExecutionException e = assertThrows(ExecutionException.class,
+            () -> writeQueue.awaitCommit(ack).get(1, TimeUnit.SECONDS));
+        assertInstanceOf(IllegalStateException.class, e.getCause());
+        verify(translationService, times(2)).bulkUpsert(anyList());
+        assertEquals(1.0, meterRegistry.get("translation.write.retried").counter().count());
+        assertEquals(1.0, meterRegistry.get("translation.write.failed").counter().count());
+    }
+    
+    @Test
+    void flush_RetriesFailedBatchOneWriteAtATime() throws Exception {
+        when(translationService.bulkUpsert(anyList())).thenAnswer(invocation -> {
+            List<TranslationDto> dtos = invocation.getArgument(0);
+            if (dtos.size() > 1 || dtos.get(0).getContent().isEmpty()) {
+                throw new IllegalStateException("batch rejected");
+            }
+            return committed(dtos);
+        });
+        writeQueue.start();
+        
+        CompletableFuture<BulkRowResult> saved = writeQueue.submit(dto("button.save", "Save"));
+        CompletableFuture<BulkRowResult> broken = writeQueue.submit(dto("button.cancel", ""));
+        writeQueue.stop();
+        
+        assertEquals("button.save", saved.get(1, TimeUnit.SECONDS).getKey());
+        assertThrows(ExecutionException.class, () -> broken.get(1, TimeUnit.SECONDS));
+        verify(translationService, times(4)).bulkUpsert(anyList());
+        assertEquals(3.0, meterRegistry.get("translation.write.retried").counter().count());
+        assertEquals(1.0, meterRegistry.get("translation.write.failed").counter().count());
+    }
+    
+    @Test
+    void stop_FailsWritesStillPendingAfterTheShutdownTimeout() throws Exception {
+        ReflectionTestUtils.setField(writeQueue, "batchSize", 1);
+        ReflectionTestUtils.setField(writeQueue, "shutdownTimeoutMs", 50L);
+        CountDownLatch flushing = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(translationService.bulkUpsert(anyList())).thenAnswer(invocation -> {
+            flushing.countDown();
+            release.await();
+            return committed(invocation.getArgument(0));
+        });
+        writeQueue.start();
+        
+        CompletableFuture<BulkRowResult> inFlight = writeQueue.submit(dto("button.save", "Save"));
+        assertTrue(flushing.await(1, TimeUnit.SECONDS));
+        CompletableFuture<BulkRowResult> stranded = writeQueue.submit(dto("button.cancel", "Cancel"));
+        try {
+            writeQueue.stop();
+            
+            ExecutionException e = assertThrows(ExecutionException.class, () -> stranded.get(1, TimeUnit.SECONDS));
+            assertInstanceOf(IllegalStateException.class, e.getCause());
+            assertEquals(0, writeQueue.depth());
+            assertEquals(1.0, meterRegistry.get("translation.write.failed").counter().count());
+        } finally {
+            release.countDown();
+        }
+        assertEquals("button.save", inFlight.get(1, TimeUnit.SECONDS).getKey());
+    }
+    
+    @Test
+    void awaitCommit_CompletesWithNullWhenTheWriteIsStillPending() throws Exception {
+        ReflectionTestUtils.setField(writeQueue, "syncTimeoutMs", 10L);
+        
+        assertNull(writeQueue.awaitCommit(new CompletableFuture<>()).get(1, TimeUnit.SECONDS));
+    }
+    
+    private static TranslationDto dto(String key, String content) {
+        return new TranslationDto(key, "en", content, new HashSet<>());
+    }
+    
+    private static BulkUpsertResult committed(List<TranslationDto> dtos) {
+        BulkUpsertResult result = new BulkUpsertResult();
+        for (int i = 0; i < dtos.size(); i++) {
+            TranslationDto dto = dtos.get(i);
+            result.add(new BulkRowResult(i, dto.getKey(), dto.getLocale(), BulkRowResult.Status.UPDATED,
+                (long) i, null));
+        }
+        return result;
+    }
+}